@@ -0,0 +1,74 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import models.InventoryOptimizationResult;
+import models.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.InventoryOptimizationService;
+
+/**
+ * Benchmarks de los solucionadores de {@link InventoryOptimizationService} que escalan con la capacidad
+ * (Programación Dinámica) o con la calidad de la cota (Ramificación y Poda), sobre catálogos pequeños,
+ * medianos y grandes. Los enfoques exponenciales se miden aparte en {@link SmallCatalogBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgs = { "-Xms4g", "-Xmx4g", "--add-modules=jdk.incubator.vector" })
+public class OptimizationServiceBenchmark {
+
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public SyntheticCatalog.Size size;
+
+    @Param({ "UNCORRELATED", "CORRELATED" })
+    public SyntheticCatalog.Distribution distribution;
+
+    @Param({ "42" })
+    public long seed;
+
+    private InventoryOptimizationService service;
+    private Product[] products;
+    private double capacity;
+    private double budget;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new InventoryOptimizationService();
+        products = SyntheticCatalog.generate(size.products(), distribution, seed);
+        capacity = size.capacity();
+        budget = Double.MAX_VALUE;
+    }
+
+    @Benchmark
+    public InventoryOptimizationResult bottomUp() {
+        return service.bottomUpOptimization(products, capacity, budget);
+    }
+
+    @Benchmark
+    public InventoryOptimizationResult memoryLean() {
+        return service.memoryLeanOptimization(products, capacity, budget);
+    }
+
+    @Benchmark
+    public InventoryOptimizationResult parallelBottomUp() {
+        return service.parallelBottomUpOptimization(products, capacity, budget);
+    }
+
+    @Benchmark
+    public InventoryOptimizationResult branchAndBound() {
+        return service.branchAndBoundOptimization(products, capacity, budget);
+    }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import models.InventoryOptimizationResult;
+import models.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.InventoryOptimizationService;
+
+/**
+ * Benchmarks de los solucionadores de {@link InventoryOptimizationService} que solo son viables con
+ * catálogos pequeños (recursivo, Top-Down, encuentro a mitad de camino) o con presupuestos acotados
+ * (dos restricciones). El presupuesto es una fracción del valor total del catálogo, de modo que
+ * restringe la solución.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgs = { "-Xms2g", "-Xmx2g", "--add-modules=jdk.incubator.vector" })
+public class SmallCatalogBenchmark {
+
+    @Param({ "UNCORRELATED", "CORRELATED" })
+    public SyntheticCatalog.Distribution distribution;
+
+    @Param({ "42" })
+    public long seed;
+
+    @Param({ "0.25" })
+    public double budgetFraction;
+
+    private InventoryOptimizationService service;
+    private Product[] products;
+    private double capacity;
+    private double budget;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new InventoryOptimizationService();
+        products = SyntheticCatalog.generate(SyntheticCatalog.Size.SMALL.products(), distribution, seed);
+        capacity = SyntheticCatalog.Size.SMALL.capacity();
+        double totalValue = 0;
+        for (Product product : products) {
+            totalValue += product.getValue();
+        }
+        budget = Math.floor(totalValue * budgetFraction);
+    }
+
+    @Benchmark
+    public double recursive() {
+        return service.recursiveOptimization(products, capacity, budget, 0);
+    }
+
+    @Benchmark
+    public double topDown() {
+        return service.topDownOptimization(products, capacity, budget);
+    }
+
+    @Benchmark
+    public InventoryOptimizationResult meetInTheMiddle() {
+        return service.meetInTheMiddleOptimization(products, capacity, budget);
+    }
+
+    @Benchmark
+    public InventoryOptimizationResult branchAndBound() {
+        return service.branchAndBoundOptimization(products, capacity, budget);
+    }
+
+    @Benchmark
+    public InventoryOptimizationResult budgetConstrained() {
+        return service.budgetConstrainedOptimization(products, capacity, budget);
+    }
+
+    @Benchmark
+    public InventoryOptimizationResult bottomUp() {
+        return service.bottomUpOptimization(products, capacity, budget);
+    }
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import models.Product;
+
+/**
+ * Generador de catálogos sintéticos reproducibles para los benchmarks.
+ * La misma semilla produce siempre el mismo catálogo.
+ */
+public final class SyntheticCatalog {
+
+    /** Rango de pesos y valores generados (1..RANGE). */
+    public static final int RANGE = 1000;
+
+    /**
+     * Relación entre el valor y el peso de los productos generados.
+     */
+    public enum Distribution {
+        /** Valor y peso independientes. */
+        UNCORRELATED,
+        /** Valor = peso + RANGE / 10: todos los productos tienen densidades parecidas (caso difícil). */
+        CORRELATED
+    }
+
+    /**
+     * Tamaños de catálogo con su capacidad asociada.
+     */
+    public enum Size {
+        SMALL(24, 5_000),
+        MEDIUM(200, 20_000),
+        LARGE(1_000, 100_000);
+
+        private final int products; // Número de productos del catálogo
+        private final double capacity; // Capacidad del inventario para el catálogo
+
+        Size(int products, double capacity) {
+            this.products = products;
+            this.capacity = capacity;
+        }
+
+        /**
+         * Obtiene el número de productos del catálogo.
+         *
+         * @return El número de productos.
+         */
+        public int products() {
+            return products;
+        }
+
+        /**
+         * Obtiene la capacidad del inventario para el catálogo.
+         *
+         * @return La capacidad del inventario.
+         */
+        public double capacity() {
+            return capacity;
+        }
+    }
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * Genera un catálogo de productos con pesos y valores enteros.
+     *
+     * @param count Número de productos.
+     * @param distribution Relación entre valor y peso.
+     * @param seed Semilla del generador.
+     * @return El catálogo generado.
+     */
+    public static Product[] generate(int count, Distribution distribution, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Product[] products = new Product[count];
+        for (int i = 0; i < count; i++) {
+            double weight = 1 + random.nextInt(RANGE);
+            double value = distribution == Distribution.CORRELATED
+                ? weight + RANGE / 10.0
+                : 1 + random.nextInt(RANGE);
+            products[i] = new Product("P" + i, value, weight, false);
+        }
+        return products;
+    }
+}
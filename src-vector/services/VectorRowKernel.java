@@ -0,0 +1,68 @@
+package services;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Actualización de filas con instrucciones SIMD mediante la API de vectores (jdk.incubator.vector).
+ * Cada vector calcula max(dp[i-1][w], valor + dp[i-1][w - peso]) para varias columnas a la vez y
+ * convierte la comparación con la fila anterior en bits de decisión. Se carga por reflexión desde
+ * {@link KnapsackRowKernel}, de modo que sin --add-modules jdk.incubator.vector nunca se inicializa.
+ * Vive fuera de src para que el código principal compile sin el módulo incubado; se compila aparte,
+ * sobre las clases de src, con --add-modules jdk.incubator.vector.
+ */
+final class VectorRowKernel implements KnapsackRowKernel.RowUpdate {
+
+    // Forma de vector más ancha que el procesador ejecuta de forma nativa
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Constructor que verifica que el vector preferido aporte paralelismo.
+     * Los carriles deben dividir 64 para que cada vector caiga dentro de una palabra de decisiones.
+     */
+    VectorRowKernel() {
+        int lanes = SPECIES.length();
+        if (lanes < 2 || 64 % lanes != 0) {
+            throw new UnsupportedOperationException("El vector preferido no tiene carriles útiles: " + lanes);
+        }
+    }
+
+    /**
+     * Calcula las columnas [from, to] de la fila actual por vectores, con las columnas
+     * anteriores a la primera alineada y las sobrantes al final resueltas de forma escalar.
+     *
+     * @param previous Fila anterior de la tabla (dp[i-1]).
+     * @param current Fila que se está calculando (dp[i]).
+     * @param value Valor del producto de la fila.
+     * @param shift Columnas que ocupa el producto.
+     * @param decisions Matriz de decisiones a completar, o null.
+     * @param row Fila de la matriz de decisiones correspondiente al producto.
+     * @param from Primera columna a calcular (mayor o igual al desplazamiento).
+     * @param to Última columna a calcular (inclusive).
+     */
+    @Override
+    public void update(double[] previous, double[] current, double value, int shift,
+                       DecisionMatrix decisions, int row, int from, int to) {
+        int lanes = SPECIES.length();
+        // Primera columna múltiplo del número de carriles: sus bits de decisión no cruzan palabras
+        int aligned = Math.min((from + lanes - 1) & -lanes, to + 1);
+        KnapsackRowKernel.updateScalar(previous, current, value, shift, decisions, row, from, aligned - 1);
+
+        DoubleVector values = DoubleVector.broadcast(SPECIES, value);
+        int w = aligned;
+        for (int last = to + 1 - lanes; w <= last; w += lanes) {
+            DoubleVector kept = DoubleVector.fromArray(SPECIES, previous, w);
+            DoubleVector best = kept.max(values.add(DoubleVector.fromArray(SPECIES, previous, w - shift)));
+            best.intoArray(current, w);
+            if (decisions != null) {
+                long bits = best.compare(VectorOperators.NE, kept).toLong();
+                if (bits != 0) {
+                    decisions.setBits(row, w, bits);
+                }
+            }
+        }
+
+        KnapsackRowKernel.updateScalar(previous, current, value, shift, decisions, row, w, to);
+    }
+}
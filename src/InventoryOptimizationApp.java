@@ -1,140 +1,359 @@
-import java.util.ArrayList;
-import java.util.Locale;
-import java.util.Scanner;
-import controllers.InventoryOptimizationController;
-import models.Product;
-
-/**
- * Aplicación principal para la optimización de inventario con entrada de usuario.
- * Permite al usuario ingresar los productos, la capacidad del inventario y el presupuesto.
- */
-public class InventoryOptimizationApp {
-
-    /**
-     * Método principal que ejecuta la optimización de inventario con entrada de usuario.
-     * 
-     * @param args Argumentos de línea de comandos (no utilizados en este caso).
-     */
-    public static void main(String[] args) {
-        // Instancia de escaner para entrada de datos usando punto decimal (Por ej. 1.5)
-        Scanner scanner = new Scanner(System.in).useLocale(Locale.US);
-        ArrayList<Product> products = new ArrayList<>();
-
-        // Solicitar entrada de productos
-        while (true) {
-            System.out.println("Ingrese un nuevo producto (o 'fin' para terminar):");
-            
-            System.out.print("Nombre del producto: ");
-            String name = scanner.nextLine();
-            
-            // Condición de salida
-            if (name.equalsIgnoreCase("fin")) {
-                break;
-            }
-
-            // Validación de valor del producto
-            double value;
-            while (true) {
-                System.out.print("Valor del producto: ");
-                try {
-                    value = scanner.nextDouble();
-                    if (value < 0) {
-                        System.out.println("El valor debe ser un número no negativo.");
-                        scanner.nextLine(); // Limpiar buffer
-                        continue;
-                    }
-                    break;
-                } catch (Exception e) {
-                    System.out.println("Por favor, ingrese un número entero válido.");
-                    scanner.nextLine(); // Limpiar buffer
-                }
-            }
-
-            // Validación de peso del producto
-            double weight;
-            while (true) {
-                System.out.print("Peso del producto: ");
-                try {
-                    weight = scanner.nextDouble();
-                    if (weight <= 0) {
-                        System.out.println("El peso debe ser un número positivo.");
-                        scanner.nextLine(); // Limpiar buffer
-                        continue;
-                    }
-                    break;
-                } catch (Exception e) {
-                    System.out.println("Por favor, ingrese un número entero válido.");
-                    scanner.nextLine(); // Limpiar buffer
-                }
-            }
-
-            // Validación de divisibilidad del producto
-            boolean divisible;
-            while (true) {
-                System.out.print("¿El producto es divisible? (SI/NO): ");
-                String divResponse = scanner.next();
-                if (divResponse.equalsIgnoreCase("SI") || divResponse.equalsIgnoreCase("NO")) {
-                    divisible = divResponse.equalsIgnoreCase("SI");
-                    break;
-                } else {
-                    System.out.println("Por favor, responda con 'SI' o 'NO'.");
-                }
-            }
-            scanner.nextLine(); // Limpiar buffer después de nextInt/next
-
-            // Agregar producto a la lista
-            products.add(new Product(name, value, weight, divisible));
-            System.out.println("======================================");
-            System.out.println("Producto agregado correctamente.");
-            System.out.println("======================================");
-        }
-
-        // Validación de capacidad de inventario
-        double capacity;
-        while (true) {
-            System.out.print("Ingrese la capacidad máxima de inventario: ");
-            try {
-                capacity = scanner.nextDouble();
-                if (capacity <= 0) {
-                    System.out.println("La capacidad debe ser un número positivo.");
-                    scanner.nextLine(); // Limpiar buffer
-                    continue;
-                }
-                break;
-            } catch (Exception e) {
-                System.out.println("Por favor, ingrese un número decimal válido.");
-                scanner.nextLine(); // Limpiar buffer
-            }
-        }
-
-        // Validación de presupuesto
-        double budget;
-        while (true) {
-            System.out.print("Ingrese el presupuesto disponible: ");
-            try {
-                budget = scanner.nextDouble();
-                if (budget < 0) {
-                    System.out.println("El presupuesto no puede ser negativo.");
-                    scanner.nextLine(); // Limpiar buffer
-                    continue;
-                }
-                break;
-            } catch (Exception e) {
-                System.out.println("Por favor, ingrese un número decimal válido.");
-                scanner.nextLine(); // Limpiar buffer
-            }
-        }
-
-        // Crear una instancia del controlador
-        InventoryOptimizationController controller = new InventoryOptimizationController();
-        
-        // Convertir ArrayList a array para compatibilidad
-        Product[] productArray = products.toArray(new Product[0]);
-        
-        // Llamar al método para realizar el análisis de optimización
-        controller.performOptimizationAnalysis(productArray, capacity, budget);
-
-        // Cerrar el scanner
-        scanner.close();
-    }
-}
\ No newline at end of file
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Scanner;
+import javax.management.JMException;
+import controllers.InventoryOptimizationController;
+import controllers.InventoryOptimizationServer;
+import models.Product;
+import services.OptimizationResultCache;
+import services.SolverMetrics;
+
+/**
+ * Aplicación principal para la optimización de inventario con entrada de usuario.
+ * Permite al usuario ingresar los productos, la capacidad del inventario y el presupuesto.
+ * También admite un modo no interactivo que carga el catálogo desde un archivo:
+ * --archivo <ruta.csv|ruta.bin> --capacidad <número> --presupuesto <número> [--limite <milisegundos>]
+ * y un modo servidor que atiende peticiones HTTP en localhost hasta que se detiene el proceso:
+ * --servidor [puerto]
+ * En el modo interactivo, --limite <milisegundos> fija el tiempo máximo del análisis y --verificar ejecuta
+ * y compara varios enfoques en lugar de solo el que elige el planificador.
+ * En los tres modos, --cache <directorio> conserva los resultados entre ejecuciones en ese directorio.
+ */
+public class InventoryOptimizationApp {
+
+    private static final String CACHE_FILE_NAME = "cache-optimizacion.bin"; // Archivo de la caché dentro del directorio
+    private static final int CACHE_MAX_ENTRIES = 1000; // Máximo de resultados guardados
+    private static final long CACHE_TIME_TO_LIVE_MILLIS = 24L * 60 * 60 * 1000; // Vigencia de cada resultado (un día)
+    private static final long CACHE_SNAPSHOT_PERIOD_MILLIS = 60_000; // Periodo de guardado en el modo servidor
+
+    /**
+     * Método principal que ejecuta la optimización de inventario con entrada de usuario.
+     * 
+     * @param args Argumentos de línea de comandos (vacíos, --limite, --verificar o --cache para el modo interactivo).
+     */
+    public static void main(String[] args) {
+        // Modo servidor local
+        if (args.length > 0 && args[0].equals("--servidor")) {
+            runServer(args);
+            return;
+        }
+
+        // Modo no interactivo: catálogo desde archivo
+        if (Arrays.asList(args).contains("--archivo")) {
+            runFromFile(args);
+            return;
+        }
+
+        // Opciones del modo interactivo: límite de tiempo, verificación y caché
+        long timeLimitNanos = 0;
+        boolean verify = false;
+        String cacheDirectory = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--verificar")) {
+                verify = true;
+            } else if (args[i].equals("--limite") && i + 1 < args.length && parseTimeLimit(args[i + 1]) > 0) {
+                timeLimitNanos = parseTimeLimit(args[++i]);
+            } else if (args[i].equals("--cache") && i + 1 < args.length) {
+                cacheDirectory = args[++i];
+            } else {
+                System.out.println("Uso: java InventoryOptimizationApp [--limite <milisegundos positivos>] [--verificar] "
+                    + "[--cache <directorio>]");
+                return;
+            }
+        }
+        OptimizationResultCache cache = cacheDirectory != null ? openCache(cacheDirectory) : null;
+        if (cacheDirectory != null && cache == null) {
+            return;
+        }
+
+        // Instancia de escaner para entrada de datos usando punto decimal (Por ej. 1.5)
+        Scanner scanner = new Scanner(System.in).useLocale(Locale.US);
+        ArrayList<Product> products = new ArrayList<>();
+
+        // Solicitar entrada de productos
+        while (true) {
+            System.out.println("Ingrese un nuevo producto (o 'fin' para terminar):");
+            
+            System.out.print("Nombre del producto: ");
+            String name = scanner.nextLine();
+            
+            // Condición de salida
+            if (name.equalsIgnoreCase("fin")) {
+                break;
+            }
+
+            // Validación de valor del producto
+            double value;
+            while (true) {
+                System.out.print("Valor del producto: ");
+                try {
+                    value = scanner.nextDouble();
+                    if (value < 0) {
+                        System.out.println("El valor debe ser un número no negativo.");
+                        scanner.nextLine(); // Limpiar buffer
+                        continue;
+                    }
+                    break;
+                } catch (Exception e) {
+                    System.out.println("Por favor, ingrese un número entero válido.");
+                    scanner.nextLine(); // Limpiar buffer
+                }
+            }
+
+            // Validación de peso del producto
+            double weight;
+            while (true) {
+                System.out.print("Peso del producto: ");
+                try {
+                    weight = scanner.nextDouble();
+                    if (weight <= 0) {
+                        System.out.println("El peso debe ser un número positivo.");
+                        scanner.nextLine(); // Limpiar buffer
+                        continue;
+                    }
+                    break;
+                } catch (Exception e) {
+                    System.out.println("Por favor, ingrese un número entero válido.");
+                    scanner.nextLine(); // Limpiar buffer
+                }
+            }
+
+            // Validación de divisibilidad del producto
+            boolean divisible;
+            while (true) {
+                System.out.print("¿El producto es divisible? (SI/NO): ");
+                String divResponse = scanner.next();
+                if (divResponse.equalsIgnoreCase("SI") || divResponse.equalsIgnoreCase("NO")) {
+                    divisible = divResponse.equalsIgnoreCase("SI");
+                    break;
+                } else {
+                    System.out.println("Por favor, responda con 'SI' o 'NO'.");
+                }
+            }
+            scanner.nextLine(); // Limpiar buffer después de nextInt/next
+
+            // Agregar producto a la lista
+            products.add(new Product(name, value, weight, divisible));
+            System.out.println("======================================");
+            System.out.println("Producto agregado correctamente.");
+            System.out.println("======================================");
+        }
+
+        // Validación de capacidad de inventario
+        double capacity;
+        while (true) {
+            System.out.print("Ingrese la capacidad máxima de inventario: ");
+            try {
+                capacity = scanner.nextDouble();
+                if (capacity <= 0) {
+                    System.out.println("La capacidad debe ser un número positivo.");
+                    scanner.nextLine(); // Limpiar buffer
+                    continue;
+                }
+                break;
+            } catch (Exception e) {
+                System.out.println("Por favor, ingrese un número decimal válido.");
+                scanner.nextLine(); // Limpiar buffer
+            }
+        }
+
+        // Validación de presupuesto
+        double budget;
+        while (true) {
+            System.out.print("Ingrese el presupuesto disponible: ");
+            try {
+                budget = scanner.nextDouble();
+                if (budget < 0) {
+                    System.out.println("El presupuesto no puede ser negativo.");
+                    scanner.nextLine(); // Limpiar buffer
+                    continue;
+                }
+                break;
+            } catch (Exception e) {
+                System.out.println("Por favor, ingrese un número decimal válido.");
+                scanner.nextLine(); // Limpiar buffer
+            }
+        }
+
+        // Crear una instancia del controlador
+        InventoryOptimizationController controller = new InventoryOptimizationController(cache, timeLimitNanos);
+        
+        // Convertir ArrayList a array para compatibilidad
+        Product[] productArray = products.toArray(new Product[0]);
+        
+        // Llamar al método para realizar la optimización (o el análisis de verificación, si se solicitó)
+        if (verify) {
+            controller.performVerificationAnalysis(productArray, capacity, budget);
+        } else {
+            controller.performOptimizationAnalysis(productArray, capacity, budget);
+        }
+        controller.saveCache();
+
+        // Cerrar el scanner
+        scanner.close();
+    }
+
+    /**
+     * Inicia el servidor local de optimización en el puerto indicado (8080 por defecto).
+     * Con --cache, todas las peticiones comparten una caché que se guarda periódicamente y al detener el proceso.
+     * 
+     * @param args Argumentos de línea de comandos (--servidor y, opcionalmente, el puerto y --cache <directorio>).
+     */
+    private static void runServer(String[] args) {
+        int port = 8080;
+        String cacheDirectory = null;
+        int next = 1;
+        try {
+            if (args.length > next && !args[next].equals("--cache")) {
+                port = Integer.parseInt(args[next++]);
+            }
+        } catch (NumberFormatException e) {
+            port = -1;
+        }
+        if (args.length > next + 1 && args[next].equals("--cache")) {
+            cacheDirectory = args[next + 1];
+            next += 2;
+        }
+        if (args.length > next || port < 0 || port > 65535) {
+            System.out.println("Uso: java InventoryOptimizationApp --servidor [puerto] [--cache <directorio>]");
+            return;
+        }
+
+        OptimizationResultCache cache = cacheDirectory != null ? openCache(cacheDirectory) : null;
+        if (cacheDirectory != null && cache == null) {
+            return;
+        }
+        try {
+            int processors = Runtime.getRuntime().availableProcessors();
+            InventoryOptimizationServer server = new InventoryOptimizationServer(port, 256, Math.max(1, processors / 2), cache);
+            server.start();
+            System.out.println("Servidor de optimización escuchando en http://localhost:" + server.getPort());
+            System.out.println("POST /optimizar?capacidad=<número>&presupuesto=<número> con el catálogo en CSV; GET /estado; GET /metricas");
+        } catch (IOException e) {
+            System.out.println("No se pudo iniciar el servidor: " + e.getMessage());
+            return;
+        }
+
+        // La caché se guarda cada cierto tiempo si cambió, y una última vez al detener el proceso
+        if (cache != null) {
+            cache.startPeriodicSnapshots(CACHE_SNAPSHOT_PERIOD_MILLIS);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    cache.close();
+                } catch (IOException e) {
+                    System.out.println("No se pudo guardar la caché: " + e.getMessage());
+                }
+            }, "cache-cierre"));
+        }
+
+        // Métricas de los solucionadores también disponibles por JMX
+        try {
+            SolverMetrics.shared().registerMBean();
+        } catch (JMException e) {
+            System.out.println("No se pudieron publicar las métricas por JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ejecuta la optimización sobre un catálogo en archivo, tomando la capacidad y el presupuesto de los argumentos.
+     * 
+     * @param args Argumentos de línea de comandos (--archivo, --capacidad, --presupuesto y, opcionalmente, --limite y --cache).
+     */
+    private static void runFromFile(String[] args) {
+        String file = null;
+        String cacheDirectory = null;
+        double capacity = -1;
+        double budget = -1;
+        long timeLimitNanos = 0;
+        try {
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                switch (args[i]) {
+                    case "--archivo":
+                        file = args[i + 1];
+                        break;
+                    case "--capacidad":
+                        capacity = Double.parseDouble(args[i + 1]);
+                        break;
+                    case "--presupuesto":
+                        budget = Double.parseDouble(args[i + 1]);
+                        break;
+                    case "--limite":
+                        timeLimitNanos = parseTimeLimit(args[i + 1]);
+                        if (timeLimitNanos <= 0) {
+                            file = null;
+                            i = args.length;
+                        }
+                        break;
+                    case "--cache":
+                        cacheDirectory = args[i + 1];
+                        break;
+                    default:
+                        file = null;
+                        i = args.length;
+                }
+            }
+        } catch (NumberFormatException e) {
+            file = null;
+        }
+
+        if (file == null || args.length % 2 != 0 || capacity <= 0 || budget < 0) {
+            System.out.println("Uso: java InventoryOptimizationApp --archivo <ruta.csv|ruta.bin> "
+                + "--capacidad <número positivo> --presupuesto <número no negativo> [--limite <milisegundos positivos>] "
+                + "[--cache <directorio>]");
+            return;
+        }
+
+        OptimizationResultCache cache = cacheDirectory != null ? openCache(cacheDirectory) : null;
+        if (cacheDirectory != null && cache == null) {
+            return;
+        }
+        InventoryOptimizationController controller = new InventoryOptimizationController(cache, timeLimitNanos);
+        try {
+            controller.performCatalogOptimization(Path.of(file), capacity, budget);
+        } catch (IOException e) {
+            System.out.println("No se pudo cargar el catálogo: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.out.println("No se pudo optimizar el catálogo: " + e.getMessage());
+        } catch (OutOfMemoryError e) {
+            System.out.printf("No se pudo optimizar el catálogo: no hay memoria suficiente para la capacidad %.2f "
+                + "(aumente -Xmx o reduzca la capacidad)%n", capacity);
+        }
+        controller.saveCache();
+    }
+
+    /**
+     * Abre la caché persistente de resultados en el directorio indicado, creándolo si no existe.
+     * Si el directorio ya tiene un archivo de caché, se cargan sus entradas vigentes.
+     * 
+     * @param directory Directorio de la caché.
+     * @return La caché, o null si el directorio no se puede usar (el motivo se informa por consola).
+     */
+    private static OptimizationResultCache openCache(String directory) {
+        try {
+            Path dir = Files.createDirectories(Path.of(directory));
+            return new OptimizationResultCache(CACHE_MAX_ENTRIES, CACHE_TIME_TO_LIVE_MILLIS, dir.resolve(CACHE_FILE_NAME));
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("No se pudo abrir la caché en " + directory + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Convierte un límite de tiempo en milisegundos a nanosegundos.
+     * 
+     * @param millis Límite en milisegundos.
+     * @return El límite en nanosegundos, o -1 si no es un número entero positivo.
+     */
+    private static long parseTimeLimit(String millis) {
+        try {
+            long value = Long.parseLong(millis);
+            return value > 0 && value <= Long.MAX_VALUE / 1_000_000 ? value * 1_000_000 : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
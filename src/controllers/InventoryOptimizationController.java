@@ -1,67 +1,361 @@
-package controllers;
-
-import models.Product;
-import models.InventoryOptimizationResult;
-import services.InventoryOptimizationService;
-import views.InventoryOptimizationView;
-
-/**
- * Controlador para gestionar el análisis de optimización de inventario.
- * Este controlador utiliza los servicios de optimización para realizar análisis de rendimiento y mostrar los resultados de la optimización.
- */
-public class InventoryOptimizationController {
-
-    private InventoryOptimizationService service; // Servicio de optimización
-    private InventoryOptimizationView view; // Vista para mostrar los resultados
-
-    /**
-     * Constructor del controlador.
-     * Inicializa el servicio y la vista necesarios para realizar la optimización.
-     */
-    public InventoryOptimizationController() {
-        this.service = new InventoryOptimizationService(); // Inicializa el servicio de optimización
-        this.view = new InventoryOptimizationView(); // Inicializa la vista de optimización
-    }
-
-    /**
-     * Realiza un análisis de optimización sobre los productos dados, la capacidad y el presupuesto.
-     * Calcula el rendimiento de tres enfoques: recursivo, Bottom-Up (Programación Dinámica) y Top-Down (Memoización).
-     * Luego, muestra el análisis de rendimiento y los resultados de la optimización.
-     * 
-     * @param products Array de productos disponibles para la optimización.
-     * @param capacity Capacidad máxima disponible en el inventario.
-     * @param budget Presupuesto disponible para la compra de productos.
-     */
-    public void performOptimizationAnalysis(Product[] products, double capacity, double budget) {
-        // Medición de rendimiento
-        long startTime, endTime;
-
-        // Enfoque Recursivo
-        startTime = System.nanoTime();
-        double recursiveResult = service.recursiveOptimization(products, capacity, budget, 0);
-        endTime = System.nanoTime();
-        long recursiveTime = endTime - startTime;
-
-        // Enfoque Bottom-Up (Programación Dinámica)
-        startTime = System.nanoTime();
-        InventoryOptimizationResult bottomUpResult = service.bottomUpOptimization(products, capacity, budget);
-        endTime = System.nanoTime();
-        long bottomUpTime = endTime - startTime;
-
-        // Enfoque Top-Down (Memoización)
-        startTime = System.nanoTime();
-        double topDownResult = service.topDownOptimization(products, capacity, budget);
-        endTime = System.nanoTime();
-        long topDownTime = endTime - startTime;
-
-        // Mostrar análisis de rendimiento
-        view.displayPerformanceAnalysis(
-            recursiveResult, recursiveTime,
-            bottomUpResult, bottomUpTime,
-            topDownResult, topDownTime
-        );
-
-        // Mostrar los resultados de la optimización
-        view.displayOptimizationResults(bottomUpResult);
-    }
-}
+package controllers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import models.AnytimeOptimizationResult;
+import models.BudgetRule;
+import models.Product;
+import models.ProductColumns;
+import models.InventoryOptimizationResult;
+import models.PlannedOptimizationResult;
+import services.CancellationToken;
+import services.InventoryOptimizationService;
+import services.OptimizationResultCache;
+import services.ReducedCatalog;
+import services.ReducedProblem;
+import services.ProductCatalogLoader;
+import views.InventoryOptimizationView;
+
+/**
+ * Controlador para gestionar el análisis de optimización de inventario.
+ * Este controlador utiliza los servicios de optimización para realizar análisis de rendimiento y mostrar los resultados de la optimización.
+ */
+public class InventoryOptimizationController {
+
+    private InventoryOptimizationService service; // Servicio de optimización
+    private InventoryOptimizationView view; // Vista para mostrar los resultados
+    private OptimizationResultCache cache; // Caché de resultados (null si no se usa)
+    private long timeLimitNanos; // Tiempo máximo de cada análisis en nanosegundos (0 si no hay límite)
+
+    /**
+     * Constructor del controlador.
+     * Inicializa el servicio y la vista necesarios para realizar la optimización.
+     */
+    public InventoryOptimizationController() {
+        this(null);
+    }
+
+    /**
+     * Constructor del controlador con caché de resultados.
+     * Las consultas repetidas (mismos productos, capacidad y presupuesto) se responden desde la caché sin volver a optimizar.
+     * 
+     * @param cache Caché de resultados, o null para optimizar siempre.
+     */
+    public InventoryOptimizationController(OptimizationResultCache cache) {
+        this(cache, 0);
+    }
+
+    /**
+     * Constructor del controlador con caché de resultados y límite de tiempo.
+     * Con límite, los enfoques se detienen al vencer el plazo y muestran la mejor solución encontrada,
+     * una cota superior del óptimo y la brecha entre ambos, en lugar de bloquearse hasta terminar.
+     * 
+     * @param cache Caché de resultados, o null para optimizar siempre.
+     * @param timeLimitNanos Tiempo máximo de cada análisis en nanosegundos, o 0 para no limitarlo.
+     */
+    public InventoryOptimizationController(OptimizationResultCache cache, long timeLimitNanos) {
+        this.service = new InventoryOptimizationService(); // Inicializa el servicio de optimización
+        this.view = new InventoryOptimizationView(); // Inicializa la vista de optimización
+        this.cache = cache; // Inicializa la caché de resultados
+        this.timeLimitNanos = timeLimitNanos; // Inicializa el límite de tiempo
+    }
+
+    /**
+     * Realiza la optimización sobre los productos dados, la capacidad y el presupuesto.
+     * Antes de resolver, reduce el problema (productos infactibles, dominados y duplicados, y máximo común divisor de los pesos).
+     * Luego, un planificador estima el tiempo y la memoria de cada enfoque y ejecuta solo el más conveniente;
+     * se muestran el plan, con el enfoque elegido y sus estimaciones, y los resultados de la optimización.
+     * Para ejecutar y comparar varios enfoques se usa {@link #performVerificationAnalysis}.
+     * Si hay caché y la consulta ya está en ella, muestra el resultado guardado sin volver a optimizar.
+     * Si hay límite de tiempo, el planificador solo elige enfoques que pueden detenerse; un resultado interrumpido
+     * se muestra con su cota y su brecha, y no se guarda en la caché.
+     * 
+     * @param products Array de productos disponibles para la optimización.
+     * @param capacity Capacidad máxima disponible en el inventario.
+     * @param budget Presupuesto disponible para la compra de productos.
+     */
+    public void performOptimizationAnalysis(Product[] products, double capacity, double budget) {
+        // Consulta a la caché de resultados
+        if (displayCachedResult(products, capacity, budget, BudgetRule.CUMULATIVE)) {
+            return;
+        }
+
+        // Plazo de toda la optimización (null si no hay límite de tiempo)
+        CancellationToken deadline = timeLimitNanos > 0 ? CancellationToken.withTimeout(timeLimitNanos) : null;
+
+        // Reducción del problema
+        ReducedProblem reduced = reduceAndReport(products, capacity, budget);
+
+        // Resolución con el enfoque elegido por el planificador
+        long startTime = System.nanoTime();
+        PlannedOptimizationResult result = (PlannedOptimizationResult) reduced.expand(
+            service.plannedOptimization(reduced.toUnitProducts(), reduced.getCapacity(), budget, deadline));
+        long solveTime = System.nanoTime() - startTime;
+
+        // Mostrar el plan y, si hubo plazo, si el enfoque alcanzó el óptimo
+        view.displayPlan(result.getPlan(), solveTime);
+        if (deadline != null) {
+            view.displayAnytimeStatus(result.getPlan().getChosen().getApproach().getDisplayName(), result);
+        }
+
+        // Guardar el resultado en la caché (solo si es el óptimo)
+        if (result.isComplete()) {
+            storeInCache(products, capacity, budget, BudgetRule.CUMULATIVE, result, null);
+        }
+
+        // Mostrar los resultados de la optimización
+        view.displayOptimizationResults(result);
+    }
+
+    /**
+     * Realiza un análisis de verificación sobre los productos dados, la capacidad y el presupuesto.
+     * Calcula el rendimiento de tres enfoques: Ramificación y Poda, Bottom-Up (Programación Dinámica) y Top-Down (Memoización),
+     * para comparar sus valores entre sí. Cuesta tanto como los tres enfoques juntos, por lo que solo se usa cuando se solicita.
+     * Antes de resolver, reduce el problema (productos infactibles, dominados y duplicados, y máximo común divisor de los pesos);
+     * los tres enfoques trabajan sobre el problema reducido y sus resultados se traducen a los productos originales.
+     * Luego, muestra el análisis de rendimiento y los resultados de la optimización.
+     * Si hay caché y la consulta ya está en ella, muestra el resultado guardado sin volver a optimizar.
+     * Si hay límite de tiempo, todo el análisis comparte un mismo plazo; los resultados interrumpidos
+     * se muestran con su cota y su brecha, y no se guardan en la caché.
+     * 
+     * @param products Array de productos disponibles para la optimización.
+     * @param capacity Capacidad máxima disponible en el inventario.
+     * @param budget Presupuesto disponible para la compra de productos.
+     */
+    public void performVerificationAnalysis(Product[] products, double capacity, double budget) {
+        // Consulta a la caché de resultados
+        if (displayCachedResult(products, capacity, budget, BudgetRule.PER_PRODUCT)) {
+            return;
+        }
+
+        // Medición de rendimiento
+        long startTime, endTime;
+
+        // Plazo de todo el análisis (null si no hay límite de tiempo)
+        CancellationToken deadline = timeLimitNanos > 0 ? CancellationToken.withTimeout(timeLimitNanos) : null;
+
+        // Reducción del problema
+        ReducedProblem reduced = reduceAndReport(products, capacity, budget);
+        Product[] reducedProducts = reduced.toUnitProducts();
+        double reducedCapacity = reduced.getCapacity();
+
+        // Enfoque de Ramificación y Poda (reemplaza al recursivo exhaustivo)
+        startTime = System.nanoTime();
+        AnytimeOptimizationResult branchAndBoundResult = (AnytimeOptimizationResult) reduced.expand(
+            service.branchAndBoundOptimization(reducedProducts, reducedCapacity, budget, deadline));
+        endTime = System.nanoTime();
+        long branchAndBoundTime = endTime - startTime;
+
+        // Enfoque Bottom-Up (Programación Dinámica); la última fila solo sirve a la caché si los pesos no se dividieron.
+        // Con límite de tiempo se usa la variante de bajo consumo de memoria, que puede detenerse entre filas
+        startTime = System.nanoTime();
+        double[] lastRow = null;
+        InventoryOptimizationResult bottomUpResult;
+        AnytimeOptimizationResult bottomUpStatus = null;
+        if (deadline == null) {
+            lastRow = cache != null && reduced.getWeightDivisor() == 1 ? new double[(int)reducedCapacity + 1] : null;
+            bottomUpResult = reduced.expand(service.bottomUpOptimization(reducedProducts, reducedCapacity, budget, lastRow));
+        } else {
+            bottomUpStatus = (AnytimeOptimizationResult) reduced.expand(
+                service.memoryLeanOptimization(reducedProducts, reducedCapacity, budget, deadline));
+            bottomUpResult = bottomUpStatus;
+        }
+        endTime = System.nanoTime();
+        long bottomUpTime = endTime - startTime;
+
+        // Enfoque Top-Down (Memoización); con límite de tiempo devuelve NaN si no alcanza a terminar
+        startTime = System.nanoTime();
+        double topDownResult = deadline == null
+            ? service.topDownOptimization(reducedProducts, reducedCapacity, budget)
+            : service.topDownOptimization(reducedProducts, reducedCapacity, budget, deadline);
+        endTime = System.nanoTime();
+        long topDownTime = endTime - startTime;
+
+        // Mostrar análisis de rendimiento
+        view.displayPerformanceAnalysis(
+            branchAndBoundResult, branchAndBoundTime,
+            bottomUpResult, bottomUpTime,
+            topDownResult, topDownTime
+        );
+
+        // Mostrar si los enfoques alcanzaron el óptimo dentro del plazo
+        if (deadline != null) {
+            view.displayAnytimeStatus("Ramificación y Poda", branchAndBoundResult);
+            view.displayAnytimeStatus("Bottom-Up", bottomUpStatus);
+        }
+
+        // Mostrar contadores y percentiles de tiempo de cada fase
+        view.displaySolverMetrics(service.getMetrics().snapshot());
+
+        // Guardar el resultado en la caché (solo si es el óptimo)
+        if (bottomUpStatus == null || bottomUpStatus.isComplete()) {
+            storeInCache(products, capacity, budget, BudgetRule.PER_PRODUCT, bottomUpResult, lastRow);
+        }
+
+        // Mostrar los resultados de la optimización
+        view.displayOptimizationResults(bottomUpResult);
+    }
+
+    /**
+     * Muestra el resultado guardado en la caché para la consulta, si lo hay.
+     * 
+     * @param products Array de productos disponibles para la optimización.
+     * @param capacity Capacidad máxima disponible en el inventario.
+     * @param budget Presupuesto disponible para la compra de productos.
+     * @param rule Regla con la que el enfoque que se ejecutaría aplica el presupuesto.
+     * @return true si el resultado se obtuvo de la caché.
+     */
+    private boolean displayCachedResult(Product[] products, double capacity, double budget, BudgetRule rule) {
+        return cache != null && displayCachedResult(cache.get(products, capacity, budget, rule));
+    }
+
+    /**
+     * Muestra el resultado guardado en la caché para una consulta sobre un catálogo por columnas, si lo hay.
+     * 
+     * @param columns Catálogo de productos por columnas.
+     * @param capacity Capacidad máxima disponible en el inventario.
+     * @param budget Presupuesto disponible para la compra de productos.
+     * @param rule Regla con la que el enfoque que se ejecutaría aplica el presupuesto.
+     * @return true si el resultado se obtuvo de la caché.
+     */
+    private boolean displayCachedResult(ProductColumns columns, double capacity, double budget, BudgetRule rule) {
+        return cache != null && displayCachedResult(cache.get(columns, capacity, budget, rule));
+    }
+
+    /**
+     * Muestra un resultado obtenido de la caché junto con sus estadísticas de uso.
+     * 
+     * @param cachedResult Resultado guardado, o null si la consulta no estaba en la caché.
+     * @return true si había un resultado que mostrar.
+     */
+    private boolean displayCachedResult(InventoryOptimizationResult cachedResult) {
+        if (cachedResult == null) {
+            return false;
+        }
+        view.displayCacheStatistics(cache.getHits(), cache.getMisses(), cache.size());
+        view.displayOptimizationResults(cachedResult);
+        return true;
+    }
+
+    /**
+     * Reduce el problema y muestra cuánto se redujo.
+     * 
+     * @param products Array de productos disponibles para la optimización.
+     * @param capacity Capacidad máxima disponible en el inventario.
+     * @param budget Presupuesto disponible para la compra de productos.
+     * @return El problema reducido.
+     */
+    private ReducedProblem reduceAndReport(Product[] products, double capacity, double budget) {
+        long startTime = System.nanoTime();
+        ReducedProblem reduced = service.reduce(products, capacity, budget);
+        long endTime = System.nanoTime();
+        view.displayReductionReport(
+            reduced.getOriginalCount(), reduced.getReducedCount(),
+            reduced.getInfeasibleCount(), reduced.getDominatedCount(), reduced.getMergedCount(),
+            reduced.getWeightDivisor(), endTime - startTime
+        );
+        return reduced;
+    }
+
+    /**
+     * Guarda un resultado en la caché, si hay caché. El archivo de la caché no se reescribe aquí
+     * (ver {@link #saveCache()}), porque guardarlo en cada consulta reescribiría todas las entradas.
+     * 
+     * @param products Array de productos disponibles para la optimización.
+     * @param capacity Capacidad máxima disponible en el inventario.
+     * @param budget Presupuesto disponible para la compra de productos.
+     * @param rule Regla con la que el enfoque aplicó el presupuesto.
+     * @param result Resultado a guardar.
+     * @param lastRow Última fila de la tabla Bottom-Up, o null si no se calculó.
+     */
+    private void storeInCache(Product[] products, double capacity, double budget, BudgetRule rule,
+                              InventoryOptimizationResult result, double[] lastRow) {
+        if (cache == null) {
+            return;
+        }
+        cache.put(products, capacity, budget, rule, result, lastRow);
+    }
+
+    /**
+     * Guarda en la caché el resultado de una consulta sobre un catálogo por columnas, si hay caché.
+     * 
+     * @param columns Catálogo de productos por columnas.
+     * @param capacity Capacidad máxima disponible en el inventario.
+     * @param budget Presupuesto disponible para la compra de productos.
+     * @param rule Regla con la que el enfoque aplicó el presupuesto.
+     * @param result Resultado a guardar.
+     */
+    private void storeInCache(ProductColumns columns, double capacity, double budget, BudgetRule rule,
+                              InventoryOptimizationResult result) {
+        if (cache == null) {
+            return;
+        }
+        cache.put(columns, capacity, budget, rule, result, null);
+    }
+
+    /**
+     * Guarda en su archivo las entradas nuevas de la caché, si la caché es persistente.
+     * Si el archivo no se puede escribir, muestra un aviso.
+     */
+    public void saveCache() {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.snapshotIfChanged();
+        } catch (IOException e) {
+            view.displayCacheError(e.getMessage());
+        }
+    }
+
+    /**
+     * Realiza la optimización sobre un catálogo cargado desde archivo (CSV o binario) sin entrada interactiva.
+     * El catálogo se carga por columnas, se reduce (ver {@link services.ProblemReducer}) y se resuelve con el enfoque Bottom-Up
+     * de bajo consumo de memoria, sin crear un objeto por producto. Si hay límite de tiempo, la resolución se detiene al vencer el plazo
+     * y muestra la mejor solución encontrada con su cota y su brecha.
+     * Si hay caché, la consulta se busca en ella antes de resolver; su clave se calcula sobre las columnas.
+     * 
+     * @param catalogPath Ruta del archivo del catálogo.
+     * @param capacity Capacidad máxima disponible en el inventario.
+     * @param budget Presupuesto disponible para la compra de productos.
+     * @throws IOException Si el catálogo no se puede leer o tiene un formato inválido.
+     */
+    public void performCatalogOptimization(Path catalogPath, double capacity, double budget) throws IOException {
+        long startTime = System.nanoTime();
+        ProductColumns columns = new ProductCatalogLoader().load(catalogPath);
+        long loadTime = System.nanoTime() - startTime;
+
+        // Consulta a la caché de resultados
+        if (displayCachedResult(columns, capacity, budget, BudgetRule.PER_PRODUCT)) {
+            return;
+        }
+
+        // Reducción del catálogo antes de resolverlo
+        startTime = System.nanoTime();
+        ReducedCatalog catalog = service.reduce(columns, capacity, budget);
+        view.displayReductionReport(catalog.getOriginalCount(), catalog.getReducedCount(), catalog.getInfeasibleCount(),
+            catalog.getDominatedCount(), 0, catalog.getWeightDivisor(), System.nanoTime() - startTime);
+
+        startTime = System.nanoTime();
+        InventoryOptimizationResult result;
+        AnytimeOptimizationResult status = null;
+        if (timeLimitNanos > 0) {
+            status = service.memoryLeanOptimization(catalog, capacity, budget, CancellationToken.withTimeout(timeLimitNanos));
+            result = status;
+        } else {
+            result = service.memoryLeanOptimization(catalog, capacity, budget);
+        }
+        long solveTime = System.nanoTime() - startTime;
+
+        view.displayCatalogAnalysis(columns.size(), loadTime, solveTime);
+        if (status != null) {
+            view.displayAnytimeStatus("Bottom-Up", status);
+        }
+
+        // Guardar el resultado en la caché (solo si es el óptimo)
+        if (status == null || status.isComplete()) {
+            storeInCache(columns, capacity, budget, BudgetRule.PER_PRODUCT, result);
+        }
+        view.displayOptimizationResults(result);
+    }
+}
@@ -0,0 +1,327 @@
+package controllers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import models.AnytimeOptimizationResult;
+import models.BudgetRule;
+import models.InventoryOptimizationResult;
+import models.ProductColumns;
+import services.CancellationToken;
+import services.InventoryOptimizationService;
+import services.OptimizationRequestBatcher;
+import services.OptimizationResultCache;
+import services.ProductCatalogLoader;
+import services.SolverMetrics;
+import views.InventoryOptimizationJsonView;
+
+/**
+ * Servidor HTTP local de optimización de inventario, para mantener un proceso con el código ya optimizado por el JIT
+ * en lugar de iniciar una JVM por consulta.
+ * Atiende en localhost:
+ * - POST /optimizar?capacidad=N&amp;presupuesto=N con el catálogo en CSV (nombre,valor,peso,divisible) como cuerpo.
+ *   Con limiteMs=N la respuesta llega a más tardar en N milisegundos (más el envío), con la mejor solución
+ *   encontrada, una cota superior del óptimo y la brecha.
+ * - GET /estado con los contadores del servidor.
+ * - GET /metricas con las métricas de los solucionadores (también publicadas por JMX).
+ * Cada petición se atiende en un hilo virtual cuando la JVM los ofrece (o en un hilo de un grupo en caso contrario).
+ * Los catálogos de más de {@value #MAX_BODY_BYTES} bytes se rechazan con 413 sin leerlos completos.
+ * Las peticiones concurrentes con los mismos productos se resuelven en una sola pasada ({@link OptimizationRequestBatcher}),
+ * y las que exceden el máximo de peticiones en curso se rechazan con 503 en lugar de acumularse.
+ * Además del número de peticiones, se limitan los bytes: los catálogos de las peticiones en curso no pueden ocupar más
+ * de una cuarta parte del heap (y al menos un catálogo del tamaño máximo); una petición cuyo catálogo no cabe en lo que
+ * queda se rechaza con 503 antes de leerlo. Sin Content-Length se reserva el tamaño máximo hasta leer el cuerpo.
+ * Con una caché de resultados compartida, las consultas repetidas se responden sin volver a optimizar.
+ */
+public class InventoryOptimizationServer {
+
+    private static final long BATCH_WINDOW_NANOS = 2_000_000; // Ventana para reunir peticiones con los mismos productos
+    private static final long LARGE_SOLVE_CELLS = 50_000_000; // Celdas de la tabla a partir de las cuales una resolución es grande
+    private static final int MAX_BODY_BYTES = 64 << 20; // Tamaño máximo del catálogo recibido (64 MB)
+    private static final int HEAP_FRACTION_FOR_BODIES = 4; // Fracción del heap (1/N) reservada para los catálogos en curso
+
+    private final HttpServer server; // Servidor HTTP del JDK
+    private final ExecutorService executor; // Ejecutor de las peticiones
+    private final Semaphore inFlight; // Permisos para peticiones en curso
+    private final Semaphore bodyBytes; // Bytes disponibles para los catálogos de las peticiones en curso
+    private final int maxInFlight; // Número máximo de peticiones en curso
+    private final OptimizationRequestBatcher batcher; // Agrupador de peticiones concurrentes
+    private final SolverMetrics metrics; // Métricas de los solucionadores
+    private final ProductCatalogLoader loader; // Analizador del catálogo recibido
+    private final InventoryOptimizationJsonView view; // Vista JSON de las respuestas
+    private final OptimizationResultCache cache; // Caché compartida entre peticiones (null si no se usa)
+    private final AtomicLong rejected = new AtomicLong(); // Peticiones rechazadas por exceso de carga
+
+    /**
+     * Constructor del servidor. El servidor no atiende peticiones hasta llamar a {@link #start()}.
+     *
+     * @param port Puerto local (0 para elegir uno libre).
+     * @param maxInFlight Número máximo de peticiones en curso antes de rechazar nuevas.
+     * @param maxLargeSolves Número máximo de resoluciones grandes simultáneas.
+     * @throws IOException Si el puerto no se puede abrir.
+     */
+    public InventoryOptimizationServer(int port, int maxInFlight, int maxLargeSolves) throws IOException {
+        this(port, maxInFlight, maxLargeSolves, null);
+    }
+
+    /**
+     * Constructor del servidor con caché de resultados compartida entre peticiones. Solo se guardan los
+     * resultados óptimos (no los interrumpidos por el límite de tiempo); el guardado de la caché en su
+     * archivo corresponde a quien la crea.
+     *
+     * @param port Puerto local (0 para elegir uno libre).
+     * @param maxInFlight Número máximo de peticiones en curso antes de rechazar nuevas.
+     * @param maxLargeSolves Número máximo de resoluciones grandes simultáneas.
+     * @param cache Caché de resultados, o null para optimizar siempre.
+     * @throws IOException Si el puerto no se puede abrir.
+     */
+    public InventoryOptimizationServer(int port, int maxInFlight, int maxLargeSolves,
+                                       OptimizationResultCache cache) throws IOException {
+        this.cache = cache;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = newRequestExecutor();
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        long bodyBudget = Runtime.getRuntime().maxMemory() / HEAP_FRACTION_FOR_BODIES;
+        this.bodyBytes = new Semaphore((int)Math.min(Integer.MAX_VALUE, Math.max(MAX_BODY_BYTES, bodyBudget)));
+        InventoryOptimizationService service = new InventoryOptimizationService();
+        this.metrics = service.getMetrics();
+        this.batcher = new OptimizationRequestBatcher(service, BATCH_WINDOW_NANOS, maxLargeSolves, LARGE_SOLVE_CELLS);
+        this.loader = new ProductCatalogLoader();
+        this.view = new InventoryOptimizationJsonView();
+
+        server.setExecutor(executor);
+        server.createContext("/optimizar", this::handleOptimize);
+        server.createContext("/estado", this::handleStatus);
+        server.createContext("/metricas", this::handleMetrics);
+    }
+
+    /**
+     * Comienza a atender peticiones.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Deja de atender peticiones, esperando hasta el tiempo indicado a que terminen las que están en curso.
+     *
+     * @param delaySeconds Segundos máximos de espera.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * Obtiene el puerto en el que atiende el servidor.
+     *
+     * @return El puerto local.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Atiende una petición de optimización.
+     *
+     * @param exchange Intercambio HTTP.
+     * @throws IOException Si la respuesta no se puede enviar.
+     */
+    private void handleOptimize(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, view.renderError("Use POST con el catálogo en CSV como cuerpo"));
+                return;
+            }
+            if (!inFlight.tryAcquire()) {
+                rejected.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 503, view.renderError("Servidor ocupado, intente nuevamente"));
+                return;
+            }
+            try {
+                Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+                double capacity = Double.parseDouble(query.getOrDefault("capacidad", "-1"));
+                double budget = Double.parseDouble(query.getOrDefault("presupuesto", "-1"));
+                long limitMillis = Long.parseLong(query.getOrDefault("limiteMs", "0"));
+                if (capacity <= 0 || budget < 0) {
+                    send(exchange, 400, view.renderError("Se requieren capacidad (positiva) y presupuesto (no negativo)"));
+                    return;
+                }
+                if (limitMillis < 0 || limitMillis > Long.MAX_VALUE / 1_000_000) {
+                    send(exchange, 400, view.renderError("El límite de tiempo debe ser un número de milisegundos no negativo"));
+                    return;
+                }
+                CancellationToken deadline = limitMillis > 0 ? CancellationToken.withTimeout(limitMillis * 1_000_000) : null;
+
+                long declaredLength = declaredLength(exchange);
+                if (declaredLength > MAX_BODY_BYTES) {
+                    send(exchange, 413, view.renderError("El catálogo excede el tamaño máximo de " + MAX_BODY_BYTES + " bytes"));
+                    return;
+                }
+                // Sin Content-Length se reserva el tamaño máximo hasta conocer el real
+                int reservedBytes = declaredLength >= 0 ? (int)declaredLength : MAX_BODY_BYTES;
+                if (!bodyBytes.tryAcquire(reservedBytes)) {
+                    rejected.incrementAndGet();
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    send(exchange, 503, view.renderError("Servidor ocupado con catálogos grandes, intente nuevamente"));
+                    return;
+                }
+                try {
+                    byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+                    if (body.length > MAX_BODY_BYTES) {
+                        send(exchange, 413, view.renderError("El catálogo excede el tamaño máximo de " + MAX_BODY_BYTES + " bytes"));
+                        return;
+                    }
+                    if (body.length < reservedBytes) {
+                        bodyBytes.release(reservedBytes - body.length);
+                        reservedBytes = body.length;
+                    }
+                    ProductColumns columns = loader.parseCsv(body);
+                    InventoryOptimizationResult result = cache != null ? cache.get(columns, capacity, budget, BudgetRule.PER_PRODUCT) : null;
+                    if (result == null) {
+                        result = deadline != null
+                            ? batcher.submit(columns, capacity, budget, deadline)
+                            : batcher.submit(columns, capacity, budget);
+                        boolean complete = !(result instanceof AnytimeOptimizationResult)
+                            || ((AnytimeOptimizationResult) result).isComplete();
+                        if (cache != null && complete) {
+                            cache.put(columns, capacity, budget, BudgetRule.PER_PRODUCT, result, null);
+                        }
+                    }
+                    send(exchange, 200, view.renderResult(result));
+                } finally {
+                    bodyBytes.release(reservedBytes);
+                }
+            } catch (NumberFormatException e) {
+                send(exchange, 400, view.renderError("Número inválido: " + e.getMessage()));
+            } catch (IOException | IllegalArgumentException e) {
+                send(exchange, 400, view.renderError(e.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                send(exchange, 503, view.renderError("Petición interrumpida"));
+            } finally {
+                inFlight.release();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Obtiene el tamaño del cuerpo declarado en el encabezado Content-Length.
+     *
+     * @param exchange Intercambio HTTP.
+     * @return El tamaño declarado en bytes, o -1 si la petición no lo declara.
+     * @throws IOException Si el encabezado no es un número válido.
+     */
+    private static long declaredLength(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length == null) {
+            return -1;
+        }
+        try {
+            long declared = Long.parseLong(length.trim());
+            if (declared < 0) {
+                throw new IOException("Content-Length inválido: " + length);
+            }
+            return declared;
+        } catch (NumberFormatException e) {
+            throw new IOException("Content-Length inválido: " + length);
+        }
+    }
+
+    /**
+     * Atiende una petición de estado.
+     *
+     * @param exchange Intercambio HTTP.
+     * @throws IOException Si la respuesta no se puede enviar.
+     */
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        try {
+            send(exchange, 200, view.renderStatus(batcher.getRequestCount(), batcher.getPassCount(),
+                rejected.get(), maxInFlight - inFlight.availablePermits()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Atiende una petición de métricas de los solucionadores.
+     *
+     * @param exchange Intercambio HTTP.
+     * @throws IOException Si la respuesta no se puede enviar.
+     */
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            send(exchange, 200, metrics.toJson());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Envía una respuesta JSON.
+     *
+     * @param exchange Intercambio HTTP.
+     * @param status Código de estado HTTP.
+     * @param body Cuerpo de la respuesta.
+     * @throws IOException Si la respuesta no se puede enviar.
+     */
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Separa los parámetros de la consulta de una URL.
+     *
+     * @param rawQuery Consulta sin decodificar (puede ser null).
+     * @return Los parámetros por nombre.
+     */
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Crea el ejecutor de peticiones: un hilo virtual por petición si la JVM los ofrece (Java 21 o posterior),
+     * o un grupo de hilos que crece según la demanda en caso contrario. Se busca por reflexión para que el
+     * proyecto siga compilando con Java 17.
+     *
+     * @return El ejecutor de peticiones.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package models;
+
+import java.util.List;
+
+/**
+ * Clase que representa el resultado de una optimización con límite de tiempo o cancelable.
+ * Si el solucionador se detuvo antes de terminar, el valor total corresponde a la mejor solución factible
+ * encontrada hasta ese momento y la cota superior acota el óptimo: el óptimo está entre ambos valores.
+ * Si terminó, la cota coincide con el valor total y la brecha es cero.
+ */
+public class AnytimeOptimizationResult extends InventoryOptimizationResult {
+
+    private double upperBound; // Cota superior del valor óptimo
+    private boolean complete; // Indica si el solucionador terminó sin ser detenido
+
+    /**
+     * Constructor que inicializa los atributos del resultado.
+     *
+     * @param totalValue El valor total de los productos seleccionados.
+     * @param selectedProducts La lista de productos seleccionados.
+     * @param remainingCapacity La capacidad restante en el inventario.
+     * @param upperBound Una cota superior del valor óptimo.
+     * @param complete true si el solucionador terminó sin ser detenido.
+     */
+    public AnytimeOptimizationResult(double totalValue, List<ProductSelection> selectedProducts,
+                                     double remainingCapacity, double upperBound, boolean complete) {
+        super(totalValue, selectedProducts, remainingCapacity);
+        this.upperBound = Math.max(upperBound, totalValue); // Inicializa la cota superior
+        this.complete = complete; // Inicializa si el solucionador terminó
+    }
+
+    /**
+     * Obtiene una cota superior del valor óptimo.
+     *
+     * @return La cota superior del valor óptimo.
+     */
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Indica si el solucionador terminó sin ser detenido, es decir, si el valor total es el óptimo.
+     *
+     * @return true si el resultado es óptimo.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Obtiene la brecha de optimalidad: cuánto podría mejorar como máximo el valor total, en porcentaje de la cota.
+     *
+     * @return La brecha en porcentaje (0 si el resultado es óptimo).
+     */
+    public double getGapPercentage() {
+        if (upperBound <= 0) {
+            return 0;
+        }
+        return Math.max(0, (upperBound - getTotalValue()) / upperBound * 100);
+    }
+}
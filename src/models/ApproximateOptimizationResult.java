@@ -0,0 +1,48 @@
+package models;
+
+import java.util.List;
+
+/**
+ * Clase que representa el resultado de una optimización aproximada.
+ * Además del valor y los productos seleccionados, indica el error relativo garantizado (epsilon)
+ * y una cota superior del valor óptimo exacto: el óptimo está entre el valor total y esa cota.
+ */
+public class ApproximateOptimizationResult extends InventoryOptimizationResult {
+
+    private double epsilon; // Error relativo máximo garantizado
+    private double upperBound; // Cota superior del valor óptimo exacto
+
+    /**
+     * Constructor que inicializa los atributos del resultado aproximado.
+     *
+     * @param totalValue El valor total de los productos seleccionados.
+     * @param selectedProducts La lista de productos seleccionados.
+     * @param remainingCapacity La capacidad restante en el inventario.
+     * @param epsilon El error relativo máximo garantizado.
+     * @param upperBound Una cota superior del valor óptimo exacto.
+     */
+    public ApproximateOptimizationResult(double totalValue, List<ProductSelection> selectedProducts,
+                                         double remainingCapacity, double epsilon, double upperBound) {
+        super(totalValue, selectedProducts, remainingCapacity);
+        this.epsilon = epsilon; // Inicializa el error relativo garantizado
+        this.upperBound = upperBound; // Inicializa la cota superior
+    }
+
+    /**
+     * Obtiene el error relativo máximo garantizado: el valor total es al menos (1 - epsilon) veces el óptimo.
+     *
+     * @return El error relativo garantizado.
+     */
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    /**
+     * Obtiene una cota superior del valor óptimo exacto.
+     *
+     * @return La cota superior del valor óptimo.
+     */
+    public double getUpperBound() {
+        return upperBound;
+    }
+}
@@ -0,0 +1,33 @@
+package models;
+
+/**
+ * Reglas con las que un solucionador aplica el presupuesto. Un mismo catálogo con la misma capacidad y el
+ * mismo presupuesto puede tener óptimos distintos según la regla.
+ */
+public enum BudgetRule {
+
+    /** El valor de los productos elegidos se descuenta del presupuesto: la suma no puede excederlo. */
+    CUMULATIVE("presupuesto acumulado"),
+    /** El presupuesto solo descarta los productos cuyo valor por sí solo lo excede. */
+    PER_PRODUCT("presupuesto por producto");
+
+    private final String displayName; // Nombre para mostrar
+
+    /**
+     * Constructor de la regla.
+     *
+     * @param displayName Nombre para mostrar.
+     */
+    BudgetRule(String displayName) {
+        this.displayName = displayName; // Inicializa el nombre para mostrar
+    }
+
+    /**
+     * Obtiene el nombre de la regla para mostrar.
+     *
+     * @return El nombre de la regla.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,69 @@
+package models;
+
+import java.util.List;
+
+/**
+ * Clase que representa el plan de resolución de un problema: la estimación de cada enfoque
+ * y el enfoque elegido, el adecuado de menor tiempo estimado.
+ */
+public class OptimizationPlan {
+
+    private SolverEstimate chosen; // Estimación del enfoque elegido
+    private List<SolverEstimate> estimates; // Estimaciones de todos los enfoques considerados
+    private long weightResolution; // Unidades enteras por unidad de peso con las que se resuelven las tablas
+    private long valueResolution; // Unidades enteras por unidad de valor con las que se resuelven las tablas
+
+    /**
+     * Constructor que inicializa los atributos del plan.
+     *
+     * @param chosen La estimación del enfoque elegido.
+     * @param estimates Las estimaciones de todos los enfoques considerados.
+     * @param weightResolution Unidades enteras por unidad de peso con las que se resuelven las tablas.
+     * @param valueResolution Unidades enteras por unidad de valor con las que se resuelven las tablas.
+     */
+    public OptimizationPlan(SolverEstimate chosen, List<SolverEstimate> estimates,
+                            long weightResolution, long valueResolution) {
+        this.chosen = chosen; // Inicializa el enfoque elegido
+        this.estimates = estimates; // Inicializa las estimaciones
+        this.weightResolution = weightResolution; // Inicializa la resolución de pesos
+        this.valueResolution = valueResolution; // Inicializa la resolución de valores
+    }
+
+    /**
+     * Obtiene la estimación del enfoque elegido.
+     *
+     * @return La estimación del enfoque elegido.
+     */
+    public SolverEstimate getChosen() {
+        return chosen;
+    }
+
+    /**
+     * Obtiene las estimaciones de todos los enfoques considerados.
+     *
+     * @return Las estimaciones, en el orden en que se evaluaron.
+     */
+    public List<SolverEstimate> getEstimates() {
+        return estimates;
+    }
+
+    /**
+     * Obtiene la resolución de pesos: por cuánto se multiplican pesos y capacidad para que los pesos sean enteros
+     * en los enfoques de Programación Dinámica (por ejemplo 4 si los pesos son múltiplos de 0,25).
+     *
+     * @return La resolución de pesos, o 0 si ninguna resolución admitida vuelve enteros los pesos.
+     */
+    public long getWeightResolution() {
+        return weightResolution;
+    }
+
+    /**
+     * Obtiene la resolución de valores: por cuánto se multiplican valores y presupuesto para que los valores
+     * sean enteros en la Programación Dinámica con dos restricciones.
+     *
+     * @return La resolución de valores, o 0 si ninguna resolución admitida vuelve enteros los valores.
+     */
+    public long getValueResolution() {
+        return valueResolution;
+    }
+}
@@ -0,0 +1,64 @@
+package models;
+
+/**
+ * Clase que representa un escenario de optimización: una combinación de capacidad y presupuesto
+ * a evaluar sobre un mismo conjunto de productos.
+ * Si no se solicita la reconstrucción, el resultado del escenario solo contiene el valor total:
+ * la lista de productos seleccionados queda vacía y la capacidad restante es NaN.
+ */
+public class OptimizationScenario {
+
+    private double capacity; // Capacidad máxima del inventario
+    private double budget; // Presupuesto disponible
+    private boolean selectionRequested; // Indica si se deben reconstruir los productos seleccionados
+
+    /**
+     * Constructor que inicializa un escenario que solicita los productos seleccionados.
+     *
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     */
+    public OptimizationScenario(double capacity, double budget) {
+        this(capacity, budget, true);
+    }
+
+    /**
+     * Constructor que inicializa los atributos del escenario.
+     *
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param selectionRequested Indica si se deben reconstruir los productos seleccionados.
+     */
+    public OptimizationScenario(double capacity, double budget, boolean selectionRequested) {
+        this.capacity = capacity; // Inicializa la capacidad
+        this.budget = budget; // Inicializa el presupuesto
+        this.selectionRequested = selectionRequested; // Inicializa si se requiere la selección
+    }
+
+    /**
+     * Obtiene la capacidad máxima del inventario.
+     *
+     * @return La capacidad máxima del inventario.
+     */
+    public double getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Obtiene el presupuesto disponible.
+     *
+     * @return El presupuesto disponible.
+     */
+    public double getBudget() {
+        return budget;
+    }
+
+    /**
+     * Verifica si se deben reconstruir los productos seleccionados.
+     *
+     * @return true si se requiere la lista de productos seleccionados, false en caso contrario.
+     */
+    public boolean isSelectionRequested() {
+        return selectionRequested;
+    }
+}
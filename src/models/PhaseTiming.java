@@ -0,0 +1,101 @@
+package models;
+
+/**
+ * Clase que representa la distribución de tiempos de una fase de un solucionador
+ * (por ejemplo, el llenado de la tabla Bottom-Up o su reconstrucción).
+ * Los percentiles son aproximados: indican el límite superior del intervalo del histograma que los contiene.
+ */
+public class PhaseTiming {
+
+    private String name; // Solucionador y fase, por ejemplo "bottomUp.llenado"
+    private long count; // Número de mediciones
+    private long totalNanos; // Suma de todas las mediciones en nanosegundos
+    private long p50Nanos; // Percentil 50 en nanosegundos
+    private long p90Nanos; // Percentil 90 en nanosegundos
+    private long p99Nanos; // Percentil 99 en nanosegundos
+    private long maxNanos; // Medición máxima en nanosegundos
+
+    /**
+     * Constructor que inicializa los atributos de la distribución de tiempos.
+     *
+     * @param name El solucionador y la fase medidos.
+     * @param count El número de mediciones.
+     * @param totalNanos La suma de todas las mediciones en nanosegundos.
+     * @param p50Nanos El percentil 50 en nanosegundos.
+     * @param p90Nanos El percentil 90 en nanosegundos.
+     * @param p99Nanos El percentil 99 en nanosegundos.
+     * @param maxNanos La medición máxima en nanosegundos.
+     */
+    public PhaseTiming(String name, long count, long totalNanos, long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+        this.name = name; // Inicializa el nombre
+        this.count = count; // Inicializa el número de mediciones
+        this.totalNanos = totalNanos; // Inicializa la suma de mediciones
+        this.p50Nanos = p50Nanos; // Inicializa el percentil 50
+        this.p90Nanos = p90Nanos; // Inicializa el percentil 90
+        this.p99Nanos = p99Nanos; // Inicializa el percentil 99
+        this.maxNanos = maxNanos; // Inicializa el máximo
+    }
+
+    /**
+     * Obtiene el solucionador y la fase medidos.
+     *
+     * @return El nombre de la fase.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Obtiene el número de mediciones.
+     *
+     * @return El número de mediciones.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Obtiene la suma de todas las mediciones.
+     *
+     * @return La suma en nanosegundos.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Obtiene el percentil 50 (mediana).
+     *
+     * @return El percentil 50 en nanosegundos.
+     */
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    /**
+     * Obtiene el percentil 90.
+     *
+     * @return El percentil 90 en nanosegundos.
+     */
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    /**
+     * Obtiene el percentil 99.
+     *
+     * @return El percentil 99 en nanosegundos.
+     */
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * Obtiene la medición máxima.
+     *
+     * @return El máximo en nanosegundos.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+}
@@ -0,0 +1,39 @@
+package models;
+
+import java.util.List;
+
+/**
+ * Clase que representa el resultado de una optimización resuelta por el planificador de solucionadores.
+ * Además del resultado, contiene el plan: el enfoque elegido y las estimaciones de tiempo y memoria de cada enfoque.
+ * Si la resolución tenía plazo y se detuvo antes de terminar, la cota y la brecha se interpretan como en
+ * {@link AnytimeOptimizationResult}.
+ */
+public class PlannedOptimizationResult extends AnytimeOptimizationResult {
+
+    private OptimizationPlan plan; // Plan con el que se resolvió el problema
+
+    /**
+     * Constructor que inicializa los atributos del resultado.
+     *
+     * @param totalValue El valor total de los productos seleccionados.
+     * @param selectedProducts La lista de productos seleccionados.
+     * @param remainingCapacity La capacidad restante en el inventario.
+     * @param upperBound Una cota superior del valor óptimo (igual al valor total si terminó).
+     * @param complete true si el solucionador terminó sin ser detenido.
+     * @param plan El plan con el que se resolvió el problema.
+     */
+    public PlannedOptimizationResult(double totalValue, List<ProductSelection> selectedProducts, double remainingCapacity,
+                                     double upperBound, boolean complete, OptimizationPlan plan) {
+        super(totalValue, selectedProducts, remainingCapacity, upperBound, complete);
+        this.plan = plan; // Inicializa el plan
+    }
+
+    /**
+     * Obtiene el plan con el que se resolvió el problema.
+     *
+     * @return El plan, con el enfoque elegido y sus estimaciones.
+     */
+    public OptimizationPlan getPlan() {
+        return plan;
+    }
+}
@@ -1,64 +1,93 @@
-package models;
-
-/**
- * Clase que representa un producto.
- * Un producto tiene un nombre, valor, peso y la capacidad de ser dividido.
- */
-public class Product {
-    
-    private String name; // Nombre del producto
-    private double value; // Valor del producto
-    private double weight; // Peso del producto
-    private boolean canBeSplit; // Indica si el producto puede ser dividido
-
-    /**
-     * Constructor que inicializa los atributos del producto.
-     * 
-     * @param name El nombre del producto.
-     * @param value El valor del producto.
-     * @param weight El peso del producto.
-     * @param canBeSplit Indica si el producto puede ser dividido.
-     */
-    public Product(String name, double value, double weight, boolean canBeSplit) {
-        this.name = name; // Inicializa el nombre del producto
-        this.value = value; // Inicializa el valor del producto
-        this.weight = weight; // Inicializa el peso del producto
-        this.canBeSplit = canBeSplit; // Inicializa si el producto puede ser dividido
-    }
-
-    /**
-     * Obtiene el nombre del producto.
-     * 
-     * @return El nombre del producto.
-     */
-    public String getName() { 
-        return name; 
-    }
-
-    /**
-     * Obtiene el valor del producto.
-     * 
-     * @return El valor del producto.
-     */
-    public double getValue() { 
-        return value; 
-    }
-
-    /**
-     * Obtiene el peso del producto.
-     * 
-     * @return El peso del producto.
-     */
-    public double getWeight() { 
-        return weight; 
-    }
-
-    /**
-     * Verifica si el producto puede ser dividido.
-     * 
-     * @return true si el producto puede ser dividido, false en caso contrario.
-     */
-    public boolean isCanBeSplit() { 
-        return canBeSplit; 
-    }
-}
+package models;
+
+/**
+ * Clase que representa un producto.
+ * Un producto tiene un nombre, valor, peso y la capacidad de ser dividido.
+ */
+public class Product {
+    
+    private String name; // Nombre del producto
+    private double value; // Valor del producto
+    private double weight; // Peso del producto
+    private boolean canBeSplit; // Indica si el producto puede ser dividido
+    private int quantity; // Unidades disponibles en stock
+
+    /**
+     * Constructor que inicializa los atributos de un producto con una sola unidad.
+     * 
+     * @param name El nombre del producto.
+     * @param value El valor del producto.
+     * @param weight El peso del producto.
+     * @param canBeSplit Indica si el producto puede ser dividido.
+     */
+    public Product(String name, double value, double weight, boolean canBeSplit) {
+        this(name, value, weight, canBeSplit, 1);
+    }
+
+    /**
+     * Constructor que inicializa los atributos del producto, incluyendo las unidades en stock.
+     * El valor y el peso corresponden a una unidad.
+     * 
+     * @param name El nombre del producto.
+     * @param value El valor de una unidad del producto.
+     * @param weight El peso de una unidad del producto.
+     * @param canBeSplit Indica si el producto puede ser dividido.
+     * @param quantity Las unidades disponibles en stock.
+     */
+    public Product(String name, double value, double weight, boolean canBeSplit, int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa: " + quantity);
+        }
+        this.name = name; // Inicializa el nombre del producto
+        this.value = value; // Inicializa el valor del producto
+        this.weight = weight; // Inicializa el peso del producto
+        this.canBeSplit = canBeSplit; // Inicializa si el producto puede ser dividido
+        this.quantity = quantity; // Inicializa las unidades en stock
+    }
+
+    /**
+     * Obtiene el nombre del producto.
+     * 
+     * @return El nombre del producto.
+     */
+    public String getName() { 
+        return name; 
+    }
+
+    /**
+     * Obtiene el valor del producto.
+     * 
+     * @return El valor del producto.
+     */
+    public double getValue() { 
+        return value; 
+    }
+
+    /**
+     * Obtiene el peso del producto.
+     * 
+     * @return El peso del producto.
+     */
+    public double getWeight() { 
+        return weight; 
+    }
+
+    /**
+     * Verifica si el producto puede ser dividido.
+     * 
+     * @return true si el producto puede ser dividido, false en caso contrario.
+     */
+    public boolean isCanBeSplit() { 
+        return canBeSplit; 
+    }
+
+    /**
+     * Obtiene las unidades disponibles en stock. Solo el enfoque de cantidades acotadas
+     * considera más de una unidad; los demás enfoques tratan cada producto como una unidad.
+     * 
+     * @return Las unidades disponibles.
+     */
+    public int getQuantity() { 
+        return quantity; 
+    }
+}
@@ -0,0 +1,153 @@
+package models;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Clase que representa un catálogo de productos almacenado por columnas en arreglos primitivos.
+ * Permite manejar millones de productos sin crear un objeto {@link Product} por fila: los solucionadores
+ * leen directamente los arreglos de valores y pesos, y solo se materializan los productos seleccionados.
+ * Los nombres se guardan como bytes UTF-8 contiguos con un arreglo de desplazamientos.
+ */
+public class ProductColumns {
+
+    private final int size; // Número de productos
+    private final double[] values; // Valor de cada producto
+    private final double[] weights; // Peso de cada producto
+    private final long[] splitFlags; // Indicador de divisibilidad de cada producto (un bit por producto)
+    private final byte[] nameBytes; // Nombres de todos los productos en UTF-8, uno tras otro
+    private final int[] nameOffsets; // Inicio del nombre de cada producto en nameBytes (size + 1 posiciones)
+
+    /**
+     * Constructor que inicializa las columnas del catálogo. Los arreglos no se copian.
+     *
+     * @param size Número de productos.
+     * @param values Valor de cada producto.
+     * @param weights Peso de cada producto.
+     * @param splitFlags Indicador de divisibilidad de cada producto (un bit por producto).
+     * @param nameBytes Nombres de todos los productos en UTF-8, uno tras otro.
+     * @param nameOffsets Inicio del nombre de cada producto en nameBytes, más el final del último.
+     */
+    public ProductColumns(int size, double[] values, double[] weights, long[] splitFlags,
+                          byte[] nameBytes, int[] nameOffsets) {
+        this.size = size;
+        this.values = values;
+        this.weights = weights;
+        this.splitFlags = splitFlags;
+        this.nameBytes = nameBytes;
+        this.nameOffsets = nameOffsets;
+    }
+
+    /**
+     * Crea un catálogo por columnas a partir de un array de productos.
+     *
+     * @param products Array de productos.
+     * @return El catálogo por columnas equivalente.
+     */
+    public static ProductColumns fromProducts(Product[] products) {
+        int n = products.length;
+        double[] values = new double[n];
+        double[] weights = new double[n];
+        long[] splitFlags = new long[(n + 63) >>> 6];
+        byte[][] names = new byte[n][];
+        int[] nameOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            values[i] = products[i].getValue();
+            weights[i] = products[i].getWeight();
+            if (products[i].isCanBeSplit()) {
+                splitFlags[i >>> 6] |= 1L << i;
+            }
+            names[i] = products[i].getName().getBytes(StandardCharsets.UTF_8);
+            nameOffsets[i + 1] = nameOffsets[i] + names[i].length;
+        }
+        byte[] nameBytes = new byte[nameOffsets[n]];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(names[i], 0, nameBytes, nameOffsets[i], names[i].length);
+        }
+        return new ProductColumns(n, values, weights, splitFlags, nameBytes, nameOffsets);
+    }
+
+    /**
+     * Obtiene el número de productos del catálogo.
+     *
+     * @return El número de productos.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtiene la columna de valores (sin copiarla).
+     *
+     * @return El arreglo con el valor de cada producto.
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * Obtiene la columna de pesos (sin copiarla).
+     *
+     * @return El arreglo con el peso de cada producto.
+     */
+    public double[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Obtiene la columna de divisibilidad (sin copiarla), con un bit por producto.
+     *
+     * @return El arreglo de bits de divisibilidad.
+     */
+    public long[] getSplitFlags() {
+        return splitFlags;
+    }
+
+    /**
+     * Obtiene los nombres de todos los productos en UTF-8 (sin copiarlos).
+     *
+     * @return Los bytes de los nombres, uno tras otro.
+     */
+    public byte[] getNameBytes() {
+        return nameBytes;
+    }
+
+    /**
+     * Obtiene los desplazamientos de los nombres (sin copiarlos).
+     *
+     * @return El inicio del nombre de cada producto, más el final del último.
+     */
+    public int[] getNameOffsets() {
+        return nameOffsets;
+    }
+
+    /**
+     * Verifica si el producto indicado puede ser dividido.
+     *
+     * @param index Índice del producto.
+     * @return true si el producto puede ser dividido, false en caso contrario.
+     */
+    public boolean isCanBeSplit(int index) {
+        return (splitFlags[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Obtiene el nombre del producto indicado.
+     *
+     * @param index Índice del producto.
+     * @return El nombre del producto.
+     */
+    public String getName(int index) {
+        return new String(nameBytes, nameOffsets[index], nameOffsets[index + 1] - nameOffsets[index],
+            StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Crea el objeto {@link Product} de una fila del catálogo.
+     *
+     * @param index Índice del producto.
+     * @return El producto correspondiente a la fila.
+     */
+    public Product toProduct(int index) {
+        return new Product(getName(index), values[index], weights[index], isCanBeSplit(index));
+    }
+}
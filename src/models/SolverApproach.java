@@ -0,0 +1,40 @@
+package models;
+
+/**
+ * Enfoques exactos entre los que elige el planificador de solucionadores.
+ */
+public enum SolverApproach {
+
+    /** Ramificación y Poda sobre pesos decimales. */
+    BRANCH_AND_BOUND("Ramificación y Poda"),
+    /** Encuentro a mitad de camino, para pocos productos. */
+    MEET_IN_THE_MIDDLE("Encuentro a mitad de camino"),
+    /** Programación Dinámica Bottom-Up de bajo consumo de memoria. */
+    BOTTOM_UP("Bottom-Up"),
+    /** Programación Dinámica Bottom-Up paralela. */
+    PARALLEL_BOTTOM_UP("Bottom-Up paralelo"),
+    /** Programación Dinámica con capacidad y presupuesto. */
+    TWO_CONSTRAINT("Programación Dinámica con dos restricciones"),
+    /** Fronteras de Pareto dispersas sobre pesos decimales. */
+    SPARSE_FRONTIER("Fronteras de Pareto dispersas");
+
+    private final String displayName; // Nombre para mostrar
+
+    /**
+     * Constructor del enfoque.
+     *
+     * @param displayName Nombre para mostrar.
+     */
+    SolverApproach(String displayName) {
+        this.displayName = displayName; // Inicializa el nombre para mostrar
+    }
+
+    /**
+     * Obtiene el nombre del enfoque para mostrar.
+     *
+     * @return El nombre del enfoque.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
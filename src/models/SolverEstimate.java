@@ -0,0 +1,77 @@
+package models;
+
+/**
+ * Clase que representa la estimación de costo de un enfoque para un problema concreto:
+ * tiempo y memoria estimados, si el enfoque es adecuado y, si no lo es, el motivo.
+ */
+public class SolverEstimate {
+
+    private SolverApproach approach; // Enfoque estimado
+    private double estimatedNanos; // Tiempo estimado en nanosegundos
+    private double estimatedBytes; // Memoria estimada en bytes
+    private boolean suitable; // Indica si el enfoque puede resolver el problema de forma exacta
+    private String reason; // Motivo por el que el enfoque no es adecuado (null si lo es)
+
+    /**
+     * Constructor que inicializa los atributos de la estimación.
+     *
+     * @param approach El enfoque estimado.
+     * @param estimatedNanos El tiempo estimado en nanosegundos.
+     * @param estimatedBytes La memoria estimada en bytes.
+     * @param suitable true si el enfoque puede resolver el problema de forma exacta.
+     * @param reason Motivo por el que el enfoque no es adecuado, o null si lo es.
+     */
+    public SolverEstimate(SolverApproach approach, double estimatedNanos, double estimatedBytes,
+                          boolean suitable, String reason) {
+        this.approach = approach; // Inicializa el enfoque
+        this.estimatedNanos = estimatedNanos; // Inicializa el tiempo estimado
+        this.estimatedBytes = estimatedBytes; // Inicializa la memoria estimada
+        this.suitable = suitable; // Inicializa si el enfoque es adecuado
+        this.reason = reason; // Inicializa el motivo
+    }
+
+    /**
+     * Obtiene el enfoque estimado.
+     *
+     * @return El enfoque.
+     */
+    public SolverApproach getApproach() {
+        return approach;
+    }
+
+    /**
+     * Obtiene el tiempo estimado.
+     *
+     * @return El tiempo estimado en nanosegundos.
+     */
+    public double getEstimatedNanos() {
+        return estimatedNanos;
+    }
+
+    /**
+     * Obtiene la memoria estimada.
+     *
+     * @return La memoria estimada en bytes.
+     */
+    public double getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Indica si el enfoque puede resolver el problema de forma exacta dentro de los límites del planificador.
+     *
+     * @return true si el enfoque es adecuado.
+     */
+    public boolean isSuitable() {
+        return suitable;
+    }
+
+    /**
+     * Obtiene el motivo por el que el enfoque no es adecuado.
+     *
+     * @return El motivo, o null si el enfoque es adecuado.
+     */
+    public String getReason() {
+        return reason;
+    }
+}
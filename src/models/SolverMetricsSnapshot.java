@@ -0,0 +1,103 @@
+package models;
+
+import java.util.List;
+
+/**
+ * Clase que representa una fotografía de las métricas de los solucionadores en un instante:
+ * contadores acumulados y la distribución de tiempos de cada fase.
+ */
+public class SolverMetricsSnapshot {
+
+    private long recursiveCalls; // Llamadas del enfoque recursivo
+    private long branchAndBoundNodes; // Nodos explorados por Ramificación y Poda
+    private long memoHits; // Consultas a la memoización que encontraron el estado
+    private long memoMisses; // Consultas a la memoización que no encontraron el estado
+    private long cellsFilled; // Celdas de tablas de Programación Dinámica calculadas
+    private long bytesAllocated; // Bytes reservados para tablas de Programación Dinámica
+    private List<PhaseTiming> timings; // Distribución de tiempos de cada fase
+
+    /**
+     * Constructor que inicializa los atributos de la fotografía de métricas.
+     *
+     * @param recursiveCalls Las llamadas del enfoque recursivo.
+     * @param branchAndBoundNodes Los nodos explorados por Ramificación y Poda.
+     * @param memoHits Las consultas a la memoización que encontraron el estado.
+     * @param memoMisses Las consultas a la memoización que no encontraron el estado.
+     * @param cellsFilled Las celdas de tablas calculadas.
+     * @param bytesAllocated Los bytes reservados para tablas.
+     * @param timings La distribución de tiempos de cada fase.
+     */
+    public SolverMetricsSnapshot(long recursiveCalls, long branchAndBoundNodes, long memoHits, long memoMisses,
+                                 long cellsFilled, long bytesAllocated, List<PhaseTiming> timings) {
+        this.recursiveCalls = recursiveCalls; // Inicializa las llamadas recursivas
+        this.branchAndBoundNodes = branchAndBoundNodes; // Inicializa los nodos explorados
+        this.memoHits = memoHits; // Inicializa los aciertos de memoización
+        this.memoMisses = memoMisses; // Inicializa los fallos de memoización
+        this.cellsFilled = cellsFilled; // Inicializa las celdas calculadas
+        this.bytesAllocated = bytesAllocated; // Inicializa los bytes reservados
+        this.timings = timings; // Inicializa la distribución de tiempos
+    }
+
+    /**
+     * Obtiene las llamadas del enfoque recursivo.
+     *
+     * @return El número de llamadas recursivas.
+     */
+    public long getRecursiveCalls() {
+        return recursiveCalls;
+    }
+
+    /**
+     * Obtiene los nodos explorados por Ramificación y Poda.
+     *
+     * @return El número de nodos explorados.
+     */
+    public long getBranchAndBoundNodes() {
+        return branchAndBoundNodes;
+    }
+
+    /**
+     * Obtiene las consultas a la memoización que encontraron el estado.
+     *
+     * @return El número de aciertos.
+     */
+    public long getMemoHits() {
+        return memoHits;
+    }
+
+    /**
+     * Obtiene las consultas a la memoización que no encontraron el estado.
+     *
+     * @return El número de fallos.
+     */
+    public long getMemoMisses() {
+        return memoMisses;
+    }
+
+    /**
+     * Obtiene las celdas de tablas de Programación Dinámica calculadas.
+     *
+     * @return El número de celdas.
+     */
+    public long getCellsFilled() {
+        return cellsFilled;
+    }
+
+    /**
+     * Obtiene los bytes reservados para tablas de Programación Dinámica.
+     *
+     * @return El número de bytes.
+     */
+    public long getBytesAllocated() {
+        return bytesAllocated;
+    }
+
+    /**
+     * Obtiene la distribución de tiempos de cada fase.
+     *
+     * @return La lista de distribuciones, ordenada por nombre.
+     */
+    public List<PhaseTiming> getTimings() {
+        return timings;
+    }
+}
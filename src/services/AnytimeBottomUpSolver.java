@@ -0,0 +1,196 @@
+package services;
+
+import models.AnytimeOptimizationResult;
+import models.InventoryOptimizationResult;
+import models.Product;
+import models.ProductColumns;
+import models.ProductSelection;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Solucionador Bottom-Up que puede detenerse antes de terminar.
+ * Llena la tabla fila por fila como {@link InventoryOptimizationService#memoryLeanOptimization}, consultando
+ * la señal de cancelación entre bloques de columnas. Cada fila terminada es el óptimo exacto con los primeros
+ * productos, así que al detenerse se reconstruye la selección de la última fila completa, y la cota superior
+ * combina esa fila con la relajación fraccionaria de los productos que faltaban:
+ * max sobre w de fila[w] + fraccionaria(restantes, capacidad - w).
+ * Las decisiones se reservan por bloques de filas a medida que se llenan, para que reservar una tabla
+ * enorme no consuma el plazo antes de calcular la primera fila.
+ */
+public class AnytimeBottomUpSolver {
+
+    private static final int CHECK_COLUMNS = 1 << 16; // Columnas calculadas entre dos consultas de la señal
+    private static final long BLOCK_BITS = 1L << 25; // Bits de decisión por bloque de filas (4 MB)
+
+    /**
+     * Resuelve el problema hasta terminar o hasta que se cancele la señal.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo.
+     * @return La mejor solución encontrada, con una cota superior del óptimo.
+     */
+    public AnytimeOptimizationResult solve(Product[] products, double capacity, double budget, CancellationToken token) {
+        int n = products.length;
+        double[] values = new double[n];
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = products[i].getValue();
+            weights[i] = products[i].getWeight();
+        }
+        return solve(i -> products[i], values, weights, n, capacity, budget, token);
+    }
+
+    /**
+     * Resuelve un catálogo almacenado por columnas hasta terminar o hasta que se cancele la señal.
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo.
+     * @return La mejor solución encontrada, con una cota superior del óptimo.
+     */
+    public AnytimeOptimizationResult solve(ProductColumns columns, double capacity, double budget, CancellationToken token) {
+        return solve(columns::toProduct, columns.getValues(), columns.getWeights(), columns.size(), capacity, budget, token);
+    }
+
+    /**
+     * Llena la tabla mientras la señal lo permita y construye el resultado.
+     *
+     * @param productAt Función que obtiene el producto de cada fila.
+     * @param values Valores de los productos.
+     * @param weights Pesos de los productos.
+     * @param n Número de productos.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo.
+     * @return La mejor solución encontrada, con una cota superior del óptimo.
+     */
+    private AnytimeOptimizationResult solve(IntFunction<Product> productAt, double[] values, double[] weights, int n,
+                                            double capacity, double budget, CancellationToken token) {
+        int maxCapacity = (int)capacity;
+
+        // Si la señal ya venció no se reserva la tabla: solo se informa la cota
+        if (token.isCancelled()) {
+            return new AnytimeOptimizationResult(0, new ArrayList<>(), capacity,
+                upperBound(new double[] {0}, values, weights, 0, n, capacity, budget), n == 0);
+        }
+
+        double[] previous = new double[maxCapacity + 1];
+        double[] current = new double[maxCapacity + 1];
+        int rowsPerBlock = (int)Math.max(1, Math.min(n, BLOCK_BITS / (maxCapacity + 1L)));
+        DecisionMatrix[] blocks = new DecisionMatrix[(n + rowsPerBlock - 1) / rowsPerBlock];
+        int rows = 0; // Filas completas
+
+        // Llenado fila por fila; una fila interrumpida se descarta
+        rowLoop:
+        for (int i = 1; i <= n; i++) {
+            int shift = KnapsackRowKernel.shiftOf(weights[i-1]);
+            boolean usable = values[i-1] <= budget;
+            int block = (i - 1) / rowsPerBlock;
+            if (blocks[block] == null) {
+                if (token.isCancelled()) {
+                    break;
+                }
+                blocks[block] = new DecisionMatrix(Math.min(rowsPerBlock, n - block * rowsPerBlock), maxCapacity + 1);
+            }
+            for (int from = 1; from <= maxCapacity; from += CHECK_COLUMNS) {
+                if (token.isCancelled()) {
+                    break rowLoop;
+                }
+                int to = (int)Math.min(maxCapacity, (long)from + CHECK_COLUMNS - 1);
+                KnapsackRowKernel.fillRow(previous, current, values[i-1], shift, usable,
+                    blocks[block], (i - 1) % rowsPerBlock, from, to);
+            }
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+            rows = i;
+        }
+
+        InventoryOptimizationResult partial = reconstruct(productAt, blocks, rowsPerBlock, rows, previous[maxCapacity], capacity);
+        boolean complete = rows == n;
+        double bound = complete
+            ? partial.getTotalValue()
+            : upperBound(previous, values, weights, rows, n, capacity, budget);
+        return new AnytimeOptimizationResult(partial.getTotalValue(), partial.getSelectedProducts(),
+            partial.getRemainingCapacity(), bound, complete);
+    }
+
+    /**
+     * Reconstruye los productos seleccionados de las primeras filas, recorriéndolas desde la última
+     * como {@link InventoryOptimizationService#reconstructSelection}, con las decisiones repartidas en bloques.
+     *
+     * @param productAt Función que obtiene el producto de cada fila.
+     * @param blocks Bloques de decisiones.
+     * @param rowsPerBlock Filas por bloque.
+     * @param rows Número de filas completas.
+     * @param optimalValue Valor óptimo con esas filas para la capacidad máxima.
+     * @param capacity Capacidad máxima del inventario.
+     * @return El resultado con los productos seleccionados.
+     */
+    private static InventoryOptimizationResult reconstruct(IntFunction<Product> productAt, DecisionMatrix[] blocks,
+                                                           int rowsPerBlock, int rows, double optimalValue, double capacity) {
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        double totalValue = optimalValue;
+
+        for (int i = rows; i > 0 && totalValue > 0; i--) {
+            if (blocks[(i-1) / rowsPerBlock].get((i-1) % rowsPerBlock, (int)remainingCapacity)) {
+                Product selectedProduct = productAt.apply(i-1);
+                double quantity = 1.0;
+
+                // Manejo de productos divisibles
+                if (selectedProduct.isCanBeSplit() && selectedProduct.getWeight() > remainingCapacity) {
+                    quantity = remainingCapacity / selectedProduct.getWeight();
+                }
+
+                selectedProducts.add(new ProductSelection(selectedProduct, quantity));
+                totalValue -= selectedProduct.getValue() * quantity;
+                remainingCapacity -= selectedProduct.getWeight() * quantity;
+            }
+        }
+
+        return new InventoryOptimizationResult(optimalValue, selectedProducts, remainingCapacity);
+    }
+
+    /**
+     * Cota superior del óptimo a partir de la última fila completa y los productos que faltaban.
+     *
+     * @param row Última fila completa (óptimo con los primeros productos para cada capacidad entera).
+     * @param values Valores de los productos.
+     * @param weights Pesos de los productos.
+     * @param from Primer producto que no alcanzó a considerarse.
+     * @param n Número de productos.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return La cota superior del óptimo.
+     */
+    private static double upperBound(double[] row, double[] values, double[] weights, int from, int n,
+                                     double capacity, double budget) {
+        // Solo los productos restantes que pueden formar parte de alguna solución
+        double[] restValues = new double[n - from];
+        double[] restWeights = new double[n - from];
+        int count = 0;
+        for (int i = from; i < n; i++) {
+            if (values[i] > 0 && values[i] <= budget && weights[i] <= capacity) {
+                restValues[count] = values[i];
+                restWeights[count] = weights[i];
+                count++;
+            }
+        }
+        FractionalBound rest = new FractionalBound(restValues, restWeights, count);
+
+        // La fila no decrece con w y la cota de los restantes no crece, así que en cada tramo constante
+        // de la fila basta evaluar su primera columna
+        double bound = row[0] + rest.bound(capacity);
+        for (int w = 1; w < row.length; w++) {
+            if (row[w] != row[w - 1]) {
+                bound = Math.max(bound, row[w] + rest.bound(capacity - w));
+            }
+        }
+        return bound;
+    }
+}
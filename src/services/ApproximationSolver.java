@@ -0,0 +1,151 @@
+package services;
+
+import models.ApproximateOptimizationResult;
+import models.Product;
+import models.ProductSelection;
+import java.util.*;
+
+/**
+ * Esquema de aproximación totalmente polinomial (FPTAS) para capacidades muy grandes.
+ * Redondea el valor de cada producto hacia abajo a múltiplos de K = epsilon * LB / n, donde LB es una
+ * cota inferior del óptimo (la mejor entre la solución voraz por densidad y el producto más valioso),
+ * y resuelve una Programación Dinámica indexada por valor redondeado que guarda el menor peso
+ * necesario para alcanzar cada valor. El número de estados no depende de la capacidad: está acotado
+ * por la cota fraccionaria dividida por K, es decir, por 2n / epsilon.
+ * El resultado vale al menos (1 - epsilon) veces el óptimo exacto. Los pesos se usan sin truncar y,
+ * como en {@link InventoryOptimizationService#bottomUpOptimization}, el presupuesto descarta los productos
+ * cuyo valor lo excede. Los productos divisibles se tratan como indivisibles.
+ */
+public class ApproximationSolver {
+
+    private final double epsilon; // Error relativo máximo garantizado
+
+    /**
+     * Constructor que fija el error relativo máximo.
+     *
+     * @param epsilon Error relativo máximo, entre 0 y 1 (por ejemplo 0.01 para un 1 %).
+     */
+    public ApproximationSolver(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("El error relativo debe estar entre 0 y 1: " + epsilon);
+        }
+        this.epsilon = epsilon;
+    }
+
+    /**
+     * Resuelve el problema de optimización de forma aproximada.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado aproximado, con el error garantizado y una cota superior del óptimo.
+     */
+    public ApproximateOptimizationResult solve(Product[] products, double capacity, double budget) {
+        // Productos que pueden formar parte de una solución, ordenados por densidad de valor
+        List<Product> candidates = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getValue() > 0 && product.getWeight() <= capacity && product.getValue() <= budget) {
+                candidates.add(product);
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(ApproximationSolver::densityOf).reversed());
+        int n = candidates.size();
+        if (n == 0) {
+            return new ApproximateOptimizationResult(0, new ArrayList<>(), capacity, epsilon, 0);
+        }
+
+        // Cotas del óptimo: voraz (inferior) y relajación fraccionaria (superior)
+        double greedyValue = 0;
+        double greedyRoom = capacity;
+        double maxValue = 0;
+        double fractionalBound = 0;
+        double fractionalRoom = capacity;
+        for (Product product : candidates) {
+            double weight = Math.max(0, product.getWeight());
+            maxValue = Math.max(maxValue, product.getValue());
+            if (weight <= greedyRoom) {
+                greedyRoom -= weight;
+                greedyValue += product.getValue();
+            }
+            if (fractionalRoom > 0) {
+                double fraction = weight <= fractionalRoom ? 1.0 : fractionalRoom / weight;
+                fractionalBound += product.getValue() * fraction;
+                fractionalRoom -= weight * fraction;
+            }
+        }
+        double lowerBound = Math.max(greedyValue, maxValue);
+        double scale = epsilon * lowerBound / n;
+
+        // Valores redondeados y número de estados
+        int[] scaledValues = new int[n];
+        long scaledTotal = 0;
+        for (int i = 0; i < n; i++) {
+            scaledValues[i] = (int)Math.floor(candidates.get(i).getValue() / scale);
+            scaledTotal += scaledValues[i];
+        }
+        int maxScaled = (int)Math.min(scaledTotal, (long)Math.floor(fractionalBound / scale));
+
+        // minWeight[p] = menor peso con el que se alcanza exactamente el valor redondeado p
+        double[] minWeight = new double[maxScaled + 1];
+        Arrays.fill(minWeight, Double.POSITIVE_INFINITY);
+        minWeight[0] = 0;
+        DecisionMatrix decisions = new DecisionMatrix(n, maxScaled + 1);
+        int reachable = 0;
+        for (int i = 0; i < n; i++) {
+            int scaledValue = scaledValues[i];
+            if (scaledValue == 0) {
+                continue;
+            }
+            double weight = Math.max(0, candidates.get(i).getWeight());
+            reachable = Math.min(maxScaled, reachable + scaledValue);
+            for (int p = reachable; p >= scaledValue; p--) {
+                double candidate = minWeight[p - scaledValue] + weight;
+                if (candidate < minWeight[p] && candidate <= capacity) {
+                    minWeight[p] = candidate;
+                    decisions.set(i, p);
+                }
+            }
+        }
+
+        // Mayor valor redondeado alcanzable dentro de la capacidad y reconstrucción de la selección
+        int best = maxScaled;
+        while (minWeight[best] > capacity) {
+            best--;
+        }
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double totalValue = 0;
+        double remainingCapacity = capacity;
+        for (int i = n - 1, p = best; i >= 0 && p > 0; i--) {
+            if (decisions.get(i, p)) {
+                Product selectedProduct = candidates.get(i);
+                selectedProducts.add(new ProductSelection(selectedProduct, 1.0));
+                totalValue += selectedProduct.getValue();
+                remainingCapacity -= selectedProduct.getWeight();
+                p -= scaledValues[i];
+            }
+        }
+
+        // Cada producto del óptimo pierde menos de K al redondearse, así que el óptimo no supera K * (best + n)
+        double upperBound = Math.max(totalValue, Math.min(fractionalBound, scale * ((double)best + n)));
+        return new ApproximateOptimizationResult(totalValue, selectedProducts, remainingCapacity, epsilon, upperBound);
+    }
+
+    /**
+     * Obtiene el error relativo máximo garantizado.
+     *
+     * @return El error relativo.
+     */
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    /**
+     * Calcula la densidad de valor de un producto.
+     *
+     * @param product El producto.
+     * @return El valor por unidad de peso (infinito para productos sin peso).
+     */
+    private static double densityOf(Product product) {
+        return product.getWeight() > 0 ? product.getValue() / product.getWeight() : Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,167 @@
+package services;
+
+import models.InventoryOptimizationResult;
+import models.OptimizationScenario;
+import models.Product;
+import models.ProductColumns;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Solucionador por lotes: responde varios escenarios (capacidad, presupuesto) sobre el mismo conjunto
+ * de productos con una sola pasada de Programación Dinámica.
+ * Con la semántica de {@link InventoryOptimizationService#bottomUpOptimization}, el presupuesto solo
+ * descarta los productos cuyo valor lo excede. Al ordenar los productos por valor, los productos válidos
+ * de cada escenario forman un prefijo, de modo que la fila k de la tabla responde a todos los escenarios
+ * cuyo prefijo tiene k productos, y cada fila responde a todas las capacidades menores o iguales a su ancho.
+ */
+public class BatchOptimizationSolver {
+
+    /**
+     * Resuelve todos los escenarios con una sola pasada de Programación Dinámica.
+     * El valor total de cada escenario coincide con el de {@link InventoryOptimizationService#bottomUpOptimization};
+     * si hay varias soluciones óptimas, la selección reconstruida puede ser otra de ellas.
+     *
+     * @param products Array de productos disponibles.
+     * @param scenarios Escenarios de capacidad y presupuesto a evaluar.
+     * @return Un resultado por escenario, en el mismo orden de los escenarios.
+     */
+    public List<InventoryOptimizationResult> solve(Product[] products, List<OptimizationScenario> scenarios) {
+        int n = products.length;
+        double[] values = new double[n];
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = products[i].getValue();
+            weights[i] = products[i].getWeight();
+        }
+        return solve(i -> products[i], values, weights, n, scenarios);
+    }
+
+    /**
+     * Resuelve todos los escenarios sobre un catálogo almacenado por columnas, sin crear un {@link Product}
+     * por fila; solo se crean los productos seleccionados.
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param scenarios Escenarios de capacidad y presupuesto a evaluar.
+     * @return Un resultado por escenario, en el mismo orden de los escenarios.
+     */
+    public List<InventoryOptimizationResult> solve(ProductColumns columns, List<OptimizationScenario> scenarios) {
+        return solve(columns::toProduct, columns.getValues(), columns.getWeights(), columns.size(), scenarios);
+    }
+
+    /**
+     * Llena la tabla compartida y construye el resultado de cada escenario.
+     *
+     * @param productAt Función que obtiene el producto de cada fila.
+     * @param productValues Valores de los productos.
+     * @param productWeights Pesos de los productos.
+     * @param n Número de productos.
+     * @param scenarios Escenarios de capacidad y presupuesto a evaluar.
+     * @return Un resultado por escenario, en el mismo orden de los escenarios.
+     */
+    private List<InventoryOptimizationResult> solve(IntFunction<Product> productAt, double[] productValues,
+                                                    double[] productWeights, int n, List<OptimizationScenario> scenarios) {
+        // Filas ordenadas por valor (orden estable) para que los productos válidos de cada escenario sean un prefijo
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> productValues[i]));
+        double[] sortedValues = new double[n];
+        double[] sortedWeights = new double[n];
+        for (int i = 0; i < n; i++) {
+            sortedValues[i] = productValues[order[i]];
+            sortedWeights[i] = productWeights[order[i]];
+        }
+
+        int m = scenarios.size();
+        int[] prefix = new int[m];
+        int maxPrefix = 0;
+        int maxCapacity = 0;
+        boolean anySelection = false;
+        for (int s = 0; s < m; s++) {
+            OptimizationScenario scenario = scenarios.get(s);
+            if (scenario.getCapacity() < 0) {
+                throw new IllegalArgumentException("La capacidad de un escenario no puede ser negativa: " + scenario.getCapacity());
+            }
+            prefix[s] = countAtMost(sortedValues, scenario.getBudget());
+            maxCapacity = Math.max(maxCapacity, (int)scenario.getCapacity());
+            if (prefix[s] > 0) {
+                maxPrefix = Math.max(maxPrefix, prefix[s]);
+                anySelection |= scenario.isSelectionRequested();
+            }
+        }
+
+        // Escenarios agrupados por la fila de la tabla que los responde
+        Integer[] byPrefix = new Integer[m];
+        for (int s = 0; s < m; s++) {
+            byPrefix[s] = s;
+        }
+        Arrays.sort(byPrefix, Comparator.comparingInt(s -> prefix[s]));
+
+        double[] previous = new double[maxCapacity + 1];
+        double[] current = new double[maxCapacity + 1];
+        DecisionMatrix decisions = anySelection ? new DecisionMatrix(maxPrefix, maxCapacity + 1) : null;
+        double[] values = new double[m];
+        int next = 0;
+
+        // Escenarios sin productos válidos: valor cero
+        while (next < m && prefix[byPrefix[next]] == 0) {
+            next++;
+        }
+        for (int k = 1; k <= maxPrefix; k++) {
+            KnapsackRowKernel.fillRow(
+                previous, current,
+                sortedValues[k-1],
+                KnapsackRowKernel.shiftOf(sortedWeights[k-1]),
+                true,
+                decisions, k - 1, 1, maxCapacity
+            );
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+
+            // La fila recién calculada responde a todos los escenarios con k productos válidos
+            while (next < m && prefix[byPrefix[next]] == k) {
+                int s = byPrefix[next++];
+                values[s] = previous[(int)scenarios.get(s).getCapacity()];
+            }
+        }
+
+        // Reconstrucción solo para los escenarios que la solicitan
+        List<InventoryOptimizationResult> results = new ArrayList<>(m);
+        for (int s = 0; s < m; s++) {
+            OptimizationScenario scenario = scenarios.get(s);
+            if (!scenario.isSelectionRequested()) {
+                results.add(new InventoryOptimizationResult(values[s], new ArrayList<>(), Double.NaN));
+            } else if (prefix[s] == 0) {
+                results.add(new InventoryOptimizationResult(0, new ArrayList<>(), scenario.getCapacity()));
+            } else {
+                results.add(InventoryOptimizationService.reconstructSelection(
+                    i -> productAt.apply(order[i]), decisions, prefix[s], values[s], scenario.getCapacity()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Cuenta los valores ordenados que no superan el límite (búsqueda binaria).
+     *
+     * @param sortedValues Valores ordenados de forma ascendente.
+     * @param limit Límite superior (inclusive).
+     * @return Número de valores menores o iguales al límite.
+     */
+    private static int countAtMost(double[] sortedValues, double limit) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] <= limit) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
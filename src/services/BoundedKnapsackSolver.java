@@ -0,0 +1,161 @@
+package services;
+
+import models.InventoryOptimizationResult;
+import models.Product;
+import models.ProductSelection;
+import java.util.*;
+
+/**
+ * Solucionador para productos con varias unidades en stock (mochila acotada).
+ * Cada fila de la tabla considera todas las cantidades posibles de un producto a la vez:
+ * para cada residuo de la capacidad módulo el peso del producto, las columnas r, r + peso, r + 2·peso, ...
+ * forman una sucesión sobre la que el mejor número de unidades se obtiene con el máximo de una ventana
+ * deslizante, mantenido en una cola doble monótona. Así cada fila cuesta O(W) sin importar el stock,
+ * y la tabla completa O(n·W).
+ * Para reconstruir la selección sin guardar las n filas, se conservan solo las filas de cada sqrt(n) productos
+ * (puntos de control) y, al recorrer la tabla hacia atrás, se recalculan las filas de un tramo a la vez.
+ * Como en {@link InventoryOptimizationService#bottomUpOptimization}, el presupuesto descarta los productos
+ * cuyo valor unitario lo excede y el peso de cada unidad ocupa columnas enteras.
+ */
+public class BoundedKnapsackSolver {
+
+    /**
+     * Resuelve el problema de optimización considerando las unidades en stock de cada producto.
+     *
+     * @param products Array de productos disponibles, con sus unidades en stock.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización; la cantidad de cada selección es un número entero de unidades.
+     */
+    public InventoryOptimizationResult solve(Product[] products, double capacity, double budget) {
+        List<Product> candidates = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getQuantity() > 0 && product.getValue() > 0 && product.getValue() <= budget) {
+                candidates.add(product);
+            }
+        }
+        int n = candidates.size();
+        int maxCapacity = Math.max(0, (int)capacity);
+
+        // Llenado de la tabla guardando una fila cada 'stride' productos
+        int stride = Math.max(1, (int)Math.ceil(Math.sqrt(n)));
+        double[][] checkpoints = new double[(n + stride - 1) / stride][];
+        double[] previous = new double[maxCapacity + 1];
+        double[] current = new double[maxCapacity + 1];
+        int[] deque = new int[maxCapacity + 1];
+        for (int i = 0; i < n; i++) {
+            if (i % stride == 0) {
+                checkpoints[i / stride] = previous.clone();
+            }
+            fillRow(previous, current, candidates.get(i), deque);
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        double optimalValue = previous[maxCapacity];
+
+        // Reconstrucción: se recalculan las filas de cada tramo, del último al primero
+        int[] units = new int[n];
+        int w = maxCapacity;
+        for (int segment = (n - 1) / stride; segment >= 0 && n > 0; segment--) {
+            int first = segment * stride;
+            int last = Math.min(n, first + stride);
+            double[][] rows = new double[last - first + 1][];
+            rows[0] = checkpoints[segment];
+            for (int i = first; i < last; i++) {
+                rows[i - first + 1] = new double[maxCapacity + 1];
+                fillRow(rows[i - first], rows[i - first + 1], candidates.get(i), deque);
+            }
+            for (int i = last - 1; i >= first; i--) {
+                Product product = candidates.get(i);
+                int k = unitsTaken(rows[i - first], rows[i - first + 1][w], w, product);
+                units[i] = k;
+                w -= k * KnapsackRowKernel.shiftOf(product.getWeight());
+            }
+        }
+
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        for (int i = 0; i < n; i++) {
+            if (units[i] > 0) {
+                Product selectedProduct = candidates.get(i);
+                selectedProducts.add(new ProductSelection(selectedProduct, units[i]));
+                remainingCapacity -= selectedProduct.getWeight() * units[i];
+            }
+        }
+        return new InventoryOptimizationResult(optimalValue, selectedProducts, remainingCapacity);
+    }
+
+    /**
+     * Calcula la fila de un producto: current[w] = max sobre k de previous[w - k·peso] + k·valor,
+     * con k entre 0 y el stock. Para cada residuo, el candidato t (k = j - t) de mayor previous[r + t·peso] - t·valor
+     * dentro de la ventana [j - stock, j] se mantiene al frente de una cola doble monótona.
+     *
+     * @param previous Fila anterior de la tabla.
+     * @param current Fila que se está calculando.
+     * @param product El producto de la fila.
+     * @param deque Arreglo auxiliar para la cola doble (al menos W + 1 posiciones).
+     */
+    private static void fillRow(double[] previous, double[] current, Product product, int[] deque) {
+        int maxCapacity = previous.length - 1;
+        int shift = KnapsackRowKernel.shiftOf(product.getWeight());
+        int stock = product.getQuantity();
+        double value = product.getValue();
+
+        if (shift == 0) {
+            // Unidades sin peso: se toman todas
+            for (int w = 0; w <= maxCapacity; w++) {
+                current[w] = previous[w] + stock * value;
+            }
+            return;
+        }
+        if (shift > maxCapacity) {
+            System.arraycopy(previous, 0, current, 0, maxCapacity + 1);
+            return;
+        }
+
+        for (int r = 0; r < shift; r++) {
+            int head = 0;
+            int tail = 0;
+            for (int j = 0, w = r; w <= maxCapacity; j++, w += shift) {
+                // Entra el candidato t = j y sale el que ya no cabe en la ventana
+                double key = previous[w] - j * value;
+                while (tail > head && previous[r + deque[tail - 1] * shift] - deque[tail - 1] * value <= key) {
+                    tail--;
+                }
+                deque[tail++] = j;
+                while (deque[head] < j - stock) {
+                    head++;
+                }
+
+                // Se recalcula con la misma expresión que usa la reconstrucción
+                int t = deque[head];
+                current[w] = Math.max(previous[w], previous[r + t * shift] + (j - t) * value);
+            }
+        }
+    }
+
+    /**
+     * Determina cuántas unidades del producto se tomaron en la columna indicada,
+     * buscando la cantidad que reproduce exactamente el valor de la fila.
+     *
+     * @param previous Fila anterior al producto.
+     * @param target Valor de la fila del producto en la columna.
+     * @param w Columna (capacidad) actual.
+     * @param product El producto de la fila.
+     * @return El número de unidades tomadas.
+     */
+    private static int unitsTaken(double[] previous, double target, int w, Product product) {
+        int shift = KnapsackRowKernel.shiftOf(product.getWeight());
+        if (shift == 0) {
+            return product.getQuantity();
+        }
+        int limit = Math.min(product.getQuantity(), w / shift);
+        for (int k = 0; k <= limit; k++) {
+            if (previous[w - k * shift] + k * product.getValue() == target) {
+                return k;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,230 @@
+package services;
+
+import models.AnytimeOptimizationResult;
+import models.Product;
+import models.ProductSelection;
+import java.util.*;
+
+/**
+ * Solucionador exacto por Ramificación y Poda (Branch and Bound).
+ * Ordena los productos por densidad de valor (valor / peso) y explora el árbol incluir/excluir
+ * descartando las ramas cuya cota superior (relajación fraccionaria del problema) no supera a la
+ * mejor solución conocida. Trabaja directamente con pesos decimales, sin truncarlos a enteros,
+ * y descuenta el presupuesto gastado igual que {@link InventoryOptimizationService#recursiveOptimization}.
+ * Con una señal de cancelación se detiene de forma cooperativa y devuelve la mejor solución conocida;
+ * la cota superior del óptimo es la mayor cota de las ramas que quedaron sin explorar.
+ * Cada instancia resuelve un problema a la vez.
+ */
+public class BranchAndBoundSolver {
+
+    private static final double BOUND_SLACK = 1e-12; // Holgura relativa para absorber errores de redondeo en la cota
+    private static final long CHECK_MASK = (1 << 10) - 1; // La señal se consulta cada 1024 nodos
+
+    private Product[] sorted; // Productos candidatos ordenados por densidad descendente
+    private double[] weights; // Pesos en el orden de exploración
+    private double[] values; // Valores en el orden de exploración
+    private double[] prefixWeight; // Suma acumulada de pesos (prefixWeight[i] = suma de los primeros i)
+    private double[] prefixValue; // Suma acumulada de valores
+    private boolean[] taken; // Decisiones de la rama actual
+    private boolean[] bestTaken; // Decisiones de la mejor solución conocida
+    private double bestValue; // Valor de la mejor solución conocida
+    private long nodes; // Número de nodos explorados en la última resolución
+    private CancellationToken token; // Señal de cancelación (null si no hay límite)
+    private boolean stopped; // Indica si la búsqueda se detuvo por la señal
+    private double openBound; // Mayor cota de las ramas que quedaron sin explorar
+
+    /**
+     * Resuelve el problema de optimización de forma exacta mediante Ramificación y Poda.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public AnytimeOptimizationResult solve(Product[] products, double capacity, double budget) {
+        return solve(products, capacity, budget, null);
+    }
+
+    /**
+     * Resuelve el problema mediante Ramificación y Poda hasta terminar o hasta que se cancele la señal.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo, o null para resolver hasta el final.
+     * @return La mejor solución encontrada, con una cota superior del óptimo (igual al valor si terminó).
+     */
+    public AnytimeOptimizationResult solve(Product[] products, double capacity, double budget, CancellationToken token) {
+        this.token = token;
+        prepare(products, capacity, budget);
+        seedWithGreedy(capacity, budget);
+        search(0, capacity, budget, 0);
+        return buildResult(capacity);
+    }
+
+    /**
+     * Obtiene el número de nodos explorados en la última resolución.
+     *
+     * @return El número de nodos del árbol de búsqueda visitados.
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Filtra los productos que nunca pueden incluirse y ordena el resto por densidad de valor.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     */
+    private void prepare(Product[] products, double capacity, double budget) {
+        List<Product> candidates = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getValue() > 0 && product.getWeight() <= capacity && product.getValue() <= budget) {
+                candidates.add(product);
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(BranchAndBoundSolver::densityOf).reversed());
+
+        int n = candidates.size();
+        sorted = candidates.toArray(new Product[0]);
+        weights = new double[n];
+        values = new double[n];
+        prefixWeight = new double[n + 1];
+        prefixValue = new double[n + 1];
+        for (int i = 0; i < n; i++) {
+            weights[i] = Math.max(0, sorted[i].getWeight());
+            values[i] = sorted[i].getValue();
+            prefixWeight[i + 1] = prefixWeight[i] + weights[i];
+            prefixValue[i + 1] = prefixValue[i] + values[i];
+        }
+        taken = new boolean[n];
+        bestTaken = new boolean[n];
+        bestValue = 0;
+        nodes = 0;
+        stopped = false;
+        openBound = 0;
+    }
+
+    /**
+     * Calcula una primera solución factible tomando los productos en orden de densidad.
+     * Una buena solución inicial permite podar más ramas desde el comienzo.
+     *
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     */
+    private void seedWithGreedy(double capacity, double budget) {
+        double value = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (weights[i] <= capacity && values[i] <= budget) {
+                capacity -= weights[i];
+                budget -= values[i];
+                value += values[i];
+                bestTaken[i] = true;
+            }
+        }
+        bestValue = value;
+    }
+
+    /**
+     * Explora recursivamente las decisiones a partir del producto indicado.
+     *
+     * @param index Índice (en orden de densidad) del producto actual.
+     * @param capacity Capacidad restante.
+     * @param budget Presupuesto restante.
+     * @param value Valor acumulado en la rama actual.
+     */
+    private void search(int index, double capacity, double budget, double value) {
+        // Una vez detenida, cada rama pendiente solo aporta su cota
+        if (stopped) {
+            openBound = Math.max(openBound, upperBound(index, capacity, budget, value));
+            return;
+        }
+        nodes++;
+        if (value > bestValue) {
+            bestValue = value;
+            System.arraycopy(taken, 0, bestTaken, 0, taken.length);
+        }
+        if ((nodes & CHECK_MASK) == 0 && token != null && token.isCancelled()) {
+            stopped = true;
+            openBound = Math.max(openBound, upperBound(index, capacity, budget, value));
+            return;
+        }
+        if (index >= sorted.length || upperBound(index, capacity, budget, value) <= bestValue) {
+            return;
+        }
+
+        // Opción 1: Incluir el producto (primero, porque es el de mayor densidad)
+        if (weights[index] <= capacity && values[index] <= budget) {
+            taken[index] = true;
+            search(index + 1, capacity - weights[index], budget - values[index], value + values[index]);
+            taken[index] = false;
+        }
+
+        // Opción 2: Excluir el producto
+        search(index + 1, capacity, budget, value);
+    }
+
+    /**
+     * Cota superior de la rama: relajación fraccionaria sobre la capacidad restante,
+     * limitada además por el presupuesto restante (el valor obtenido nunca puede superarlo).
+     *
+     * @param index Índice del primer producto aún no decidido.
+     * @param capacity Capacidad restante.
+     * @param budget Presupuesto restante.
+     * @param value Valor acumulado en la rama actual.
+     * @return Una cota superior del mejor valor alcanzable en la rama.
+     */
+    private double upperBound(int index, double capacity, double budget, double value) {
+        // Último producto que cabe completo, buscado sobre las sumas acumuladas
+        double limit = prefixWeight[index] + capacity;
+        int low = index;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (prefixWeight[mid] <= limit) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        double bound = prefixValue[low] - prefixValue[index];
+        if (low < sorted.length && weights[low] > 0) {
+            double leftover = capacity - (prefixWeight[low] - prefixWeight[index]);
+            bound += values[low] * (leftover / weights[low]);
+        }
+        bound = Math.min(bound, budget);
+        return value + bound * (1 + BOUND_SLACK);
+    }
+
+    /**
+     * Construye el resultado a partir de la mejor solución encontrada.
+     *
+     * @param capacity Capacidad máxima del inventario.
+     * @return El resultado de la optimización, con la cota superior del óptimo.
+     */
+    private AnytimeOptimizationResult buildResult(double capacity) {
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        for (int i = 0; i < sorted.length; i++) {
+            if (bestTaken[i]) {
+                selectedProducts.add(new ProductSelection(sorted[i], 1.0));
+                remainingCapacity -= sorted[i].getWeight();
+            }
+        }
+        double bound = stopped ? Math.max(bestValue, openBound) : bestValue;
+        return new AnytimeOptimizationResult(bestValue, selectedProducts, remainingCapacity, bound, !stopped);
+    }
+
+    /**
+     * Calcula la densidad de valor de un producto.
+     *
+     * @param product El producto.
+     * @return El valor por unidad de peso (infinito para productos sin peso).
+     */
+    private static double densityOf(Product product) {
+        return product.getWeight() > 0 ? product.getValue() / product.getWeight() : Double.POSITIVE_INFINITY;
+    }
+}
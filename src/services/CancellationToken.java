@@ -0,0 +1,84 @@
+package services;
+
+/**
+ * Señal de cancelación cooperativa para los solucionadores que pueden detenerse antes de terminar.
+ * Se cancela de forma explícita con {@link #cancel()} o, si se creó con {@link #withTimeout(long)},
+ * automáticamente al vencer su plazo. Los solucionadores la consultan cada cierto número de pasos y,
+ * al verla cancelada, devuelven la mejor solución encontrada hasta ese momento.
+ * Puede compartirse entre hilos.
+ */
+public final class CancellationToken {
+
+    private final long deadlineNanos; // Momento de vencimiento según System.nanoTime()
+    private final boolean hasDeadline; // Indica si la señal vence por tiempo
+    private volatile boolean cancelled; // Indica si la señal ya fue cancelada
+
+    /**
+     * Constructor de una señal sin plazo, que solo se cancela con {@link #cancel()}.
+     */
+    public CancellationToken() {
+        this(0, false);
+    }
+
+    /**
+     * Constructor interno.
+     *
+     * @param deadlineNanos Momento de vencimiento según System.nanoTime().
+     * @param hasDeadline Indica si la señal vence por tiempo.
+     */
+    private CancellationToken(long deadlineNanos, boolean hasDeadline) {
+        this.deadlineNanos = deadlineNanos; // Inicializa el vencimiento
+        this.hasDeadline = hasDeadline; // Inicializa si vence por tiempo
+    }
+
+    /**
+     * Crea una señal que se cancela sola al pasar el tiempo indicado desde ahora.
+     *
+     * @param timeoutNanos Tiempo máximo en nanosegundos.
+     * @return La señal con plazo.
+     */
+    public static CancellationToken withTimeout(long timeoutNanos) {
+        if (timeoutNanos < 0) {
+            throw new IllegalArgumentException("El plazo no puede ser negativo: " + timeoutNanos);
+        }
+        return new CancellationToken(System.nanoTime() + timeoutNanos, true);
+    }
+
+    /**
+     * Cancela la señal: los solucionadores que la consultan se detienen en su próxima verificación.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Verifica si la señal fue cancelada o venció su plazo.
+     *
+     * @return true si los solucionadores deben detenerse.
+     */
+    public boolean isCancelled() {
+        if (cancelled) {
+            return true;
+        }
+        if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            cancelled = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene el tiempo que falta para el vencimiento.
+     *
+     * @return Los nanosegundos restantes (0 si ya se canceló, Long.MAX_VALUE si no tiene plazo).
+     */
+    public long getRemainingNanos() {
+        if (cancelled) {
+            return 0;
+        }
+        if (!hasDeadline) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+}
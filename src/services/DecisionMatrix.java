@@ -0,0 +1,70 @@
+package services;
+
+/**
+ * Matriz de decisiones empaquetada a nivel de bits.
+ * Cada celda indica si el producto de una fila fue incluido para la capacidad de una columna.
+ * Cada fila comienza en una palabra de 64 bits nueva, de modo que bloques de columnas
+ * alineados a 64 pueden escribirse de forma independiente.
+ */
+final class DecisionMatrix {
+
+    private final long[] words; // Bits de decisión agrupados en palabras de 64 bits
+    private final int wordsPerRow; // Número de palabras que ocupa cada fila
+
+    /**
+     * Constructor que reserva una matriz de decisiones vacía.
+     *
+     * @param rows Número de filas (productos).
+     * @param columns Número de columnas (capacidades).
+     */
+    DecisionMatrix(int rows, int columns) {
+        this.wordsPerRow = (columns + 63) >>> 6;
+        long totalWords = (long) rows * wordsPerRow;
+        if (totalWords > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                "La matriz de decisiones es demasiado grande: " + rows + " x " + columns);
+        }
+        this.words = new long[(int) totalWords];
+    }
+
+    /**
+     * Marca la celda indicada como "producto incluido".
+     *
+     * @param row Fila de la celda.
+     * @param column Columna de la celda.
+     */
+    void set(int row, int column) {
+        words[row * wordsPerRow + (column >>> 6)] |= 1L << column;
+    }
+
+    /**
+     * Marca varias celdas consecutivas de una fila, todas dentro de la misma palabra de 64 bits.
+     *
+     * @param row Fila de las celdas.
+     * @param column Primera columna del tramo.
+     * @param bits Máscara de las celdas a marcar; el bit 0 corresponde a la primera columna.
+     */
+    void setBits(int row, int column, long bits) {
+        words[row * wordsPerRow + (column >>> 6)] |= bits << column;
+    }
+
+    /**
+     * Verifica si la celda indicada fue marcada como "producto incluido".
+     *
+     * @param row Fila de la celda.
+     * @param column Columna de la celda.
+     * @return true si el producto fue incluido, false en caso contrario.
+     */
+    boolean get(int row, int column) {
+        return (words[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    /**
+     * Obtiene la memoria ocupada por los bits de decisión.
+     *
+     * @return El tamaño de la matriz en bytes.
+     */
+    long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+}
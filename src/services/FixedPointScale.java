@@ -0,0 +1,66 @@
+package services;
+
+/**
+ * Escala de punto fijo para convertir magnitudes decimales (pesos, valores, capacidades)
+ * en unidades enteras con una resolución configurable.
+ * Por ejemplo, con una resolución de 100 el valor 2.75 equivale a 275 unidades.
+ */
+public class FixedPointScale {
+
+    private static final double TOLERANCE = 1e-9; // Tolerancia para absorber errores de redondeo binario
+
+    private final double resolution; // Unidades enteras por cada unidad decimal
+
+    /**
+     * Constructor que inicializa la escala con la resolución indicada.
+     *
+     * @param resolution Número de unidades enteras por cada unidad decimal (debe ser positivo).
+     */
+    public FixedPointScale(double resolution) {
+        if (!(resolution > 0) || Double.isInfinite(resolution)) {
+            throw new IllegalArgumentException("La resolución debe ser un número positivo: " + resolution);
+        }
+        this.resolution = resolution;
+    }
+
+    /**
+     * Obtiene la resolución de la escala.
+     *
+     * @return Número de unidades enteras por cada unidad decimal.
+     */
+    public double getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Convierte una magnitud a unidades redondeando hacia abajo.
+     * Se usa para límites (capacidad, presupuesto), de modo que nunca se excedan.
+     *
+     * @param amount Magnitud decimal.
+     * @return Cantidad de unidades enteras.
+     */
+    public long toUnitsFloor(double amount) {
+        double scaled = amount * resolution;
+        long nearest = Math.round(scaled);
+        if (Math.abs(scaled - nearest) <= TOLERANCE * Math.max(1.0, Math.abs(scaled))) {
+            return nearest;
+        }
+        return (long) Math.floor(scaled);
+    }
+
+    /**
+     * Convierte una magnitud a unidades redondeando hacia arriba.
+     * Se usa para consumos (peso, costo), de modo que la solución escalada siempre sea factible.
+     *
+     * @param amount Magnitud decimal.
+     * @return Cantidad de unidades enteras.
+     */
+    public long toUnitsCeil(double amount) {
+        double scaled = amount * resolution;
+        long nearest = Math.round(scaled);
+        if (Math.abs(scaled - nearest) <= TOLERANCE * Math.max(1.0, Math.abs(scaled))) {
+            return nearest;
+        }
+        return (long) Math.ceil(scaled);
+    }
+}
@@ -0,0 +1,82 @@
+package services;
+
+import java.util.*;
+
+/**
+ * Relajación fraccionaria de un conjunto de productos: el mayor valor alcanzable con una capacidad dada
+ * si los productos pudieran tomarse en fracciones. Es una cota superior del valor de cualquier selección 0/1
+ * de esos productos con la misma capacidad. Tras ordenarlos por densidad, cada consulta cuesta O(log n).
+ */
+final class FractionalBound {
+
+    private final double[] prefixWeight; // Suma acumulada de pesos en orden de densidad
+    private final double[] prefixValue; // Suma acumulada de valores en orden de densidad
+    private final double[] weights; // Pesos en orden de densidad
+    private final double[] values; // Valores en orden de densidad
+
+    /**
+     * Constructor que ordena los productos por densidad de valor.
+     *
+     * @param values Valores de los productos.
+     * @param weights Pesos de los productos.
+     * @param count Número de productos (las primeras posiciones de ambos arreglos).
+     */
+    FractionalBound(double[] values, double[] weights, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> densityOf(values[i], weights[i])).reversed());
+
+        this.weights = new double[count];
+        this.values = new double[count];
+        this.prefixWeight = new double[count + 1];
+        this.prefixValue = new double[count + 1];
+        for (int k = 0; k < count; k++) {
+            this.weights[k] = Math.max(0, weights[order[k]]);
+            this.values[k] = values[order[k]];
+            prefixWeight[k + 1] = prefixWeight[k] + this.weights[k];
+            prefixValue[k + 1] = prefixValue[k] + this.values[k];
+        }
+    }
+
+    /**
+     * Calcula el valor de la relajación fraccionaria para una capacidad.
+     *
+     * @param capacity Capacidad disponible.
+     * @return El mayor valor alcanzable tomando fracciones de los productos.
+     */
+    double bound(double capacity) {
+        if (capacity < 0) {
+            return 0;
+        }
+        // Último producto que cabe completo, buscado sobre las sumas acumuladas
+        int low = 0;
+        int high = weights.length;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (prefixWeight[mid] <= capacity) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        double bound = prefixValue[low];
+        if (low < weights.length && weights[low] > 0) {
+            bound += values[low] * ((capacity - prefixWeight[low]) / weights[low]);
+        }
+        return bound;
+    }
+
+    /**
+     * Calcula la densidad de valor de un producto.
+     *
+     * @param value Valor del producto.
+     * @param weight Peso del producto.
+     * @return El valor por unidad de peso (infinito para productos sin peso).
+     */
+    private static double densityOf(double value, double weight) {
+        return weight > 0 ? value / weight : Double.POSITIVE_INFINITY;
+    }
+}
@@ -1,168 +1,929 @@
-package services;
-
-import models.InventoryOptimizationResult;
-import models.Product;
-import models.ProductSelection;
-import java.util.*;
-
-/**
- * Servicio que proporciona métodos para la optimización de inventarios.
- * Utiliza diferentes enfoques como recursivo, programación dinámica (Bottom-Up)
- * y memoización (Top-Down) para resolver el problema de optimización de productos
- * en función de la capacidad y el presupuesto disponible.
- */
-public class InventoryOptimizationService {
-
-    /**
-     * Enfoque recursivo para la optimización del inventario.
-     * Resuelve el problema utilizando recursión para incluir o excluir productos.
-     * 
-     * @param products Array de productos disponibles.
-     * @param capacity Capacidad restante del inventario.
-     * @param budget Presupuesto restante disponible.
-     * @param index Índice del producto actual que se está evaluando.
-     * @return El valor máximo obtenido con la optimización recursiva.
-     */
-    public double recursiveOptimization(Product[] products, double capacity, double budget, int index) {
-        // Caso base: si ya no hay productos o los límites de capacidad o presupuesto se alcanzan
-        if (index >= products.length || capacity <= 0 || budget <= 0) {
-            return 0;
-        }
-
-        Product currentProduct = products[index];
-        
-        // Si el producto no se puede incluir por exceder capacidad o presupuesto
-        if (currentProduct.getWeight() > capacity || currentProduct.getValue() > budget) {
-            return recursiveOptimization(products, capacity, budget, index + 1);
-        }
-
-        // Opción 1: Incluir el producto
-        double includeProduct = currentProduct.getValue() + 
-            recursiveOptimization(
-                products, 
-                capacity - currentProduct.getWeight(), 
-                budget - currentProduct.getValue(), 
-                index + 1
-            );
-        
-        // Opción 2: Excluir el producto
-        double excludeProduct = recursiveOptimization(products, capacity, budget, index + 1);
-
-        // Retornar el mejor valor entre incluir o excluir el producto
-        return Math.max(includeProduct, excludeProduct);
-    }
-
-    /**
-     * Enfoque Bottom-Up (Programación Dinámica) para la optimización del inventario.
-     * Resuelve el problema iterando sobre todos los productos y capacidades posibles.
-     * 
-     * @param products Array de productos disponibles.
-     * @param capacity Capacidad máxima del inventario.
-     * @param budget Presupuesto disponible.
-     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
-     */
-    public InventoryOptimizationResult bottomUpOptimization(Product[] products, double capacity, double budget) {
-        int n = products.length;
-        double[][] dp = new double[n + 1][(int)capacity + 1];
-        
-        // Iteración para llenar la tabla DP
-        for (int i = 1; i <= n; i++) {
-            for (int w = 1; w <= capacity; w++) {
-                Product currentProduct = products[i-1];
-                
-                // Si el producto no cabe en la capacidad o excede el presupuesto
-                if (currentProduct.getWeight() > w || currentProduct.getValue() > budget) {
-                    dp[i][w] = dp[i-1][w];
-                } else {
-                    dp[i][w] = Math.max(
-                        dp[i-1][w], 
-                        currentProduct.getValue() + dp[i-1][(int)(w - currentProduct.getWeight())]
-                    );
-                }
-            }
-        }
-
-        // Reconstrucción de la solución (productos seleccionados)
-        List<ProductSelection> selectedProducts = new ArrayList<>();
-        double remainingCapacity = capacity;
-        double totalValue = dp[n][(int)capacity];
-        
-        for (int i = n; i > 0 && totalValue > 0; i--) {
-            if (dp[i][(int)remainingCapacity] != dp[i-1][(int)remainingCapacity]) {
-                Product selectedProduct = products[i-1];
-                double quantity = 1.0;
-                
-                // Manejo de productos divisibles
-                if (selectedProduct.isCanBeSplit() && selectedProduct.getWeight() > remainingCapacity) {
-                    quantity = remainingCapacity / selectedProduct.getWeight();
-                }
-                
-                selectedProducts.add(new ProductSelection(selectedProduct, quantity));
-                totalValue -= selectedProduct.getValue() * quantity;
-                remainingCapacity -= selectedProduct.getWeight() * quantity;
-            }
-        }
-
-        return new InventoryOptimizationResult(dp[n][(int)capacity], selectedProducts, remainingCapacity);
-    }
-
-    /**
-     * Enfoque Top-Down (Memoización) para la optimización del inventario.
-     * Resuelve el problema usando memoización para almacenar resultados parciales y evitar cálculos repetidos.
-     * 
-     * @param products Array de productos disponibles.
-     * @param capacity Capacidad máxima del inventario.
-     * @param budget Presupuesto disponible.
-     * @return El valor máximo obtenido con la optimización Top-Down.
-     */
-    public double topDownOptimization(Product[] products, double capacity, double budget) {
-        double[][] memo = new double[products.length][(int)capacity + 1];
-        return topDownHelper(products, capacity, budget, 0, memo);
-    }
-
-    /**
-     * Función auxiliar para la optimización Top-Down con memoización.
-     * 
-     * @param products Array de productos disponibles.
-     * @param capacity Capacidad máxima del inventario.
-     * @param budget Presupuesto disponible.
-     * @param index Índice del producto actual.
-     * @param memo Tabla de memoización para almacenar resultados parciales.
-     * @return El valor máximo de la optimización Top-Down.
-     */
-    private double topDownHelper(Product[] products, double capacity, double budget, 
-                                 int index, double[][] memo) {
-        // Caso base: si no hay más productos o se alcanza el límite de capacidad o presupuesto
-        if (index >= products.length || capacity <= 0 || budget <= 0) {
-            return 0;
-        }
-
-        // Verificar si ya se ha calculado el valor para este estado
-        if (memo[index][(int)capacity] != 0) {
-            return memo[index][(int)capacity];
-        }
-
-        Product currentProduct = products[index];
-        
-        // Si el producto no se puede incluir por exceder capacidad o presupuesto
-        if (currentProduct.getWeight() > capacity || currentProduct.getValue() > budget) {
-            return topDownHelper(products, capacity, budget, index + 1, memo);
-        }
-
-        // Calcular el valor máximo considerando incluir o excluir el producto
-        double includeProduct = currentProduct.getValue() + 
-            topDownHelper(
-                products, 
-                capacity - currentProduct.getWeight(), 
-                budget - currentProduct.getValue(), 
-                index + 1, 
-                memo
-            );
-        
-        double excludeProduct = topDownHelper(products, capacity, budget, index + 1, memo);
-
-        // Almacenar el valor máximo en la tabla de memoización
-        memo[index][(int)capacity] = Math.max(includeProduct, excludeProduct);
-        return memo[index][(int)capacity];
-    }
-}
+package services;
+
+import models.AnytimeOptimizationResult;
+import models.ApproximateOptimizationResult;
+import models.InventoryOptimizationResult;
+import models.OptimizationPlan;
+import models.OptimizationScenario;
+import models.PlannedOptimizationResult;
+import models.Product;
+import models.ProductColumns;
+import models.ProductSelection;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+
+/**
+ * Servicio que proporciona métodos para la optimización de inventarios.
+ * Utiliza diferentes enfoques como recursivo, programación dinámica (Bottom-Up)
+ * y memoización (Top-Down) para resolver el problema de optimización de productos
+ * en función de la capacidad y el presupuesto disponible.
+ */
+public class InventoryOptimizationService {
+
+    private final SolverMetrics metrics; // Métricas de los solucionadores
+
+    /**
+     * Constructor del servicio que registra sus métricas en las métricas compartidas ({@link SolverMetrics#shared()}).
+     */
+    public InventoryOptimizationService() {
+        this(SolverMetrics.shared());
+    }
+
+    /**
+     * Constructor del servicio con métricas propias.
+     *
+     * @param metrics Métricas donde se registran contadores y tiempos de los solucionadores.
+     */
+    public InventoryOptimizationService(SolverMetrics metrics) {
+        this.metrics = metrics; // Inicializa las métricas
+    }
+
+    /**
+     * Obtiene las métricas donde el servicio registra contadores y tiempos.
+     *
+     * @return Las métricas del servicio.
+     */
+    public SolverMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Enfoque recursivo para la optimización del inventario.
+     * Resuelve el problema utilizando recursión para incluir o excluir productos.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad restante del inventario.
+     * @param budget Presupuesto restante disponible.
+     * @param index Índice del producto actual que se está evaluando.
+     * @return El valor máximo obtenido con la optimización recursiva.
+     */
+    public double recursiveOptimization(Product[] products, double capacity, double budget, int index) {
+        metrics.recursiveCall();
+
+        // Caso base: si ya no hay productos o los límites de capacidad o presupuesto se alcanzan
+        if (index >= products.length || capacity <= 0 || budget <= 0) {
+            return 0;
+        }
+
+        Product currentProduct = products[index];
+        
+        // Si el producto no se puede incluir por exceder capacidad o presupuesto
+        if (currentProduct.getWeight() > capacity || currentProduct.getValue() > budget) {
+            return recursiveOptimization(products, capacity, budget, index + 1);
+        }
+
+        // Opción 1: Incluir el producto
+        double includeProduct = currentProduct.getValue() + 
+            recursiveOptimization(
+                products, 
+                capacity - currentProduct.getWeight(), 
+                budget - currentProduct.getValue(), 
+                index + 1
+            );
+        
+        // Opción 2: Excluir el producto
+        double excludeProduct = recursiveOptimization(products, capacity, budget, index + 1);
+
+        // Retornar el mejor valor entre incluir o excluir el producto
+        return Math.max(includeProduct, excludeProduct);
+    }
+
+    /**
+     * Enfoque de Ramificación y Poda (Branch and Bound) para la optimización del inventario.
+     * Obtiene el mismo valor óptimo que {@link #recursiveOptimization}, pero poda las ramas que no
+     * pueden mejorar la mejor solución conocida y trabaja con pesos decimales sin truncarlos.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult branchAndBoundOptimization(Product[] products, double capacity, double budget) {
+        BranchAndBoundSolver solver = new BranchAndBoundSolver();
+        InventoryOptimizationResult result = metrics.time("branchAndBound.total", () -> solver.solve(products, capacity, budget));
+        metrics.branchAndBoundNodes(solver.getNodeCount());
+        return result;
+    }
+
+    /**
+     * Enfoque de Ramificación y Poda con límite de tiempo o cancelable.
+     * Si la señal se cancela antes de terminar, devuelve la mejor solución encontrada hasta ese momento
+     * junto con una cota superior del óptimo y la brecha entre ambos.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo.
+     * @return La mejor solución encontrada, con una cota superior del óptimo.
+     */
+    public AnytimeOptimizationResult branchAndBoundOptimization(Product[] products, double capacity, double budget,
+                                                                CancellationToken token) {
+        BranchAndBoundSolver solver = new BranchAndBoundSolver();
+        AnytimeOptimizationResult result = metrics.time("branchAndBound.total", () -> solver.solve(products, capacity, budget, token));
+        metrics.branchAndBoundNodes(solver.getNodeCount());
+        return result;
+    }
+
+    /**
+     * Enfoque de fronteras de Pareto dispersas: trabaja con pesos y capacidades decimales sin truncarlos a
+     * enteros ni escalarlos, y su costo depende del número de estados no dominados y no del rango de la capacidad.
+     * Descuenta el presupuesto gastado igual que {@link #recursiveOptimization}.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult sparseFrontierOptimization(Product[] products, double capacity, double budget) {
+        return sparseFrontierOptimization(products, capacity, budget, SparseFrontierSolver.UNLIMITED, null);
+    }
+
+    /**
+     * Enfoque de fronteras de Pareto dispersas con un límite de estados por frontera y una señal de cancelación.
+     * Si alguna frontera se recorta o la señal se cancela, el resultado incluye una cota superior del óptimo.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param maxStates Número máximo de estados por frontera, o {@link SparseFrontierSolver#UNLIMITED}.
+     * @param token Señal de cancelación o plazo, o null para resolver hasta el final.
+     * @return La mejor solución encontrada, con una cota superior del óptimo (igual al valor si es exacta).
+     */
+    public AnytimeOptimizationResult sparseFrontierOptimization(Product[] products, double capacity, double budget,
+                                                                int maxStates, CancellationToken token) {
+        SparseFrontierSolver solver = new SparseFrontierSolver(maxStates);
+        return metrics.time("sparseFrontier.total", () -> solver.solve(products, capacity, budget, token));
+    }
+
+    /**
+     * Resuelve el problema con un solo enfoque, el que {@link SolverPlanner} estima más rápido entre los
+     * adecuados, en lugar de ejecutar varios enfoques y compararlos.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, con el enfoque elegido y las estimaciones del plan.
+     */
+    public PlannedOptimizationResult plannedOptimization(Product[] products, double capacity, double budget) {
+        return plannedOptimization(products, capacity, budget, null);
+    }
+
+    /**
+     * Resuelve el problema con el enfoque que elige {@link SolverPlanner}. Con plazo, solo se consideran
+     * los enfoques que pueden detenerse o cuyo tiempo estimado cabe en el plazo restante; si se detiene, el resultado incluye la cota y la brecha.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo, o null para resolver hasta el final.
+     * @return El resultado de la optimización, con el enfoque elegido y las estimaciones del plan.
+     */
+    public PlannedOptimizationResult plannedOptimization(Product[] products, double capacity, double budget,
+                                                         CancellationToken token) {
+        OptimizationPlan plan = metrics.time("planificador.estimacion",
+            () -> new SolverPlanner().plan(products, capacity, budget,
+                token == null ? Long.MAX_VALUE : token.getRemainingNanos()));
+
+        InventoryOptimizationResult result;
+        switch (plan.getChosen().getApproach()) {
+            case MEET_IN_THE_MIDDLE:
+                result = meetInTheMiddleOptimization(products, capacity, budget);
+                break;
+            case BOTTOM_UP:
+                result = solveWithWeightResolution(products, capacity, plan.getWeightResolution(),
+                    (scaled, scaledCapacity) -> token != null
+                        ? memoryLeanOptimization(scaled, scaledCapacity, budget, token)
+                        : memoryLeanOptimization(scaled, scaledCapacity, budget));
+                break;
+            case PARALLEL_BOTTOM_UP:
+                result = solveWithWeightResolution(products, capacity, plan.getWeightResolution(),
+                    (scaled, scaledCapacity) -> parallelBottomUpOptimization(scaled, scaledCapacity, budget));
+                break;
+            case TWO_CONSTRAINT:
+                TwoConstraintSolver solver = new TwoConstraintSolver(new FixedPointScale(plan.getWeightResolution()),
+                    new FixedPointScale(plan.getValueResolution()), TwoConstraintSolver.DEFAULT_MAX_CELLS);
+                result = metrics.time("budgetConstrained.total", () -> solver.solve(products, capacity, budget));
+                break;
+            case SPARSE_FRONTIER:
+                result = sparseFrontierOptimization(products, capacity, budget, SparseFrontierSolver.UNLIMITED, token);
+                break;
+            default:
+                result = branchAndBoundOptimization(products, capacity, budget, token);
+        }
+
+        double upperBound = result.getTotalValue();
+        boolean complete = true;
+        if (result instanceof AnytimeOptimizationResult) {
+            upperBound = ((AnytimeOptimizationResult) result).getUpperBound();
+            complete = ((AnytimeOptimizationResult) result).isComplete();
+        }
+        return new PlannedOptimizationResult(result.getTotalValue(), result.getSelectedProducts(),
+            result.getRemainingCapacity(), upperBound, complete, plan);
+    }
+
+    /**
+     * Resuelve con un enfoque de Programación Dinámica después de multiplicar pesos y capacidad por la resolución
+     * indicada, para que los pesos sean enteros, y traduce el resultado a los productos originales.
+     * Los pesos que no quedan enteros (productos que nunca caben) se redondean hacia arriba.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param resolution Unidades enteras por unidad de peso.
+     * @param solver Enfoque que resuelve los productos y la capacidad escalados.
+     * @return El resultado sobre los productos originales.
+     */
+    private InventoryOptimizationResult solveWithWeightResolution(Product[] products, double capacity, long resolution,
+                                                                  BiFunction<Product[], Double, InventoryOptimizationResult> solver) {
+        if (resolution == 1) {
+            return solver.apply(products, capacity);
+        }
+        FixedPointScale scale = new FixedPointScale(resolution);
+        Product[] scaled = new Product[products.length];
+        Map<Product, Product> originals = new IdentityHashMap<>();
+        for (int i = 0; i < products.length; i++) {
+            Product product = products[i];
+            scaled[i] = new Product(product.getName(), product.getValue(), scale.toUnitsCeil(product.getWeight()),
+                product.isCanBeSplit(), product.getQuantity());
+            originals.put(scaled[i], product);
+        }
+        InventoryOptimizationResult scaledResult = solver.apply(scaled, (double)scale.toUnitsFloor(capacity));
+
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        for (ProductSelection selection : scaledResult.getSelectedProducts()) {
+            Product original = originals.get(selection.getProduct());
+            selectedProducts.add(new ProductSelection(original, selection.getQuantity()));
+            remainingCapacity -= original.getWeight() * selection.getQuantity();
+        }
+        if (scaledResult instanceof AnytimeOptimizationResult) {
+            AnytimeOptimizationResult anytime = (AnytimeOptimizationResult) scaledResult;
+            return new AnytimeOptimizationResult(scaledResult.getTotalValue(), selectedProducts, remainingCapacity,
+                anytime.getUpperBound(), anytime.isComplete());
+        }
+        return new InventoryOptimizationResult(scaledResult.getTotalValue(), selectedProducts, remainingCapacity);
+    }
+
+    /**
+     * Enfoque de encuentro a mitad de camino (Meet in the Middle) para la optimización del inventario.
+     * Pensado para pocos productos (hasta {@link MeetInTheMiddleSolver#MAX_PRODUCTS}) con capacidades
+     * enormes o decimales: su costo depende solo del número de productos y no de la capacidad.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult meetInTheMiddleOptimization(Product[] products, double capacity, double budget) {
+        return metrics.time("meetInTheMiddle.total", () -> new MeetInTheMiddleSolver().solve(products, capacity, budget));
+    }
+
+    /**
+     * Enfoque Bottom-Up (Programación Dinámica) para la optimización del inventario.
+     * Resuelve el problema iterando sobre todos los productos y capacidades posibles.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult bottomUpOptimization(Product[] products, double capacity, double budget) {
+        return bottomUpOptimization(products, capacity, budget, null);
+    }
+
+    /**
+     * Enfoque Bottom-Up (Programación Dinámica) que además entrega la última fila de la tabla,
+     * es decir, el valor óptimo con todos los productos para cada capacidad entera hasta la indicada.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param lastRow Arreglo de al menos (int)capacity + 1 posiciones donde se copia la última fila, o null.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult bottomUpOptimization(Product[] products, double capacity, double budget, double[] lastRow) {
+        long startTime = System.nanoTime();
+        int n = products.length;
+        int maxCapacity = (int)capacity;
+        double[][] dp = new double[n + 1][maxCapacity + 1];
+
+        // Valores y desplazamientos en arreglos primitivos, fuera del ciclo de columnas
+        double[] values = new double[n];
+        int[] shifts = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = products[i].getValue();
+            shifts[i] = KnapsackRowKernel.shiftOf(products[i].getWeight());
+        }
+
+        // Iteración para llenar la tabla DP; las columnas donde el producto no cabe o excede
+        // el presupuesto copian la fila anterior y el resto se calcula por vectores si es posible
+        for (int i = 1; i <= n; i++) {
+            KnapsackRowKernel.fillRow(dp[i-1], dp[i], values[i-1], shifts[i-1], values[i-1] <= budget,
+                null, 0, 1, maxCapacity);
+        }
+
+        if (lastRow != null) {
+            System.arraycopy(dp[n], 0, lastRow, 0, dp[n].length);
+        }
+        long fillEnd = System.nanoTime();
+        metrics.recordPhase("bottomUp.llenado", fillEnd - startTime);
+        metrics.table((long)n * (int)capacity, (long)(n + 1) * ((int)capacity + 1) * Double.BYTES);
+
+        // Reconstrucción de la solución (productos seleccionados)
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        double totalValue = dp[n][(int)capacity];
+        
+        for (int i = n; i > 0 && totalValue > 0; i--) {
+            if (dp[i][(int)remainingCapacity] != dp[i-1][(int)remainingCapacity]) {
+                Product selectedProduct = products[i-1];
+                double quantity = 1.0;
+                
+                // Manejo de productos divisibles
+                if (selectedProduct.isCanBeSplit() && selectedProduct.getWeight() > remainingCapacity) {
+                    quantity = remainingCapacity / selectedProduct.getWeight();
+                }
+                
+                selectedProducts.add(new ProductSelection(selectedProduct, quantity));
+                totalValue -= selectedProduct.getValue() * quantity;
+                remainingCapacity -= selectedProduct.getWeight() * quantity;
+            }
+        }
+
+        metrics.recordPhase("bottomUp.reconstruccion", System.nanoTime() - fillEnd);
+        return new InventoryOptimizationResult(dp[n][(int)capacity], selectedProducts, remainingCapacity);
+    }
+
+    /**
+     * Enfoque Bottom-Up de bajo consumo de memoria para la optimización del inventario.
+     * Conserva solo dos filas de valores y registra la decisión incluir/excluir de cada celda
+     * en un bit, en lugar de mantener la tabla completa de valores. Produce el mismo resultado
+     * que {@link #bottomUpOptimization} usando aproximadamente 64 veces menos memoria.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult memoryLeanOptimization(Product[] products, double capacity, double budget) {
+        long startTime = System.nanoTime();
+        int n = products.length;
+        int maxCapacity = (int)capacity;
+        double[] previous = new double[maxCapacity + 1];
+        double[] current = new double[maxCapacity + 1];
+        DecisionMatrix decisions = new DecisionMatrix(n, maxCapacity + 1);
+
+        // Llenado fila por fila reutilizando los dos arreglos
+        for (int i = 1; i <= n; i++) {
+            Product currentProduct = products[i-1];
+            KnapsackRowKernel.fillRow(
+                previous, current,
+                currentProduct.getValue(),
+                KnapsackRowKernel.shiftOf(currentProduct.getWeight()),
+                currentProduct.getValue() <= budget,
+                decisions, i - 1, 1, maxCapacity
+            );
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return timedReconstruction(i -> products[i], decisions, n, previous[maxCapacity], capacity, startTime);
+    }
+
+    /**
+     * Enfoque Bottom-Up de bajo consumo de memoria sobre un catálogo almacenado por columnas.
+     * Lee directamente los arreglos de valores y pesos, sin crear un {@link Product} por fila;
+     * solo se crean los productos que forman parte de la selección.
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult memoryLeanOptimization(ProductColumns columns, double capacity, double budget) {
+        long startTime = System.nanoTime();
+        int n = columns.size();
+        double[] values = columns.getValues();
+        double[] weights = columns.getWeights();
+        int maxCapacity = (int)capacity;
+        double[] previous = new double[maxCapacity + 1];
+        double[] current = new double[maxCapacity + 1];
+        DecisionMatrix decisions = new DecisionMatrix(n, maxCapacity + 1);
+
+        for (int i = 1; i <= n; i++) {
+            KnapsackRowKernel.fillRow(
+                previous, current,
+                values[i-1],
+                KnapsackRowKernel.shiftOf(weights[i-1]),
+                values[i-1] <= budget,
+                decisions, i - 1, 1, maxCapacity
+            );
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return timedReconstruction(columns::toProduct, decisions, n, previous[maxCapacity], capacity, startTime);
+    }
+
+    /**
+     * Enfoque Bottom-Up de bajo consumo de memoria con límite de tiempo o cancelable.
+     * Si la señal se cancela antes de terminar, devuelve el óptimo con los productos de las filas ya completas
+     * junto con una cota superior del óptimo y la brecha entre ambos (ver {@link AnytimeBottomUpSolver}).
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo.
+     * @return La mejor solución encontrada, con una cota superior del óptimo.
+     */
+    public AnytimeOptimizationResult memoryLeanOptimization(Product[] products, double capacity, double budget,
+                                                            CancellationToken token) {
+        return metrics.time("memoryLean.total", () -> new AnytimeBottomUpSolver().solve(products, capacity, budget, token));
+    }
+
+    /**
+     * Enfoque Bottom-Up de bajo consumo de memoria sobre un catálogo por columnas, con límite de tiempo o cancelable.
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo.
+     * @return La mejor solución encontrada, con una cota superior del óptimo.
+     */
+    public AnytimeOptimizationResult memoryLeanOptimization(ProductColumns columns, double capacity, double budget,
+                                                            CancellationToken token) {
+        return metrics.time("memoryLean.total", () -> new AnytimeBottomUpSolver().solve(columns, capacity, budget, token));
+    }
+
+    /**
+     * Enfoque Bottom-Up de bajo consumo de memoria sobre un catálogo reducido con {@link #reduce(ProductColumns, double, double)}.
+     *
+     * @param catalog Catálogo reducido.
+     * @param capacity Capacidad máxima del inventario (del catálogo original).
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización sobre los productos originales.
+     */
+    public InventoryOptimizationResult memoryLeanOptimization(ReducedCatalog catalog, double capacity, double budget) {
+        return catalog.expand(memoryLeanOptimization(catalog.getColumns(), catalog.reduceCapacity(capacity),
+            catalog.checkBudget(budget)), capacity);
+    }
+
+    /**
+     * Enfoque Bottom-Up de bajo consumo de memoria sobre un catálogo reducido, con límite de tiempo o cancelable.
+     *
+     * @param catalog Catálogo reducido.
+     * @param capacity Capacidad máxima del inventario (del catálogo original).
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo.
+     * @return La mejor solución encontrada sobre los productos originales, con una cota superior del óptimo.
+     */
+    public AnytimeOptimizationResult memoryLeanOptimization(ReducedCatalog catalog, double capacity, double budget,
+                                                            CancellationToken token) {
+        return (AnytimeOptimizationResult) catalog.expand(memoryLeanOptimization(catalog.getColumns(),
+            catalog.reduceCapacity(capacity), catalog.checkBudget(budget), token), capacity);
+    }
+
+    /**
+     * Enfoque Bottom-Up paralelo para la optimización del inventario.
+     * Divide el rango de capacidades de cada fila entre los núcleos disponibles y obtiene
+     * exactamente el mismo resultado que {@link #memoryLeanOptimization}. Para tablas pequeñas
+     * se resuelve de forma secuencial; para otro nivel de paralelismo se puede usar
+     * directamente {@link ParallelBottomUpSolver}.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult parallelBottomUpOptimization(Product[] products, double capacity, double budget) {
+        return metrics.time("parallelBottomUp.total", () -> new ParallelBottomUpSolver().solve(products, capacity, budget));
+    }
+
+    /**
+     * Enfoque Bottom-Up con la tabla fuera del heap, para capacidades cuyas filas y decisiones no caben en -Xmx.
+     * Las filas y las decisiones se guardan en páginas de tamaño fijo y se recorren de forma secuencial, así que
+     * el heap usado y las pausas del recolector no crecen con la tabla. El resultado es idéntico al de
+     * {@link #memoryLeanOptimization}.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param spillDirectory Directorio de archivos temporales mapeados en memoria, que acotan la memoria residente,
+     *                       o null para usar búferes directos (limitados por -XX:MaxDirectMemorySize).
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult pagedBottomUpOptimization(Product[] products, double capacity, double budget,
+                                                                 Path spillDirectory) {
+        return metrics.time("pagedBottomUp.total",
+            () -> new PagedBottomUpSolver(spillDirectory).solve(products, capacity, budget));
+    }
+
+    /**
+     * Optimización por lotes: evalúa varios escenarios de capacidad y presupuesto sobre el mismo
+     * conjunto de productos con una sola pasada de Programación Dinámica, en lugar de repetir
+     * {@link #bottomUpOptimization} por cada escenario. Solo se reconstruyen los productos
+     * seleccionados de los escenarios que lo solicitan.
+     *
+     * @param products Array de productos disponibles.
+     * @param scenarios Escenarios de capacidad y presupuesto a evaluar.
+     * @return Un resultado por escenario, en el mismo orden de los escenarios.
+     */
+    public List<InventoryOptimizationResult> batchOptimization(Product[] products, List<OptimizationScenario> scenarios) {
+        return metrics.time("batch.total", () -> new BatchOptimizationSolver().solve(products, scenarios));
+    }
+
+    /**
+     * Optimización por lotes sobre un catálogo almacenado por columnas.
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param scenarios Escenarios de capacidad y presupuesto a evaluar.
+     * @return Un resultado por escenario, en el mismo orden de los escenarios.
+     */
+    public List<InventoryOptimizationResult> batchOptimization(ProductColumns columns, List<OptimizationScenario> scenarios) {
+        return metrics.time("batch.total", () -> new BatchOptimizationSolver().solve(columns, scenarios));
+    }
+
+    /**
+     * Optimización por lotes sobre un catálogo reducido con {@link #reduce(ProductColumns, List)}.
+     *
+     * @param catalog Catálogo reducido.
+     * @param scenarios Escenarios de capacidad y presupuesto a evaluar (del catálogo original).
+     * @return Un resultado por escenario sobre los productos originales, en el mismo orden de los escenarios.
+     */
+    public List<InventoryOptimizationResult> batchOptimization(ReducedCatalog catalog, List<OptimizationScenario> scenarios) {
+        List<OptimizationScenario> reducedScenarios = new ArrayList<>(scenarios.size());
+        for (OptimizationScenario scenario : scenarios) {
+            reducedScenarios.add(new OptimizationScenario(catalog.reduceCapacity(scenario.getCapacity()),
+                catalog.checkBudget(scenario.getBudget()), scenario.isSelectionRequested()));
+        }
+        List<InventoryOptimizationResult> results = batchOptimization(catalog.getColumns(), reducedScenarios);
+        List<InventoryOptimizationResult> expanded = new ArrayList<>(results.size());
+        for (int s = 0; s < results.size(); s++) {
+            expanded.add(catalog.expand(results.get(s), scenarios.get(s).getCapacity()));
+        }
+        return expanded;
+    }
+
+    /**
+     * Optimización de varios depósitos (mochila múltiple): reparte el catálogo entre los depósitos indicados,
+     * cada uno con su capacidad y su presupuesto, e incluye cada producto a lo sumo en uno de ellos, en lugar de
+     * repetir {@link #bottomUpOptimization} por depósito quitando los productos ya elegidos.
+     * Con pocos productos candidatos busca el óptimo; con muchos usa heurísticas en paralelo
+     * (ver {@link MultipleKnapsackSolver}). Para saber si el reparto obtenido es óptimo se usa
+     * {@link #multipleKnapsackOptimization(Product[], List, MultipleKnapsackSolver)}.
+     *
+     * @param products Array de productos disponibles.
+     * @param bins Depósitos, cada uno con su capacidad y su presupuesto.
+     * @return Un resultado por depósito, en el mismo orden de los depósitos.
+     */
+    public List<InventoryOptimizationResult> multipleKnapsackOptimization(Product[] products, List<OptimizationScenario> bins) {
+        return multipleKnapsackOptimization(products, bins, new MultipleKnapsackSolver());
+    }
+
+    /**
+     * Optimización de varios depósitos con un solucionador proporcionado por el llamador, que después de
+     * resolver indica si el reparto es óptimo ({@link MultipleKnapsackSolver#isOptimal()}) y cuántos nodos
+     * exploró la búsqueda exacta. Permite también elegir el grupo de hilos y los límites de la búsqueda.
+     *
+     * @param products Array de productos disponibles.
+     * @param bins Depósitos, cada uno con su capacidad y su presupuesto.
+     * @param solver Solucionador de mochila múltiple a utilizar.
+     * @return Un resultado por depósito, en el mismo orden de los depósitos.
+     */
+    public List<InventoryOptimizationResult> multipleKnapsackOptimization(Product[] products, List<OptimizationScenario> bins,
+                                                                          MultipleKnapsackSolver solver) {
+        return metrics.time("multipleKnapsack.total", () -> solver.solve(products, bins));
+    }
+
+    /**
+     * Abre una sesión de optimización incremental sobre un catálogo que cambia pocos productos a la vez.
+     * Agregar un producto cuesta una fila de la tabla; quitarlo recalcula las filas que lo seguían en su pila,
+     * por lo que quitar uno de los primeros productos del catálogo inicial cuesta tanto como abrir la sesión de nuevo
+     * (ver {@link OptimizationSession#removeProduct}).
+     *
+     * @param products Array de productos iniciales.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return La sesión de optimización.
+     */
+    public OptimizationSession openSession(Product[] products, double capacity, double budget) {
+        return new OptimizationSession(products, capacity, budget);
+    }
+
+    /**
+     * Registra el llenado de una tabla de bajo consumo de memoria y reconstruye su selección midiendo la reconstrucción.
+     *
+     * @param productAt Función que obtiene el producto de cada fila.
+     * @param decisions Matriz con las decisiones de inclusión de cada producto por capacidad.
+     * @param rows Número de productos (filas) de la tabla.
+     * @param optimalValue Valor óptimo obtenido para la capacidad máxima.
+     * @param capacity Capacidad máxima del inventario.
+     * @param startTime Momento en que comenzó el llenado (System.nanoTime()).
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    private InventoryOptimizationResult timedReconstruction(IntFunction<Product> productAt, DecisionMatrix decisions,
+                                                            int rows, double optimalValue, double capacity, long startTime) {
+        long fillEnd = System.nanoTime();
+        metrics.recordPhase("memoryLean.llenado", fillEnd - startTime);
+        metrics.table((long)rows * (int)capacity, 2L * ((int)capacity + 1) * Double.BYTES + decisions.sizeInBytes());
+        InventoryOptimizationResult result = reconstructSelection(productAt, decisions, rows, optimalValue, capacity);
+        metrics.recordPhase("memoryLean.reconstruccion", System.nanoTime() - fillEnd);
+        return result;
+    }
+
+    /**
+     * Reconstruye los productos seleccionados a partir de una matriz de decisiones,
+     * recorriendo los productos desde el último hasta el primero como en {@link #bottomUpOptimization}.
+     *
+     * @param productAt Función que obtiene el producto de cada fila.
+     * @param decisions Matriz con las decisiones de inclusión de cada producto por capacidad.
+     * @param rows Número de productos (filas) considerados, contados desde el primero.
+     * @param optimalValue Valor óptimo obtenido para la capacidad máxima.
+     * @param capacity Capacidad máxima del inventario.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    static InventoryOptimizationResult reconstructSelection(IntFunction<Product> productAt, DecisionMatrix decisions,
+                                                            int rows, double optimalValue, double capacity) {
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        double totalValue = optimalValue;
+
+        for (int i = rows; i > 0 && totalValue > 0; i--) {
+            if (decisions.get(i-1, (int)remainingCapacity)) {
+                Product selectedProduct = productAt.apply(i-1);
+                double quantity = 1.0;
+
+                // Manejo de productos divisibles
+                if (selectedProduct.isCanBeSplit() && selectedProduct.getWeight() > remainingCapacity) {
+                    quantity = remainingCapacity / selectedProduct.getWeight();
+                }
+
+                selectedProducts.add(new ProductSelection(selectedProduct, quantity));
+                totalValue -= selectedProduct.getValue() * quantity;
+                remainingCapacity -= selectedProduct.getWeight() * quantity;
+            }
+        }
+
+        return new InventoryOptimizationResult(optimalValue, selectedProducts, remainingCapacity);
+    }
+
+    /**
+     * Reduce el problema antes de resolverlo: descarta productos infactibles y dominados, fusiona duplicados
+     * y divide los pesos por su máximo común divisor (ver {@link ProblemReducer}).
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El problema reducido, que permite traducir sus resultados a los productos originales.
+     */
+    public ReducedProblem reduce(Product[] products, double capacity, double budget) {
+        return metrics.time("reduccion.total", () -> new ProblemReducer().reduce(products, capacity, budget));
+    }
+
+    /**
+     * Reduce un catálogo por columnas para una sola capacidad y presupuesto (ver {@link ProblemReducer#reduce(ProductColumns, List)}).
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El catálogo reducido, que permite traducir sus resultados a los productos originales.
+     */
+    public ReducedCatalog reduce(ProductColumns columns, double capacity, double budget) {
+        return reduce(columns, List.of(new OptimizationScenario(capacity, budget)));
+    }
+
+    /**
+     * Reduce un catálogo por columnas para que sirva a todos los escenarios indicados.
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param scenarios Escenarios de capacidad y presupuesto que se resolverán con el catálogo reducido.
+     * @return El catálogo reducido, que permite traducir sus resultados a los productos originales.
+     */
+    public ReducedCatalog reduce(ProductColumns columns, List<OptimizationScenario> scenarios) {
+        return metrics.time("reduccion.total", () -> new ProblemReducer().reduce(columns, scenarios));
+    }
+
+    /**
+     * Reduce el problema y lo resuelve con el enfoque de cantidades acotadas, que aprovecha
+     * los duplicados fusionados como unidades de un mismo producto.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización sobre los productos originales.
+     */
+    public InventoryOptimizationResult reducedOptimization(Product[] products, double capacity, double budget) {
+        ReducedProblem reduced = reduce(products, capacity, budget);
+        return reduced.expand(boundedOptimization(reduced.getProducts(), reduced.getCapacity(), reduced.getBudget()));
+    }
+
+    /**
+     * Enfoque para productos con varias unidades en stock (mochila acotada).
+     * Considera todas las unidades de cada producto en una sola fila de la tabla, con un costo
+     * O(n·W) que no depende del stock, en lugar de repetir el producto una vez por unidad.
+     *
+     * @param products Array de productos disponibles, con sus unidades en stock.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización; la cantidad de cada selección es un número entero de unidades.
+     */
+    public InventoryOptimizationResult boundedOptimization(Product[] products, double capacity, double budget) {
+        return metrics.time("bounded.total", () -> new BoundedKnapsackSolver().solve(products, capacity, budget));
+    }
+
+    /**
+     * Enfoque mixto para catálogos con productos divisibles.
+     * Los productos divisibles se resuelven con el método voraz fraccionario y solo los indivisibles
+     * pasan por la Programación Dinámica, por lo que las cantidades devueltas son fraccionarias y exactas.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult mixedOptimization(Product[] products, double capacity, double budget) {
+        return metrics.time("mixed.total", () -> new MixedFractionalSolver().solve(products, capacity, budget));
+    }
+
+    /**
+     * Enfoque aproximado (FPTAS) para capacidades muy grandes.
+     * Su costo depende del número de productos y del error aceptado, no de la capacidad,
+     * y garantiza un valor de al menos (1 - epsilon) veces el óptimo.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param epsilon Error relativo aceptado, entre 0 y 1 (por ejemplo 0.01 para un 1 %).
+     * @return El resultado aproximado, con el error garantizado y una cota superior del óptimo.
+     */
+    public ApproximateOptimizationResult approximateOptimization(Product[] products, double capacity, double budget, double epsilon) {
+        return metrics.time("approximate.total", () -> new ApproximationSolver(epsilon).solve(products, capacity, budget));
+    }
+
+    /**
+     * Enfoque de Programación Dinámica con dos restricciones (capacidad y presupuesto).
+     * Descuenta el presupuesto gastado por cada producto incluido, por lo que la solución
+     * respeta ambos límites. Utiliza resolución unitaria; para otras resoluciones se puede
+     * usar directamente {@link TwoConstraintSolver}.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult budgetConstrainedOptimization(Product[] products, double capacity, double budget) {
+        return metrics.time("budgetConstrained.total", () -> new TwoConstraintSolver().solve(products, capacity, budget));
+    }
+
+    /**
+     * Enfoque Top-Down (Memoización) para la optimización del inventario.
+     * Resuelve el problema usando memoización para almacenar resultados parciales y evitar cálculos repetidos.
+     * Utiliza un almacén disperso ({@link OpenAddressingMemoStore}) cuya memoria crece con los estados visitados.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El valor máximo obtenido con la optimización Top-Down.
+     */
+    public double topDownOptimization(Product[] products, double capacity, double budget) {
+        return topDownOptimization(products, capacity, budget, new OpenAddressingMemoStore());
+    }
+
+    /**
+     * Enfoque Top-Down (Memoización) con un almacén de resultados parciales proporcionado por el llamador.
+     * Permite, por ejemplo, limitar el número de estados memorizados.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param memo Almacén donde se guardan los resultados parciales.
+     * @return El valor máximo obtenido con la optimización Top-Down.
+     */
+    public double topDownOptimization(Product[] products, double capacity, double budget, MemoStore memo) {
+        long startTime = System.nanoTime();
+        double best = topDownHelper(products, capacity, budget, 0, memo, null);
+        metrics.recordPhase("topDown.total", System.nanoTime() - startTime);
+        return best;
+    }
+
+    /**
+     * Enfoque Top-Down (Memoización) con límite de tiempo o cancelable.
+     * Un valor parcial de la memoización no corresponde a ninguna solución, así que si la señal se cancela
+     * antes de terminar no se devuelve un valor; para obtener la mejor solución hasta el momento se usa
+     * {@link #branchAndBoundOptimization(Product[], double, double, CancellationToken)}.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo.
+     * @return El valor máximo obtenido, o NaN si la señal se canceló antes de terminar.
+     */
+    public double topDownOptimization(Product[] products, double capacity, double budget, CancellationToken token) {
+        long startTime = System.nanoTime();
+        try {
+            return topDownHelper(products, capacity, budget, 0, new OpenAddressingMemoStore(),
+                token != null ? new CancellationPoll(token) : null);
+        } catch (SolveCancelledException e) {
+            return Double.NaN;
+        } finally {
+            metrics.recordPhase("topDown.total", System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Función auxiliar para la optimización Top-Down con memoización.
+     * 
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param index Índice del producto actual.
+     * @param memo Almacén de memoización para guardar resultados parciales.
+     * @param poll Consulta periódica de la señal de cancelación, que avanza con cada estado nuevo (null si no hay límite).
+     * @return El valor máximo de la optimización Top-Down.
+     */
+    private double topDownHelper(Product[] products, double capacity, double budget, 
+                                 int index, MemoStore memo, CancellationPoll poll) {
+        // Caso base: si no hay más productos o se alcanza el límite de capacidad o presupuesto
+        if (index >= products.length || capacity <= 0 || budget <= 0) {
+            return 0;
+        }
+
+        // Verificar si ya se ha calculado el valor para este estado (NaN indica que no existe,
+        // de modo que los estados cuyo valor es cero tampoco se recalculan)
+        double cached = memo.get(index, capacity, budget);
+        metrics.memoLookup(!Double.isNaN(cached));
+        if (!Double.isNaN(cached)) {
+            return cached;
+        }
+        if (poll != null) {
+            poll.step();
+        }
+
+        Product currentProduct = products[index];
+        
+        // Si el producto no se puede incluir por exceder capacidad o presupuesto
+        if (currentProduct.getWeight() > capacity || currentProduct.getValue() > budget) {
+            return topDownHelper(products, capacity, budget, index + 1, memo, poll);
+        }
+
+        // Calcular el valor máximo considerando incluir o excluir el producto
+        double includeProduct = currentProduct.getValue() + 
+            topDownHelper(
+                products, 
+                capacity - currentProduct.getWeight(), 
+                budget - currentProduct.getValue(), 
+                index + 1, 
+                memo,
+                poll
+            );
+        
+        double excludeProduct = topDownHelper(products, capacity, budget, index + 1, memo, poll);
+
+        // Almacenar el valor máximo en el almacén de memoización
+        double best = Math.max(includeProduct, excludeProduct);
+        memo.put(index, capacity, budget, best);
+        return best;
+    }
+
+    /**
+     * Consulta de la señal de cancelación de una resolución Top-Down cada 1024 estados nuevos, como en
+     * {@link BranchAndBoundSolver}, para no leer el reloj en cada estado.
+     */
+    private static final class CancellationPoll {
+
+        private static final long CHECK_MASK = (1 << 10) - 1; // La señal se consulta cada 1024 estados
+
+        private final CancellationToken token; // Señal de cancelación o plazo
+        private long steps; // Estados nuevos calculados hasta ahora
+
+        CancellationPoll(CancellationToken token) {
+            this.token = token;
+        }
+
+        /**
+         * Cuenta un estado nuevo y, cada 1024 estados (empezando por el primero), consulta la señal.
+         *
+         * @throws SolveCancelledException Si la señal se canceló.
+         */
+        void step() {
+            if ((steps++ & CHECK_MASK) == 0 && token.isCancelled()) {
+                throw new SolveCancelledException();
+            }
+        }
+    }
+
+    /**
+     * Señala que una resolución Top-Down se detuvo por su señal de cancelación.
+     */
+    private static final class SolveCancelledException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        SolveCancelledException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package services;
+
+/**
+ * Núcleo de actualización de una fila de la tabla de Programación Dinámica.
+ * Calcula dp[i][w] = max(dp[i-1][w], valor + dp[i-1][w - peso]) con la misma
+ * aritmética que {@link InventoryOptimizationService#bottomUpOptimization}.
+ * Si la clase services.VectorRowKernel (fuente en src-vector, compilada aparte) está en el classpath y la
+ * JVM se inició con --add-modules jdk.incubator.vector, las columnas se procesan con instrucciones SIMD;
+ * si no, se usa el ciclo escalar. Ambas versiones
+ * producen exactamente los mismos valores y decisiones.
+ */
+final class KnapsackRowKernel {
+
+    /** Propiedad del sistema que fuerza el ciclo escalar cuando vale "escalar". */
+    static final String KERNEL_PROPERTY = "aed.u3.kernel";
+
+    // Implementación vectorizada, o null si el módulo no está disponible o se forzó el ciclo escalar
+    private static final RowUpdate VECTOR = loadVectorKernel();
+
+    private KnapsackRowKernel() {
+    }
+
+    /**
+     * Actualización de un tramo de columnas donde el producto cabe.
+     */
+    interface RowUpdate {
+
+        /**
+         * Calcula las columnas [from, to] de la fila actual, todas con from mayor o igual al desplazamiento.
+         *
+         * @param previous Fila anterior de la tabla (dp[i-1]).
+         * @param current Fila que se está calculando (dp[i]).
+         * @param value Valor del producto de la fila.
+         * @param shift Columnas que ocupa el producto.
+         * @param decisions Matriz de decisiones a completar, o null.
+         * @param row Fila de la matriz de decisiones correspondiente al producto.
+         * @param from Primera columna a calcular.
+         * @param to Última columna a calcular (inclusive).
+         */
+        void update(double[] previous, double[] current, double value, int shift,
+                    DecisionMatrix decisions, int row, int from, int to);
+    }
+
+    /**
+     * Indica si las filas se calculan con instrucciones SIMD.
+     *
+     * @return true si se cargó el núcleo vectorizado.
+     */
+    static boolean isVectorized() {
+        return VECTOR != null;
+    }
+
+    /**
+     * Calcula el desplazamiento entero equivalente a (int)(w - peso) para capacidades enteras.
+     *
+     * @param weight Peso del producto.
+     * @return El número de columnas que ocupa el producto en la tabla.
+     */
+    static int shiftOf(double weight) {
+        return weight <= 0 ? 0 : (int) Math.ceil(weight);
+    }
+
+    /**
+     * Llena las columnas [from, to] de la fila actual a partir de la fila anterior.
+     * Si se proporciona una matriz de decisiones, marca las celdas donde incluir el producto mejora el valor.
+     *
+     * @param previous Fila anterior de la tabla (dp[i-1]).
+     * @param current Fila que se está calculando (dp[i]).
+     * @param value Valor del producto de la fila.
+     * @param shift Columnas que ocupa el producto (ver {@link #shiftOf(double)}).
+     * @param usable Indica si el producto respeta el presupuesto.
+     * @param decisions Matriz de decisiones a completar, o null si no se requiere reconstrucción.
+     * @param row Fila de la matriz de decisiones correspondiente al producto.
+     * @param from Primera columna a calcular (mayor o igual a 1).
+     * @param to Última columna a calcular (inclusive).
+     */
+    static void fillRow(double[] previous, double[] current, double value, int shift, boolean usable,
+                        DecisionMatrix decisions, int row, int from, int to) {
+        // Columnas donde el producto no cabe o excede el presupuesto: se copia la fila anterior
+        int start = usable ? Math.max(from, shift) : to + 1;
+        int copyEnd = Math.min(start, to + 1);
+        if (copyEnd > from) {
+            System.arraycopy(previous, from, current, from, copyEnd - from);
+        }
+
+        if (VECTOR != null) {
+            VECTOR.update(previous, current, value, shift, decisions, row, start, to);
+        } else {
+            updateScalar(previous, current, value, shift, decisions, row, start, to);
+        }
+    }
+
+    /**
+     * Calcula las columnas [from, to] una por una; from debe ser mayor o igual al desplazamiento.
+     * Lo usa también el núcleo vectorizado para las columnas que no completan un vector.
+     *
+     * @param previous Fila anterior de la tabla (dp[i-1]).
+     * @param current Fila que se está calculando (dp[i]).
+     * @param value Valor del producto de la fila.
+     * @param shift Columnas que ocupa el producto.
+     * @param decisions Matriz de decisiones a completar, o null.
+     * @param row Fila de la matriz de decisiones correspondiente al producto.
+     * @param from Primera columna a calcular.
+     * @param to Última columna a calcular (inclusive).
+     */
+    static void updateScalar(double[] previous, double[] current, double value, int shift,
+                             DecisionMatrix decisions, int row, int from, int to) {
+        for (int w = from; w <= to; w++) {
+            double best = Math.max(previous[w], value + previous[w - shift]);
+            current[w] = best;
+            if (decisions != null && best != previous[w]) {
+                decisions.set(row, w);
+            }
+        }
+    }
+
+    /**
+     * Carga el núcleo vectorizado por reflexión, para que esta clase no dependa del módulo incubado.
+     *
+     * @return El núcleo vectorizado, o null si no está disponible o la propiedad {@value #KERNEL_PROPERTY} vale "escalar".
+     */
+    private static RowUpdate loadVectorKernel() {
+        if ("escalar".equals(System.getProperty(KERNEL_PROPERTY))) {
+            return null;
+        }
+        try {
+            return (RowUpdate)Class.forName("services.VectorRowKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+            // Sin la clase compilada, sin --add-modules jdk.incubator.vector o sin soporte SIMD útil se usa el ciclo escalar
+            return null;
+        }
+    }
+}
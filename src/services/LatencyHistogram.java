@@ -0,0 +1,124 @@
+package services;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma concurrente de duraciones con intervalos log-lineales: cada potencia de dos se divide en 8 intervalos,
+ * por lo que un percentil se reporta con un error relativo menor al 12,5 %. Registrar una medición cuesta
+ * un par de operaciones atómicas y no reserva memoria.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3; // Intervalos por potencia de dos: 2^3
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // Número de intervalos por potencia de dos
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2; // Valores menores se registran de forma exacta
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - 4) * SUB_BUCKETS; // Intervalos para todo el rango de long
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS); // Mediciones por intervalo
+    private final LongAdder total = new LongAdder(); // Suma de todas las mediciones
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0); // Medición máxima
+
+    /**
+     * Registra una medición.
+     *
+     * @param nanos Duración en nanosegundos (los valores negativos se registran como cero).
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Obtiene el número de mediciones registradas.
+     *
+     * @return El número de mediciones.
+     */
+    long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Obtiene la suma de las mediciones.
+     *
+     * @return La suma en nanosegundos.
+     */
+    long total() {
+        return total.sum();
+    }
+
+    /**
+     * Obtiene la medición máxima.
+     *
+     * @return El máximo en nanosegundos.
+     */
+    long max() {
+        return max.get();
+    }
+
+    /**
+     * Calcula un percentil como el límite superior del intervalo que lo contiene (sin superar el máximo).
+     *
+     * @param percentile Percentil entre 0 y 100.
+     * @return El percentil en nanosegundos, o 0 si no hay mediciones.
+     */
+    long percentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long)Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max());
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Calcula el intervalo de un valor.
+     *
+     * @param value Valor no negativo.
+     * @return El índice del intervalo.
+     */
+    private static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int)value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Calcula el mayor valor que pertenece a un intervalo.
+     *
+     * @param bucket Índice del intervalo.
+     * @return El límite superior del intervalo.
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 4;
+        int sub = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (1L << exponent) + sub * width;
+        return lower + width - 1;
+    }
+}
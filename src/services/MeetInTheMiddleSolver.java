@@ -0,0 +1,326 @@
+package services;
+
+import models.InventoryOptimizationResult;
+import models.Product;
+import models.ProductSelection;
+import java.util.*;
+
+/**
+ * Solucionador exacto por encuentro a mitad de camino (Meet in the Middle).
+ * Divide los productos en dos mitades, enumera los subconjuntos factibles de cada una y combina
+ * cada subconjunto de la primera mitad con el mejor subconjunto compatible de la segunda mediante
+ * búsqueda binaria. El tiempo depende solo del número de productos (del orden de 2^(n/2)) y no de
+ * la capacidad, por lo que admite capacidades enormes o decimales. Descuenta el presupuesto gastado
+ * igual que {@link InventoryOptimizationService#recursiveOptimization}.
+ */
+public class MeetInTheMiddleSolver {
+
+    /** Número máximo de productos candidatos que admite el solucionador. */
+    public static final int MAX_PRODUCTS = 50;
+
+    /**
+     * Resuelve el problema de optimización combinando las dos mitades de productos.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult solve(Product[] products, double capacity, double budget) {
+        // Solo participan los productos que pueden incluirse por sí solos
+        List<Product> candidates = new ArrayList<>();
+        double totalValue = 0;
+        for (Product product : products) {
+            if (product.getValue() > 0 && product.getWeight() <= capacity && product.getValue() <= budget) {
+                candidates.add(product);
+                totalValue += product.getValue();
+            }
+        }
+        if (candidates.size() > MAX_PRODUCTS) {
+            throw new IllegalArgumentException(
+                "El encuentro a mitad de camino admite hasta " + MAX_PRODUCTS + " productos y se recibieron "
+                + candidates.size());
+        }
+
+        Product[] items = candidates.toArray(new Product[0]);
+        int half = items.length / 2;
+        // Si la suma de todos los valores cabe en el presupuesto, solo la capacidad restringe la combinación
+        boolean budgetBinding = totalValue > budget;
+
+        SubsetList first = enumerate(items, 0, half, capacity, budget, false);
+        SubsetList second = enumerate(items, half, items.length - half, capacity, budget, !budgetBinding);
+
+        int[] best = budgetBinding
+            ? combineWithBudget(first, second, capacity, budget)
+            : combineByWeight(first, second, capacity);
+
+        // Reconstrucción de la solución a partir de las máscaras de ambas mitades
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        double value = 0;
+        long mask = first.mask[best[0]] | ((long) second.mask[best[1]] << half);
+        for (int i = 0; i < items.length; i++) {
+            if ((mask & (1L << i)) != 0) {
+                selectedProducts.add(new ProductSelection(items[i], 1.0));
+                remainingCapacity -= items[i].getWeight();
+                value += items[i].getValue();
+            }
+        }
+        return new InventoryOptimizationResult(value, selectedProducts, remainingCapacity);
+    }
+
+    /**
+     * Combina ambas mitades cuando el presupuesto no restringe: la segunda mitad es una lista de
+     * Pareto ordenada por peso (valores estrictamente crecientes), así que el mejor complemento
+     * de cada subconjunto es el último elemento cuyo peso cabe en la capacidad restante.
+     *
+     * @param first Subconjuntos de la primera mitad.
+     * @param second Lista de Pareto de la segunda mitad.
+     * @param capacity Capacidad máxima del inventario.
+     * @return Las posiciones del mejor par en cada lista.
+     */
+    private int[] combineByWeight(SubsetList first, SubsetList second, double capacity) {
+        int[] best = new int[2];
+        double bestValue = -1;
+        for (int a = 0; a < first.size; a++) {
+            int b = lastWithWeightAtMost(second, capacity - first.weight[a]);
+            double value = first.value[a] + second.value[b];
+            if (value > bestValue) {
+                bestValue = value;
+                best[0] = a;
+                best[1] = b;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Combina ambas mitades cuando el presupuesto restringe. Los subconjuntos de la primera mitad
+     * se procesan en orden de presupuesto restante creciente; los de la segunda se incorporan en orden
+     * de valor a un árbol de Fenwick indexado por peso que responde el máximo valor con peso acotado.
+     *
+     * @param first Subconjuntos de la primera mitad.
+     * @param second Subconjuntos de la segunda mitad, ordenados por peso.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return Las posiciones del mejor par en cada lista.
+     */
+    private int[] combineWithBudget(SubsetList first, SubsetList second, double capacity, double budget) {
+        int[] firstByValueDesc = sortedIndices(first.value, first.size, true);
+        int[] secondByValue = sortedIndices(second.value, second.size, false);
+        int[] tree = new int[second.size + 1];
+        Arrays.fill(tree, -1);
+
+        int[] best = new int[2];
+        double bestValue = -1;
+        int inserted = 0;
+        for (int a : firstByValueDesc) {
+            double remainingBudget = budget - first.value[a];
+            while (inserted < second.size && second.value[secondByValue[inserted]] <= remainingBudget) {
+                fenwickInsert(tree, second, secondByValue[inserted]);
+                inserted++;
+            }
+            int limit = lastWithWeightAtMost(second, capacity - first.weight[a]);
+            int b = fenwickQuery(tree, second, limit);
+            if (b >= 0 && first.value[a] + second.value[b] > bestValue) {
+                bestValue = first.value[a] + second.value[b];
+                best[0] = a;
+                best[1] = b;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Enumera los subconjuntos factibles de un rango de productos, ordenados por peso.
+     * Cada producto duplica la lista mezclando la lista actual con su copia desplazada por el producto,
+     * lo que mantiene el orden sin necesidad de ordenar al final.
+     *
+     * @param items Productos candidatos.
+     * @param offset Primer producto del rango.
+     * @param count Cantidad de productos del rango.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param pareto Indica si se descartan los subconjuntos dominados (más pesados y de menor o igual valor).
+     * @return La lista de subconjuntos.
+     */
+    private SubsetList enumerate(Product[] items, int offset, int count, double capacity, double budget,
+                                 boolean pareto) {
+        SubsetList list = new SubsetList(1);
+        list.add(0, 0, 0, false);
+
+        for (int j = 0; j < count; j++) {
+            double itemWeight = items[offset + j].getWeight();
+            double itemValue = items[offset + j].getValue();
+            int bit = 1 << j;
+            SubsetList merged = new SubsetList(list.size * 2);
+
+            int plain = 0;
+            int shifted = nextFeasible(list, 0, itemWeight, itemValue, capacity, budget);
+            while (plain < list.size || shifted < list.size) {
+                boolean takeShifted = plain >= list.size
+                    || (shifted < list.size && list.weight[shifted] + itemWeight < list.weight[plain]);
+                if (takeShifted) {
+                    merged.add(list.weight[shifted] + itemWeight, list.value[shifted] + itemValue,
+                        list.mask[shifted] | bit, pareto);
+                    shifted = nextFeasible(list, shifted + 1, itemWeight, itemValue, capacity, budget);
+                } else {
+                    merged.add(list.weight[plain], list.value[plain], list.mask[plain], pareto);
+                    plain++;
+                }
+            }
+            list = merged;
+        }
+        return list;
+    }
+
+    /**
+     * Busca el siguiente subconjunto al que se le puede agregar el producto sin exceder los límites.
+     *
+     * @param list Lista de subconjuntos.
+     * @param from Posición desde la que se busca.
+     * @param itemWeight Peso del producto a agregar.
+     * @param itemValue Valor del producto a agregar.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return La posición encontrada, o el tamaño de la lista si no hay más.
+     */
+    private int nextFeasible(SubsetList list, int from, double itemWeight, double itemValue,
+                             double capacity, double budget) {
+        for (int i = from; i < list.size; i++) {
+            if (list.weight[i] + itemWeight > capacity) {
+                return list.size; // La lista está ordenada por peso: ninguno de los siguientes cabe
+            }
+            if (list.value[i] + itemValue <= budget) {
+                return i;
+            }
+        }
+        return list.size;
+    }
+
+    /**
+     * Búsqueda binaria del último subconjunto cuyo peso no supera el límite.
+     *
+     * @param list Lista de subconjuntos ordenada por peso.
+     * @param limit Peso máximo permitido.
+     * @return La posición encontrada (el subconjunto vacío, en la posición 0, siempre cabe).
+     */
+    private int lastWithWeightAtMost(SubsetList list, double limit) {
+        int low = 0;
+        int high = list.size - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (list.weight[mid] <= limit) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Registra un subconjunto en el árbol de Fenwick de máximos por posición de peso.
+     *
+     * @param tree Árbol de Fenwick con la posición del mejor subconjunto de cada rango.
+     * @param list Lista de subconjuntos.
+     * @param position Posición del subconjunto en la lista.
+     */
+    private void fenwickInsert(int[] tree, SubsetList list, int position) {
+        for (int i = position + 1; i < tree.length; i += i & -i) {
+            if (tree[i] < 0 || list.value[tree[i]] < list.value[position]) {
+                tree[i] = position;
+            }
+        }
+    }
+
+    /**
+     * Consulta el subconjunto de mayor valor registrado en las posiciones [0, limit].
+     *
+     * @param tree Árbol de Fenwick con la posición del mejor subconjunto de cada rango.
+     * @param list Lista de subconjuntos.
+     * @param limit Última posición a considerar.
+     * @return La posición del mejor subconjunto, o -1 si no hay ninguno registrado.
+     */
+    private int fenwickQuery(int[] tree, SubsetList list, int limit) {
+        int best = -1;
+        for (int i = limit + 1; i > 0; i -= i & -i) {
+            if (tree[i] >= 0 && (best < 0 || list.value[tree[i]] > list.value[best])) {
+                best = tree[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Ordena las posiciones de un arreglo según sus claves mediante ordenamiento por mezcla.
+     *
+     * @param keys Claves a comparar.
+     * @param size Número de posiciones a ordenar.
+     * @param descending Indica si el orden es descendente.
+     * @return Las posiciones ordenadas.
+     */
+    private static int[] sortedIndices(double[] keys, int size, boolean descending) {
+        int[] order = new int[size];
+        int[] buffer = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        for (int width = 1; width < size; width <<= 1) {
+            for (int low = 0; low < size - width; low += width << 1) {
+                int mid = low + width;
+                int high = Math.min(low + (width << 1), size);
+                int left = low;
+                int right = mid;
+                for (int k = low; k < high; k++) {
+                    boolean takeLeft = right >= high || (left < mid
+                        && (descending ? keys[order[left]] >= keys[order[right]]
+                                       : keys[order[left]] <= keys[order[right]]));
+                    buffer[k] = takeLeft ? order[left++] : order[right++];
+                }
+                System.arraycopy(buffer, low, order, low, high - low);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Lista de subconjuntos almacenada en arreglos primitivos paralelos.
+     */
+    private static final class SubsetList {
+
+        private double[] weight; // Peso total de cada subconjunto
+        private double[] value; // Valor total de cada subconjunto
+        private int[] mask; // Productos del subconjunto (un bit por producto de la mitad)
+        private int size; // Número de subconjuntos almacenados
+
+        /**
+         * Constructor que reserva espacio para la cantidad indicada de subconjuntos.
+         *
+         * @param capacity Capacidad inicial de la lista.
+         */
+        SubsetList(int capacity) {
+            weight = new double[capacity];
+            value = new double[capacity];
+            mask = new int[capacity];
+        }
+
+        /**
+         * Agrega un subconjunto al final de la lista.
+         *
+         * @param w Peso total del subconjunto.
+         * @param v Valor total del subconjunto.
+         * @param m Máscara de productos del subconjunto.
+         * @param pareto Indica si se descarta el subconjunto cuando no mejora el valor del anterior.
+         */
+        void add(double w, double v, int m, boolean pareto) {
+            if (pareto && size > 0 && v <= value[size - 1]) {
+                return;
+            }
+            weight[size] = w;
+            value[size] = v;
+            mask[size] = m;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package services;
+
+/**
+ * Almacén de resultados parciales para la optimización Top-Down (memoización).
+ * Cada estado se identifica por el índice del producto actual, la capacidad restante y el presupuesto restante.
+ */
+public interface MemoStore {
+
+    /**
+     * Obtiene el valor almacenado para un estado.
+     *
+     * @param index Índice del producto actual.
+     * @param capacity Capacidad restante.
+     * @param budget Presupuesto restante.
+     * @return El valor almacenado, o {@link Double#NaN} si el estado aún no se ha calculado.
+     */
+    double get(int index, double capacity, double budget);
+
+    /**
+     * Almacena el valor calculado para un estado.
+     *
+     * @param index Índice del producto actual.
+     * @param capacity Capacidad restante.
+     * @param budget Presupuesto restante.
+     * @param value Valor máximo obtenido desde ese estado.
+     */
+    void put(int index, double capacity, double budget, double value);
+
+    /**
+     * Obtiene el número de estados almacenados.
+     *
+     * @return El número de estados almacenados.
+     */
+    int size();
+}
@@ -0,0 +1,235 @@
+package services;
+
+import models.InventoryOptimizationResult;
+import models.Product;
+import models.ProductSelection;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Solucionador mixto para catálogos con productos divisibles e indivisibles.
+ * Los productos divisibles se resuelven con el método voraz fraccionario (por densidad de valor), cuyo
+ * valor F(c) es una función cóncava de la capacidad c que se les asigna. Los indivisibles pasan por la
+ * Programación Dinámica 0/1, que solo recorre esos productos, y el óptimo se obtiene combinando en tiempo
+ * lineal la última fila de la tabla con F sobre la capacidad sobrante.
+ * Si todos los productos son divisibles, la tabla no se construye: el producto crítico se encuentra por
+ * selección de la mediana ponderada en tiempo lineal esperado (o por ordenamiento en catálogos pequeños).
+ * Las cantidades devueltas son fraccionarias y exactas. Como en {@link InventoryOptimizationService#bottomUpOptimization},
+ * el presupuesto descarta los productos cuyo valor lo excede y los pesos indivisibles ocupan columnas enteras.
+ */
+public class MixedFractionalSolver {
+
+    private static final int SELECTION_THRESHOLD = 4096; // Productos divisibles a partir de los cuales se usa la selección lineal
+
+    /**
+     * Resuelve el problema de optimización combinando la parte fraccionaria y la parte 0/1.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, con cantidades fraccionarias para los productos divisibles.
+     */
+    public InventoryOptimizationResult solve(Product[] products, double capacity, double budget) {
+        List<Product> divisible = new ArrayList<>();
+        List<Product> whole = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getValue() > 0 && product.getValue() <= budget) {
+                (product.isCanBeSplit() ? divisible : whole).add(product);
+            }
+        }
+        if (capacity < 0) {
+            return new InventoryOptimizationResult(0, new ArrayList<>(), capacity);
+        }
+
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        if (whole.isEmpty()) {
+            // Solo productos divisibles: no hace falta la tabla
+            if (divisible.size() >= SELECTION_THRESHOLD) {
+                remainingCapacity = selectFractional(divisible, capacity, selectedProducts);
+            } else {
+                divisible.sort(Comparator.comparingDouble(MixedFractionalSolver::densityOf).reversed());
+                remainingCapacity = fillFractional(divisible, capacity, selectedProducts);
+            }
+            return new InventoryOptimizationResult(totalValueOf(selectedProducts), selectedProducts, remainingCapacity);
+        }
+
+        // Tabla 0/1 solo sobre los productos indivisibles
+        int n = whole.size();
+        int maxCapacity = (int)capacity;
+        double[] previous = new double[maxCapacity + 1];
+        double[] current = new double[maxCapacity + 1];
+        DecisionMatrix decisions = new DecisionMatrix(n, maxCapacity + 1);
+        for (int i = 0; i < n; i++) {
+            Product product = whole.get(i);
+            KnapsackRowKernel.fillRow(
+                previous, current,
+                product.getValue(),
+                KnapsackRowKernel.shiftOf(product.getWeight()),
+                true,
+                decisions, i, 1, maxCapacity
+            );
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        // Combinación: max_w fila[w] + F(capacidad - w), con F evaluada por un puntero que solo retrocede
+        divisible.sort(Comparator.comparingDouble(MixedFractionalSolver::densityOf).reversed());
+        int m = divisible.size();
+        double[] prefixWeight = new double[m + 1];
+        double[] prefixValue = new double[m + 1];
+        for (int k = 0; k < m; k++) {
+            prefixWeight[k + 1] = prefixWeight[k] + Math.max(0, divisible.get(k).getWeight());
+            prefixValue[k + 1] = prefixValue[k] + divisible.get(k).getValue();
+        }
+        int bestSplit = 0;
+        double bestValue = -1;
+        int full = m;
+        for (int w = 0; w <= maxCapacity; w++) {
+            double room = capacity - w;
+            while (full > 0 && prefixWeight[full] > room) {
+                full--;
+            }
+            double value = previous[w] + prefixValue[full];
+            if (full < m) {
+                Product partial = divisible.get(full);
+                value += partial.getValue() * ((room - prefixWeight[full]) / partial.getWeight());
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                bestSplit = w;
+            }
+        }
+
+        // Productos indivisibles de la columna elegida y relleno fraccionario con la capacidad realmente sobrante
+        int w = bestSplit;
+        for (int i = n - 1; i >= 0; i--) {
+            if (decisions.get(i, w)) {
+                Product selectedProduct = whole.get(i);
+                selectedProducts.add(new ProductSelection(selectedProduct, 1.0));
+                remainingCapacity -= selectedProduct.getWeight();
+                w -= KnapsackRowKernel.shiftOf(selectedProduct.getWeight());
+            }
+        }
+        remainingCapacity = fillFractional(divisible, remainingCapacity, selectedProducts);
+        return new InventoryOptimizationResult(totalValueOf(selectedProducts), selectedProducts, remainingCapacity);
+    }
+
+    /**
+     * Llena la capacidad con productos divisibles ya ordenados por densidad descendente,
+     * tomando una fracción del primero que no cabe completo.
+     *
+     * @param sorted Productos divisibles ordenados por densidad descendente.
+     * @param capacity Capacidad disponible.
+     * @param selectedProducts Lista donde se agregan las selecciones.
+     * @return La capacidad restante.
+     */
+    private static double fillFractional(List<Product> sorted, double capacity, List<ProductSelection> selectedProducts) {
+        for (Product product : sorted) {
+            if (capacity <= 0 && product.getWeight() > 0) {
+                break;
+            }
+            double quantity = product.getWeight() <= capacity ? 1.0 : capacity / product.getWeight();
+            selectedProducts.add(new ProductSelection(product, quantity));
+            capacity -= product.getWeight() * quantity;
+        }
+        return Math.max(0, capacity);
+    }
+
+    /**
+     * Resuelve la parte fraccionaria sin ordenar: particiona los productos alrededor de la densidad de un pivote
+     * aleatorio y descarta en cada paso la parte que queda entera dentro o entera fuera de la capacidad
+     * (selección de la mediana ponderada). El tiempo esperado es lineal.
+     *
+     * @param items Productos divisibles.
+     * @param capacity Capacidad disponible.
+     * @param selectedProducts Lista donde se agregan las selecciones.
+     * @return La capacidad restante.
+     */
+    private static double selectFractional(List<Product> items, double capacity, List<ProductSelection> selectedProducts) {
+        int count = items.size();
+        Product[] products = items.toArray(new Product[0]);
+        double[] density = new double[count];
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            density[i] = densityOf(products[i]);
+            order[i] = i;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int low = 0;
+        int high = count;
+        while (low < high && capacity > 0) {
+            // Partición en tres grupos: densidad mayor [low, lt), igual [lt, gt) y menor [gt, high)
+            double pivot = density[order[low + random.nextInt(high - low)]];
+            int lt = low;
+            int gt = high;
+            int i = low;
+            while (i < gt) {
+                double d = density[order[i]];
+                if (d > pivot) {
+                    swap(order, i++, lt++);
+                } else if (d < pivot) {
+                    swap(order, i, --gt);
+                } else {
+                    i++;
+                }
+            }
+
+            double greaterWeight = 0;
+            for (int k = low; k < lt; k++) {
+                greaterWeight += Math.max(0, products[order[k]].getWeight());
+            }
+            if (greaterWeight > capacity) {
+                // El producto crítico tiene mayor densidad que el pivote
+                high = lt;
+                continue;
+            }
+
+            // Los de mayor densidad caben completos; luego los de densidad igual, el último quizás en parte
+            for (int k = low; k < lt; k++) {
+                selectedProducts.add(new ProductSelection(products[order[k]], 1.0));
+            }
+            capacity -= greaterWeight;
+            for (int k = lt; k < gt && capacity > 0; k++) {
+                Product product = products[order[k]];
+                double quantity = product.getWeight() <= capacity ? 1.0 : capacity / product.getWeight();
+                selectedProducts.add(new ProductSelection(product, quantity));
+                capacity -= product.getWeight() * quantity;
+            }
+            low = gt;
+        }
+        return Math.max(0, capacity);
+    }
+
+    private static void swap(int[] order, int a, int b) {
+        int tmp = order[a];
+        order[a] = order[b];
+        order[b] = tmp;
+    }
+
+    /**
+     * Suma el valor de las selecciones, proporcional a la cantidad de cada una.
+     *
+     * @param selectedProducts Selecciones realizadas.
+     * @return El valor total.
+     */
+    private static double totalValueOf(List<ProductSelection> selectedProducts) {
+        double total = 0;
+        for (ProductSelection selection : selectedProducts) {
+            total += selection.getProduct().getValue() * selection.getQuantity();
+        }
+        return total;
+    }
+
+    /**
+     * Calcula la densidad de valor de un producto.
+     *
+     * @param product El producto.
+     * @return El valor por unidad de peso (infinito para productos sin peso).
+     */
+    private static double densityOf(Product product) {
+        return product.getWeight() > 0 ? product.getValue() / product.getWeight() : Double.POSITIVE_INFINITY;
+    }
+}
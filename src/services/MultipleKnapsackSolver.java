@@ -0,0 +1,637 @@
+package services;
+
+import models.InventoryOptimizationResult;
+import models.OptimizationScenario;
+import models.Product;
+import models.ProductSelection;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Solucionador de varios depósitos (mochila múltiple): reparte un mismo catálogo entre varios depósitos o
+ * camiones, cada uno con su capacidad y su presupuesto, asignando cada producto a lo sumo a uno de ellos.
+ * En cada depósito el presupuesto gastado se descuenta, como en {@link InventoryOptimizationService#recursiveOptimization}.
+ * Primero ejecuta en paralelo una cartera de heurísticas (asignación voraz con distintos órdenes de productos
+ * y de depósitos, seguida de una búsqueda local de inserciones e intercambios) y pule la mejor reoptimizando
+ * cada depósito con Programación Dinámica sobre una ventana de productos.
+ * Si hay pocos productos candidatos, parte de esa solución y busca el óptimo por Ramificación y Poda; la cota
+ * de cada rama es la relajación fraccionaria de todos los depósitos juntos (capacidades y presupuestos
+ * restantes sumados).
+ * Cada instancia resuelve un problema a la vez.
+ */
+public class MultipleKnapsackSolver {
+
+    /** Número de productos candidatos hasta el cual se busca el óptimo. */
+    public static final int DEFAULT_EXACT_MAX_PRODUCTS = 24;
+
+    /** Nodos máximos de la búsqueda exacta antes de quedarse con la mejor solución conocida. */
+    public static final long DEFAULT_NODE_LIMIT = 20_000_000;
+
+    private static final int PORTFOLIO_SIZE = 16; // Heurísticas de la cartera (fijo, para que el resultado no dependa de los núcleos)
+    private static final int SWAP_CANDIDATES = 64; // Productos sin asignar que la búsqueda local intenta intercambiar por ronda
+    private static final int MAX_ROUNDS = 50; // Rondas máximas de búsqueda local
+    private static final int WINDOW = 64; // Productos de cada lado de la ventana que se reoptimiza por depósito
+    private static final long WINDOW_MAX_CELLS = 1L << 22; // Celdas máximas de la tabla de una ventana
+    private static final long FILL_MAX_CELLS = 1L << 26; // Celdas máximas de la tabla que llena un depósito completo
+    private static final double ORDER_NOISE = 0.3; // Perturbación relativa de la densidad en los órdenes aleatorios
+    private static final double BOUND_SLACK = 1e-12; // Holgura relativa para absorber errores de redondeo en la cota
+
+    private final ForkJoinPool pool; // Grupo de hilos que ejecuta la cartera de heurísticas
+    private final int exactMaxProducts; // Productos candidatos hasta los cuales se busca el óptimo
+    private final long nodeLimit; // Nodos máximos de la búsqueda exacta
+
+    private Product[] sorted; // Productos candidatos ordenados por densidad descendente
+    private double[] weights; // Pesos en el orden de exploración
+    private double[] values; // Valores en el orden de exploración
+    private double[] prefixWeight; // Suma acumulada de pesos (prefixWeight[i] = suma de los primeros i)
+    private double[] prefixValue; // Suma acumulada de valores
+    private double[] capacities; // Capacidad de cada depósito
+    private double[] budgets; // Presupuesto de cada depósito
+    private int[] twin; // Depósito anterior idéntico a cada depósito (-1 si no hay)
+    private int[] binOf; // Depósito de cada producto en la rama actual (-1 si no se incluye)
+    private int[] bestBinOf; // Depósito de cada producto en la mejor solución conocida
+    private int[] used; // Productos asignados a cada depósito en la rama actual
+    private double[] residualWeight; // Capacidad restante de cada depósito en la rama actual
+    private double[] residualBudget; // Presupuesto restante de cada depósito en la rama actual
+    private double totalResidualWeight; // Suma de las capacidades restantes
+    private double totalResidualBudget; // Suma de los presupuestos restantes
+    private double bestValue; // Valor de la mejor solución conocida
+    private long nodes; // Número de nodos explorados en la última resolución
+    private boolean stopped; // Indica si la búsqueda exacta alcanzó el límite de nodos
+    private boolean optimal; // Indica si la última solución es óptima
+
+    /**
+     * Constructor que utiliza el grupo de hilos común de la JVM y los límites por defecto.
+     */
+    public MultipleKnapsackSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_EXACT_MAX_PRODUCTS, DEFAULT_NODE_LIMIT);
+    }
+
+    /**
+     * Constructor que inicializa el grupo de hilos y los límites de la búsqueda exacta.
+     *
+     * @param pool Grupo de hilos que ejecuta la cartera de heurísticas.
+     * @param exactMaxProducts Productos candidatos hasta los cuales se busca el óptimo.
+     * @param nodeLimit Nodos máximos de la búsqueda exacta.
+     */
+    public MultipleKnapsackSolver(ForkJoinPool pool, int exactMaxProducts, long nodeLimit) {
+        this.pool = pool;
+        this.exactMaxProducts = exactMaxProducts;
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Reparte los productos entre los depósitos.
+     * Si un depósito no solicita la reconstrucción, su resultado solo contiene el valor total, como en
+     * {@link BatchOptimizationSolver}.
+     *
+     * @param products Array de productos disponibles.
+     * @param bins Depósitos, cada uno con su capacidad y su presupuesto.
+     * @return Un resultado por depósito, en el mismo orden de los depósitos.
+     */
+    public List<InventoryOptimizationResult> solve(Product[] products, List<OptimizationScenario> bins) {
+        prepare(products, bins);
+
+        // Cartera de heurísticas en paralelo; ante empates gana la de menor índice
+        List<ForkJoinTask<Assignment>> tasks = new ArrayList<>();
+        for (int seed = 0; seed < PORTFOLIO_SIZE; seed++) {
+            int taskSeed = seed;
+            tasks.add(pool.submit(() -> heuristic(taskSeed)));
+        }
+        Assignment best = null;
+        for (ForkJoinTask<Assignment> task : tasks) {
+            Assignment assignment = task.join();
+            if (best == null || assignment.value > best.value) {
+                best = assignment;
+            }
+        }
+        best = polish(best);
+        bestBinOf = best.binOf;
+        bestValue = best.value;
+
+        if (sorted.length <= exactMaxProducts) {
+            search(0, 0);
+            optimal = !stopped;
+        } else {
+            optimal = bestValue >= upperBound(0, 0);
+        }
+        return buildResults(bins);
+    }
+
+    /**
+     * Indica si la última solución es óptima: la búsqueda exacta terminó sin alcanzar el límite de nodos,
+     * o la solución heurística alcanzó la cota de la relajación fraccionaria.
+     *
+     * @return true si la última solución es óptima.
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    /**
+     * Obtiene el número de nodos explorados por la búsqueda exacta en la última resolución.
+     *
+     * @return El número de nodos visitados (0 si no se buscó el óptimo).
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Filtra los productos que no caben en ningún depósito y ordena el resto por densidad de valor.
+     *
+     * @param products Array de productos disponibles.
+     * @param bins Depósitos, cada uno con su capacidad y su presupuesto.
+     */
+    private void prepare(Product[] products, List<OptimizationScenario> bins) {
+        int k = bins.size();
+        capacities = new double[k];
+        budgets = new double[k];
+        twin = new int[k];
+        for (int b = 0; b < k; b++) {
+            OptimizationScenario bin = bins.get(b);
+            if (bin.getCapacity() < 0) {
+                throw new IllegalArgumentException("La capacidad de un depósito no puede ser negativa: " + bin.getCapacity());
+            }
+            capacities[b] = bin.getCapacity();
+            budgets[b] = bin.getBudget();
+            twin[b] = -1;
+            for (int previous = b - 1; previous >= 0 && twin[b] < 0; previous--) {
+                if (capacities[previous] == capacities[b] && budgets[previous] == budgets[b]) {
+                    twin[b] = previous;
+                }
+            }
+        }
+
+        List<Product> candidates = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getValue() > 0 && fitsSomeBin(product)) {
+                candidates.add(product);
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(MultipleKnapsackSolver::densityOf).reversed());
+
+        int n = candidates.size();
+        sorted = candidates.toArray(new Product[0]);
+        weights = new double[n];
+        values = new double[n];
+        prefixWeight = new double[n + 1];
+        prefixValue = new double[n + 1];
+        for (int i = 0; i < n; i++) {
+            weights[i] = Math.max(0, sorted[i].getWeight());
+            values[i] = sorted[i].getValue();
+            prefixWeight[i + 1] = prefixWeight[i] + weights[i];
+            prefixValue[i + 1] = prefixValue[i] + values[i];
+        }
+
+        binOf = new int[n];
+        Arrays.fill(binOf, -1);
+        used = new int[k];
+        residualWeight = capacities.clone();
+        residualBudget = budgets.clone();
+        totalResidualWeight = 0;
+        totalResidualBudget = 0;
+        for (int b = 0; b < k; b++) {
+            totalResidualWeight += Math.max(0, capacities[b]);
+            totalResidualBudget += Math.max(0, budgets[b]);
+        }
+        nodes = 0;
+        stopped = false;
+    }
+
+    /**
+     * Verifica si un producto cabe por sí solo en algún depósito.
+     *
+     * @param product Producto a verificar.
+     * @return true si cabe en la capacidad y el presupuesto de al menos un depósito.
+     */
+    private boolean fitsSomeBin(Product product) {
+        for (int b = 0; b < capacities.length; b++) {
+            if (product.getWeight() <= capacities[b] && product.getValue() <= budgets[b]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Heurística de la cartera: asignación voraz en un orden de productos y de depósitos que depende de la
+     * semilla, seguida de búsqueda local de inserciones e intercambios. Solo lee los datos del problema,
+     * por lo que varias heurísticas pueden ejecutarse a la vez.
+     *
+     * @param seed Semilla que determina los órdenes (0: densidad y depósitos de menor a mayor capacidad,
+     *             1: valor y depósitos de mayor a menor capacidad, 2: depósitos de mayor a menor capacidad
+     *             llenados uno a uno con Programación Dinámica sobre los productos sin asignar, si la tabla
+     *             no es demasiado grande, el resto: órdenes aleatorios).
+     * @return La asignación encontrada.
+     */
+    private Assignment heuristic(int seed) {
+        int n = sorted.length;
+        int k = capacities.length;
+        SplittableRandom random = new SplittableRandom(seed);
+
+        // Orden de los productos
+        Integer[] order = new Integer[n];
+        double[] key = new double[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            if (seed == 0 || seed == 2) {
+                key[i] = n - i; // Orden de densidad
+            } else if (seed == 1) {
+                key[i] = values[i];
+            } else {
+                key[i] = densityOf(sorted[i]) * (1 + ORDER_NOISE * (random.nextDouble() - 0.5));
+            }
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> key[i]).reversed());
+
+        // Orden de los depósitos
+        Integer[] binOrder = new Integer[k];
+        for (int b = 0; b < k; b++) {
+            binOrder[b] = b;
+        }
+        if (seed == 0) {
+            Arrays.sort(binOrder, Comparator.comparingDouble((Integer b) -> capacities[b]));
+        } else if (seed == 1 || seed == 2) {
+            Arrays.sort(binOrder, Comparator.comparingDouble((Integer b) -> capacities[b]).reversed());
+        } else {
+            for (int b = k - 1; b > 0; b--) {
+                int other = random.nextInt(b + 1);
+                Integer swap = binOrder[b];
+                binOrder[b] = binOrder[other];
+                binOrder[other] = swap;
+            }
+        }
+
+        int[] assigned = new int[n];
+        Arrays.fill(assigned, -1);
+        double[] freeWeight = capacities.clone();
+        double[] freeBudget = budgets.clone();
+        double value = 0;
+        if (seed == 2) {
+            for (int b : binOrder) {
+                value += refill(b, assigned, freeWeight, freeBudget, n, FILL_MAX_CELLS);
+            }
+        }
+        value += improve(order, binOrder, assigned, freeWeight, freeBudget, false);
+        return new Assignment(assigned, value);
+    }
+
+    /**
+     * Pule la mejor asignación de la cartera con búsqueda local que además reoptimiza cada depósito.
+     * Es la etapa más costosa de la búsqueda local, por eso se aplica solo a la mejor asignación.
+     *
+     * @param best Mejor asignación de la cartera.
+     * @return La asignación pulida.
+     */
+    private Assignment polish(Assignment best) {
+        int n = sorted.length;
+        int k = capacities.length;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Integer[] binOrder = new Integer[k];
+        for (int b = 0; b < k; b++) {
+            binOrder[b] = b;
+        }
+        Arrays.sort(binOrder, Comparator.comparingDouble((Integer b) -> capacities[b]));
+
+        int[] assigned = best.binOf.clone();
+        double[] freeWeight = capacities.clone();
+        double[] freeBudget = budgets.clone();
+        for (int i = 0; i < n; i++) {
+            if (assigned[i] >= 0) {
+                freeWeight[assigned[i]] -= weights[i];
+                freeBudget[assigned[i]] -= values[i];
+            }
+        }
+        double value = best.value + improve(order, binOrder, assigned, freeWeight, freeBudget, true);
+        return new Assignment(assigned, value);
+    }
+
+    /**
+     * Búsqueda local: repite inserciones, intercambios y, si se pide, la reoptimización de cada depósito,
+     * hasta que ninguna mejora el valor total.
+     *
+     * @param order Orden en que se consideran los productos.
+     * @param binOrder Orden en que se consideran los depósitos.
+     * @param assigned Depósito de cada producto (-1 si no se incluye); se actualiza.
+     * @param freeWeight Capacidad libre de cada depósito; se actualiza.
+     * @param freeBudget Presupuesto libre de cada depósito; se actualiza.
+     * @param refillBins true para reoptimizar también cada depósito (ver {@link #refill}).
+     * @return El aumento del valor total.
+     */
+    private double improve(Integer[] order, Integer[] binOrder, int[] assigned, double[] freeWeight,
+                           double[] freeBudget, boolean refillBins) {
+        int n = sorted.length;
+        int k = capacities.length;
+        double value = 0;
+
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            // Inserción: cada producto sin asignar va al primer depósito en el que cabe
+            for (int i : order) {
+                if (assigned[i] < 0) {
+                    for (int b : binOrder) {
+                        if (weights[i] <= freeWeight[b] && values[i] <= freeBudget[b]) {
+                            assigned[i] = b;
+                            freeWeight[b] -= weights[i];
+                            freeBudget[b] -= values[i];
+                            value += values[i];
+                            break;
+                        }
+                    }
+                }
+            }
+
+            // Intercambio: un producto sin asignar reemplaza a uno asignado, que se mueve a otro depósito
+            // si cabe o se descarta si vale menos
+            boolean improved = false;
+            int tried = 0;
+            for (int j : order) {
+                if (assigned[j] >= 0) {
+                    continue;
+                }
+                if (tried++ == SWAP_CANDIDATES) {
+                    break;
+                }
+                double bestGain = 0;
+                int bestOut = -1;
+                int bestTarget = -1;
+                for (int i = 0; i < n; i++) {
+                    int b = assigned[i];
+                    if (b < 0 || weights[j] > freeWeight[b] + weights[i] || values[j] > freeBudget[b] + values[i]) {
+                        continue;
+                    }
+                    double gain = values[j] - values[i];
+                    int target = -1;
+                    for (int c = 0; c < k; c++) {
+                        if (c != b && weights[i] <= freeWeight[c] && values[i] <= freeBudget[c]) {
+                            gain = values[j];
+                            target = c;
+                            break;
+                        }
+                    }
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        bestOut = i;
+                        bestTarget = target;
+                    }
+                }
+                if (bestOut >= 0) {
+                    int b = assigned[bestOut];
+                    freeWeight[b] += weights[bestOut] - weights[j];
+                    freeBudget[b] += values[bestOut] - values[j];
+                    assigned[j] = b;
+                    assigned[bestOut] = bestTarget;
+                    if (bestTarget >= 0) {
+                        freeWeight[bestTarget] -= weights[bestOut];
+                        freeBudget[bestTarget] -= values[bestOut];
+                    }
+                    value += bestGain;
+                    improved = true;
+                }
+            }
+
+            // Reoptimización: cada depósito rellena su espacio libre cambiando varios productos a la vez
+            if (refillBins) {
+                for (int b : binOrder) {
+                    double gain = refill(b, assigned, freeWeight, freeBudget, WINDOW, WINDOW_MAX_CELLS);
+                    if (gain > 0) {
+                        value += gain;
+                        improved = true;
+                    }
+                }
+            }
+            if (!improved) {
+                break;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Reoptimiza una ventana de un depósito: sus productos de menor densidad y los productos sin asignar de
+     * mayor densidad que podrían caber (hasta el número indicado) se resuelven juntos con Programación Dinámica sobre el espacio que
+     * ocupan más el espacio libre, como un intercambio de varios productos por varios.
+     * Los pesos se redondean hacia arriba y la capacidad hacia abajo, así que el resultado siempre cabe;
+     * la tabla solo filtra por presupuesto, por lo que la ventana se reoptimiza solo si cabe completa
+     * en el presupuesto disponible.
+     *
+     * @param bin Depósito a reoptimizar.
+     * @param assigned Depósito de cada producto (-1 si no se incluye); se actualiza.
+     * @param freeWeight Capacidad libre de cada depósito; se actualiza.
+     * @param freeBudget Presupuesto libre de cada depósito; se actualiza.
+     * @param candidates Número máximo de productos sin asignar en la ventana.
+     * @param maxCells Celdas máximas de la tabla; si la ventana las excede, no se reoptimiza.
+     * @return El aumento del valor total (0 si la ventana no mejora).
+     */
+    private double refill(int bin, int[] assigned, double[] freeWeight, double[] freeBudget, int candidates,
+                          long maxCells) {
+        int n = sorted.length;
+        int[] window = new int[(int)Math.min(n, (long)WINDOW + candidates)];
+        int size = 0;
+        double windowWeight = 0;
+        double windowValue = 0;
+        for (int i = n - 1; i >= 0 && size < WINDOW; i--) {
+            if (assigned[i] == bin) {
+                window[size++] = i;
+                windowWeight += weights[i];
+                windowValue += values[i];
+            }
+        }
+        int inBin = size;
+        double room = freeWeight[bin] + windowWeight;
+        double allowance = freeBudget[bin] + windowValue;
+        double totalValue = windowValue;
+        for (int i = 0; i < n && size - inBin < candidates; i++) {
+            if (assigned[i] < 0 && weights[i] <= room && values[i] <= allowance) {
+                window[size++] = i;
+                totalValue += values[i];
+            }
+        }
+        int width = (int)Math.min(Integer.MAX_VALUE - 1, Math.floor(room));
+        if (size == inBin || totalValue > allowance || (long)size * (width + 1) > maxCells) {
+            return 0;
+        }
+
+        double[] previous = new double[width + 1];
+        double[] current = new double[width + 1];
+        DecisionMatrix decisions = new DecisionMatrix(size, width + 1);
+        for (int r = 0; r < size; r++) {
+            int i = window[r];
+            KnapsackRowKernel.fillRow(previous, current, values[i], KnapsackRowKernel.shiftOf(weights[i]), true,
+                decisions, r, 1, width);
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        if (previous[width] - windowValue <= BOUND_SLACK * Math.max(1, windowValue)) {
+            return 0;
+        }
+
+        // Reconstrucción y aplicación de la nueva ventana
+        boolean[] chosen = new boolean[size];
+        int w = width;
+        for (int r = size - 1; r >= 0; r--) {
+            if (decisions.get(r, w)) {
+                chosen[r] = true;
+                w -= KnapsackRowKernel.shiftOf(weights[window[r]]);
+            }
+        }
+        double gain = 0;
+        for (int r = 0; r < size; r++) {
+            int i = window[r];
+            boolean wasIn = r < inBin;
+            if (wasIn != chosen[r]) {
+                int sign = chosen[r] ? 1 : -1;
+                assigned[i] = chosen[r] ? bin : -1;
+                freeWeight[bin] -= sign * weights[i];
+                freeBudget[bin] -= sign * values[i];
+                gain += sign * values[i];
+            }
+        }
+        return gain;
+    }
+
+    /**
+     * Explora recursivamente los depósitos posibles para el producto indicado, o su exclusión.
+     *
+     * @param index Índice (en orden de densidad) del producto actual.
+     * @param value Valor acumulado en la rama actual.
+     */
+    private void search(int index, double value) {
+        nodes++;
+        if (value > bestValue) {
+            bestValue = value;
+            bestBinOf = binOf.clone();
+        }
+        if (nodes > nodeLimit) {
+            stopped = true;
+        }
+        if (stopped || index >= sorted.length || upperBound(index, value) <= bestValue) {
+            return;
+        }
+
+        // Opción 1: Incluir el producto en cada depósito donde cabe; entre depósitos idénticos vacíos
+        // solo se prueba el primero
+        for (int b = 0; b < capacities.length; b++) {
+            if (weights[index] > residualWeight[b] || values[index] > residualBudget[b]
+                    || (used[b] == 0 && twin[b] >= 0 && used[twin[b]] == 0)) {
+                continue;
+            }
+            assign(index, b, 1);
+            search(index + 1, value + values[index]);
+            assign(index, b, -1);
+        }
+
+        // Opción 2: Excluir el producto
+        search(index + 1, value);
+    }
+
+    /**
+     * Incluye o retira un producto de un depósito en la rama actual.
+     *
+     * @param index Índice del producto.
+     * @param bin Depósito.
+     * @param sign 1 para incluirlo, -1 para retirarlo.
+     */
+    private void assign(int index, int bin, int sign) {
+        binOf[index] = sign > 0 ? bin : -1;
+        used[bin] += sign;
+        residualWeight[bin] -= sign * weights[index];
+        residualBudget[bin] -= sign * values[index];
+        totalResidualWeight -= sign * weights[index];
+        totalResidualBudget -= sign * values[index];
+    }
+
+    /**
+     * Cota superior de la rama: relajación fraccionaria de los productos restantes sobre la suma de las
+     * capacidades restantes, limitada además por la suma de los presupuestos restantes.
+     *
+     * @param index Índice del primer producto aún no decidido.
+     * @param value Valor acumulado en la rama actual.
+     * @return Una cota superior del mejor valor alcanzable en la rama.
+     */
+    private double upperBound(int index, double value) {
+        // Último producto que cabe completo, buscado sobre las sumas acumuladas
+        double limit = prefixWeight[index] + totalResidualWeight;
+        int low = index;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (prefixWeight[mid] <= limit) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        double bound = prefixValue[low] - prefixValue[index];
+        if (low < sorted.length && weights[low] > 0) {
+            double leftover = totalResidualWeight - (prefixWeight[low] - prefixWeight[index]);
+            bound += values[low] * (leftover / weights[low]);
+        }
+        bound = Math.min(bound, totalResidualBudget);
+        return value + bound * (1 + BOUND_SLACK);
+    }
+
+    /**
+     * Construye un resultado por depósito a partir de la mejor solución conocida.
+     *
+     * @param bins Depósitos, cada uno con su capacidad y su presupuesto.
+     * @return Un resultado por depósito, en el mismo orden de los depósitos.
+     */
+    private List<InventoryOptimizationResult> buildResults(List<OptimizationScenario> bins) {
+        List<InventoryOptimizationResult> results = new ArrayList<>();
+        for (int b = 0; b < bins.size(); b++) {
+            List<ProductSelection> selectedProducts = new ArrayList<>();
+            double totalValue = 0;
+            double remainingCapacity = capacities[b];
+            for (int i = 0; i < sorted.length; i++) {
+                if (bestBinOf[i] == b) {
+                    selectedProducts.add(new ProductSelection(sorted[i], 1.0));
+                    totalValue += values[i];
+                    remainingCapacity -= sorted[i].getWeight();
+                }
+            }
+            if (bins.get(b).isSelectionRequested()) {
+                results.add(new InventoryOptimizationResult(totalValue, selectedProducts, remainingCapacity));
+            } else {
+                results.add(new InventoryOptimizationResult(totalValue, new ArrayList<>(), Double.NaN));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Calcula la densidad de valor de un producto.
+     *
+     * @param product Producto.
+     * @return El valor por unidad de peso (infinito para productos sin peso).
+     */
+    private static double densityOf(Product product) {
+        return product.getWeight() > 0 ? product.getValue() / product.getWeight() : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Asignación de productos a depósitos encontrada por una heurística.
+     */
+    private static final class Assignment {
+
+        private final int[] binOf; // Depósito de cada producto (-1 si no se incluye)
+        private final double value; // Valor total de la asignación
+
+        /**
+         * Constructor que inicializa la asignación.
+         *
+         * @param binOf Depósito de cada producto (-1 si no se incluye).
+         * @param value Valor total de la asignación.
+         */
+        private Assignment(int[] binOf, double value) {
+            this.binOf = binOf;
+            this.value = value;
+        }
+    }
+}
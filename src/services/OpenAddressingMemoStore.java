@@ -0,0 +1,191 @@
+package services;
+
+import java.util.Arrays;
+
+/**
+ * Almacén de memoización disperso basado en una tabla hash de direccionamiento abierto
+ * (sondeo lineal) sobre arreglos primitivos. La memoria crece con los estados realmente
+ * visitados en lugar de reservar una tabla densa de productos x capacidades.
+ * Opcionalmente limita el número de estados: al alcanzar el límite, desaloja estados
+ * siguiendo un puntero circular (reloj) sobre la tabla.
+ */
+public class OpenAddressingMemoStore implements MemoStore {
+
+    private static final int INITIAL_SLOTS = 1 << 10; // Tamaño inicial de la tabla (potencia de 2)
+    private static final int EMPTY = -1; // Marca de posición libre en el arreglo de índices
+
+    private final int maxEntries; // Número máximo de estados (Integer.MAX_VALUE si no hay límite)
+    private int[] indexes; // Índice del producto de cada posición (EMPTY si está libre)
+    private long[] capacities; // Bits de la capacidad restante de cada posición
+    private long[] budgets; // Bits del presupuesto restante de cada posición
+    private double[] values; // Valor almacenado en cada posición
+    private int size; // Número de estados almacenados
+    private int clockHand; // Siguiente posición candidata a desalojo
+    private long evictions; // Número de estados desalojados
+
+    /**
+     * Constructor que crea un almacén sin límite de estados.
+     */
+    public OpenAddressingMemoStore() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor que crea un almacén con un número máximo de estados.
+     *
+     * @param maxEntries Número máximo de estados a conservar (debe ser positivo).
+     */
+    public OpenAddressingMemoStore(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("El límite de estados debe ser positivo: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        allocate(INITIAL_SLOTS);
+    }
+
+    @Override
+    public double get(int index, double capacity, double budget) {
+        long capacityBits = Double.doubleToLongBits(capacity);
+        long budgetBits = Double.doubleToLongBits(budget);
+        int mask = indexes.length - 1;
+        for (int slot = hash(index, capacityBits, budgetBits) & mask; indexes[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (indexes[slot] == index && capacities[slot] == capacityBits && budgets[slot] == budgetBits) {
+                return values[slot];
+            }
+        }
+        return Double.NaN;
+    }
+
+    @Override
+    public void put(int index, double capacity, double budget, double value) {
+        long capacityBits = Double.doubleToLongBits(capacity);
+        long budgetBits = Double.doubleToLongBits(budget);
+        int mask = indexes.length - 1;
+        int slot = hash(index, capacityBits, budgetBits) & mask;
+        for (; indexes[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (indexes[slot] == index && capacities[slot] == capacityBits && budgets[slot] == budgetBits) {
+                values[slot] = value;
+                return;
+            }
+        }
+
+        if (size >= maxEntries) {
+            evictOne();
+            put(index, capacity, budget, value);
+            return;
+        }
+        // Factor de carga máximo de 1/2 para mantener cortas las secuencias de sondeo
+        if ((size + 1) * 2 > indexes.length) {
+            grow();
+            put(index, capacity, budget, value);
+            return;
+        }
+
+        indexes[slot] = index;
+        capacities[slot] = capacityBits;
+        budgets[slot] = budgetBits;
+        values[slot] = value;
+        size++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtiene el número de estados desalojados por alcanzar el límite.
+     *
+     * @return El número de desalojos realizados.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Reserva los arreglos de la tabla con el número de posiciones indicado.
+     *
+     * @param slots Número de posiciones (potencia de 2).
+     */
+    private void allocate(int slots) {
+        indexes = new int[slots];
+        Arrays.fill(indexes, EMPTY);
+        capacities = new long[slots];
+        budgets = new long[slots];
+        values = new double[slots];
+        size = 0;
+        clockHand = 0;
+    }
+
+    /**
+     * Duplica el tamaño de la tabla y reinserta los estados almacenados.
+     */
+    private void grow() {
+        int[] oldIndexes = indexes;
+        long[] oldCapacities = capacities;
+        long[] oldBudgets = budgets;
+        double[] oldValues = values;
+        allocate(oldIndexes.length * 2);
+        for (int slot = 0; slot < oldIndexes.length; slot++) {
+            if (oldIndexes[slot] != EMPTY) {
+                put(oldIndexes[slot], Double.longBitsToDouble(oldCapacities[slot]),
+                    Double.longBitsToDouble(oldBudgets[slot]), oldValues[slot]);
+            }
+        }
+    }
+
+    /**
+     * Desaloja el siguiente estado ocupado a partir del puntero circular.
+     */
+    private void evictOne() {
+        int mask = indexes.length - 1;
+        while (indexes[clockHand] == EMPTY) {
+            clockHand = (clockHand + 1) & mask;
+        }
+        removeAt(clockHand);
+        clockHand = (clockHand + 1) & mask;
+        evictions++;
+    }
+
+    /**
+     * Elimina el estado de una posición desplazando hacia atrás los estados de la misma secuencia
+     * de sondeo, de modo que las búsquedas posteriores no se corten en el hueco.
+     *
+     * @param slot Posición a liberar.
+     */
+    private void removeAt(int slot) {
+        int mask = indexes.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; indexes[next] != EMPTY; next = (next + 1) & mask) {
+            int home = hash(indexes[next], capacities[next], budgets[next]) & mask;
+            // El estado puede ocupar el hueco si su posición ideal no está entre el hueco y su posición actual
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                indexes[hole] = indexes[next];
+                capacities[hole] = capacities[next];
+                budgets[hole] = budgets[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        indexes[hole] = EMPTY;
+        size--;
+    }
+
+    /**
+     * Calcula la dispersión de un estado combinando sus tres componentes.
+     *
+     * @param index Índice del producto.
+     * @param capacityBits Bits de la capacidad restante.
+     * @param budgetBits Bits del presupuesto restante.
+     * @return El valor de dispersión del estado.
+     */
+    private static int hash(int index, long capacityBits, long budgetBits) {
+        long h = index * 0x9E3779B97F4A7C15L;
+        h ^= capacityBits + 0xC2B2AE3D27D4EB4FL + (h << 6) + (h >>> 2);
+        h ^= budgetBits + 0x165667B19E3779F9L + (h << 6) + (h >>> 2);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,213 @@
+package services;
+
+import models.AnytimeOptimizationResult;
+import models.InventoryOptimizationResult;
+import models.OptimizationScenario;
+import models.ProductColumns;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Agrupador de peticiones concurrentes de optimización.
+ * Las peticiones con el mismo conjunto de productos (según {@link ProductSetHash}) que llegan dentro de una
+ * ventana corta se reúnen en un lote y se responden con una sola pasada de {@link InventoryOptimizationService#batchOptimization},
+ * sobre el catálogo reducido para todos los escenarios del lote (ver {@link ProblemReducer}).
+ * La primera petición de cada lote espera la ventana, cierra el lote y lo resuelve; las demás esperan su resultado.
+ * Los lotes grandes (productos por ancho de la tabla reducida sobre un umbral) se resuelven como máximo de a
+ * unos pocos a la vez, para que varias resoluciones grandes simultáneas no agoten la memoria.
+ * Las peticiones con plazo no se agrupan, porque una pasada compartida no puede detenerse por el plazo de uno solo
+ * de sus miembros: se resuelven por separado y se detienen al vencer su plazo.
+ * Pensado para hilos virtuales: cada petición bloquea su propio hilo mientras espera.
+ */
+public class OptimizationRequestBatcher {
+
+    private final InventoryOptimizationService service; // Servicio que resuelve los lotes
+    private final long batchWindowNanos; // Tiempo que espera el primer miembro de un lote antes de cerrarlo
+    private final long largeSolveCells; // Celdas de la tabla a partir de las cuales un lote se considera grande
+    private final Semaphore largeSolves; // Permisos para resolver lotes grandes
+    private final Map<String, Batch> openBatches = new HashMap<>(); // Lotes abiertos por huella de productos
+    private final AtomicLong requests = new AtomicLong(); // Peticiones recibidas
+    private final AtomicLong passes = new AtomicLong(); // Pasadas de optimización ejecutadas
+
+    /**
+     * Constructor del agrupador.
+     *
+     * @param service Servicio que resuelve los lotes.
+     * @param batchWindowNanos Tiempo que espera el primer miembro de un lote antes de cerrarlo (en nanosegundos).
+     * @param maxLargeSolves Número máximo de lotes grandes resueltos a la vez.
+     * @param largeSolveCells Celdas de la tabla (productos por ancho) a partir de las cuales un lote es grande.
+     */
+    public OptimizationRequestBatcher(InventoryOptimizationService service, long batchWindowNanos,
+                                      int maxLargeSolves, long largeSolveCells) {
+        if (maxLargeSolves < 1) {
+            throw new IllegalArgumentException("Se debe permitir al menos una resolución grande: " + maxLargeSolves);
+        }
+        this.service = service;
+        this.batchWindowNanos = batchWindowNanos;
+        this.largeSolveCells = largeSolveCells;
+        this.largeSolves = new Semaphore(maxLargeSolves, true);
+    }
+
+    /**
+     * Resuelve una petición, agrupándola con las peticiones concurrentes sobre los mismos productos.
+     * Bloquea el hilo actual hasta obtener el resultado.
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+     */
+    public InventoryOptimizationResult submit(ProductColumns columns, double capacity, double budget) throws InterruptedException {
+        requests.incrementAndGet();
+        String key = ProductSetHash.of(columns);
+        CompletableFuture<InventoryOptimizationResult> future = new CompletableFuture<>();
+        Batch batch;
+        boolean leader;
+        synchronized (openBatches) {
+            batch = openBatches.get(key);
+            leader = batch == null;
+            if (leader) {
+                batch = new Batch(columns);
+                openBatches.put(key, batch);
+            }
+            batch.scenarios.add(new OptimizationScenario(capacity, budget));
+            batch.futures.add(future);
+        }
+
+        if (leader) {
+            try {
+                if (batchWindowNanos > 0) {
+                    Thread.sleep(batchWindowNanos / 1_000_000, (int)(batchWindowNanos % 1_000_000));
+                }
+            } finally {
+                synchronized (openBatches) {
+                    openBatches.remove(key);
+                }
+                solve(batch);
+            }
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Resuelve una petición con plazo, sin agruparla con otras. Si el plazo vence mientras espera un permiso
+     * de resolución grande o durante la resolución, devuelve la mejor solución encontrada hasta ese momento
+     * (vacía si no alcanzó a comenzar) con una cota superior del óptimo. El catálogo se reduce antes de resolverlo.
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo de la petición.
+     * @return La mejor solución encontrada, con una cota superior del óptimo.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera un permiso.
+     */
+    public AnytimeOptimizationResult submit(ProductColumns columns, double capacity, double budget,
+                                            CancellationToken token) throws InterruptedException {
+        requests.incrementAndGet();
+        ReducedCatalog catalog = service.reduce(columns, capacity, budget);
+        boolean large = (long)catalog.getReducedCount() * ((int)catalog.reduceCapacity(capacity) + 1L) >= largeSolveCells;
+        if (large && !largeSolves.tryAcquire(token.getRemainingNanos(), TimeUnit.NANOSECONDS)) {
+            // El plazo venció esperando turno: solo se informa la cota, sin reservar la tabla
+            token.cancel();
+            return service.memoryLeanOptimization(catalog, capacity, budget, token);
+        }
+        try {
+            passes.incrementAndGet();
+            return service.memoryLeanOptimization(catalog, capacity, budget, token);
+        } finally {
+            if (large) {
+                largeSolves.release();
+            }
+        }
+    }
+
+    /**
+     * Obtiene el número de peticiones recibidas.
+     *
+     * @return El número de peticiones.
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Obtiene el número de pasadas de optimización ejecutadas (una por lote).
+     *
+     * @return El número de pasadas.
+     */
+    public long getPassCount() {
+        return passes.get();
+    }
+
+    /**
+     * Obtiene el número de resoluciones grandes que pueden comenzar ahora mismo.
+     *
+     * @return Los permisos disponibles para lotes grandes.
+     */
+    public int getAvailableLargeSolves() {
+        return largeSolves.availablePermits();
+    }
+
+    /**
+     * Resuelve un lote cerrado y entrega el resultado a cada uno de sus miembros.
+     * Ya cerrado, ningún otro hilo modifica sus listas.
+     *
+     * @param batch El lote a resolver.
+     */
+    private void solve(Batch batch) {
+        try {
+            ReducedCatalog catalog = service.reduce(batch.columns, batch.scenarios);
+            int maxCapacity = 0;
+            for (OptimizationScenario scenario : batch.scenarios) {
+                maxCapacity = Math.max(maxCapacity, (int)catalog.reduceCapacity(scenario.getCapacity()));
+            }
+            boolean large = (long)catalog.getReducedCount() * (maxCapacity + 1L) >= largeSolveCells;
+            if (large) {
+                largeSolves.acquireUninterruptibly();
+            }
+            try {
+                passes.incrementAndGet();
+                List<InventoryOptimizationResult> results = service.batchOptimization(catalog, batch.scenarios);
+                for (int i = 0; i < results.size(); i++) {
+                    batch.futures.get(i).complete(results.get(i));
+                }
+            } finally {
+                if (large) {
+                    largeSolves.release();
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            for (CompletableFuture<InventoryOptimizationResult> future : batch.futures) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Lote de peticiones sobre el mismo conjunto de productos.
+     */
+    private static final class Batch {
+
+        final ProductColumns columns; // Catálogo de la primera petición del lote
+        final List<OptimizationScenario> scenarios = new ArrayList<>(); // Capacidad y presupuesto de cada petición
+        final List<CompletableFuture<InventoryOptimizationResult>> futures = new ArrayList<>(); // Resultado pendiente de cada petición
+
+        Batch(ProductColumns columns) {
+            this.columns = columns;
+        }
+    }
+}
@@ -0,0 +1,522 @@
+package services;
+
+import models.BudgetRule;
+import models.InventoryOptimizationResult;
+import models.Product;
+import models.ProductColumns;
+import models.ProductSelection;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché de resultados de optimización con desalojo LRU por tamaño y expiración por tiempo de vida.
+ * Las entradas se identifican por la huella de contenido de los productos ({@link ProductSetHash})
+ * junto con la capacidad, el presupuesto y la regla con la que se aplicó el presupuesto ({@link BudgetRule}),
+ * de modo que la misma consulta con arrays distintos pero equivalentes reutiliza el resultado, y un resultado
+ * que solo filtra por presupuesto nunca responde a una consulta que lo descuenta (ni al revés).
+ * Cada entrada puede guardar además la última fila de la tabla Bottom-Up, que contiene el valor óptimo
+ * para todas las capacidades enteras menores con el mismo presupuesto.
+ * Opcionalmente las entradas se guardan en un archivo local para que un proceso reiniciado arranque con la caché llena;
+ * los productos de los resultados cargados desde el archivo son copias de los originales. El archivo se reescribe
+ * completo, por lo que se guarda periódicamente ({@link #startPeriodicSnapshots}) y al cerrar, y no en cada consulta.
+ * Todos los métodos son sincronizados.
+ */
+public class OptimizationResultCache implements AutoCloseable {
+
+    private static final int MAGIC = 0x4F524343; // Identificador del archivo de la caché ("ORCC")
+    private static final int VERSION = 3; // Versión del formato del archivo (la 3 agrega la regla de presupuesto)
+    private static final int MIN_ENTRY_BYTES = 51; // Bytes mínimos de una entrada en el archivo
+    private static final int MIN_SELECTION_BYTES = 31; // Bytes mínimos de un producto seleccionado en el archivo
+
+    private final int maxEntries; // Número máximo de entradas antes de desalojar la menos usada
+    private final long timeToLiveMillis; // Tiempo de vida de cada entrada en milisegundos (0 = sin expiración)
+    private final Path snapshotFile; // Archivo de persistencia (null si no se persiste)
+    private final LinkedHashMap<String, Entry> entries; // Entradas en orden de uso, de la menos a la más reciente
+    private long hits; // Consultas respondidas por la caché
+    private long misses; // Consultas no encontradas en la caché
+    private long evictions; // Entradas desalojadas por tamaño
+    private long expirations; // Entradas descartadas por tiempo de vida
+    private boolean dirty; // Indica si hay entradas nuevas que aún no se guardaron en el archivo
+    private ScheduledExecutorService snapshotTimer; // Guardado periódico (null si no se inició)
+
+    /**
+     * Constructor de una caché solo en memoria.
+     *
+     * @param maxEntries Número máximo de entradas.
+     * @param timeToLiveMillis Tiempo de vida de cada entrada en milisegundos (0 para no expirar).
+     */
+    public OptimizationResultCache(int maxEntries, long timeToLiveMillis) {
+        this(maxEntries, timeToLiveMillis, null);
+    }
+
+    /**
+     * Constructor de una caché persistente. Si el archivo existe, carga las entradas que no hayan expirado;
+     * si no se puede leer, la caché arranca vacía.
+     *
+     * @param maxEntries Número máximo de entradas.
+     * @param timeToLiveMillis Tiempo de vida de cada entrada en milisegundos (0 para no expirar).
+     * @param snapshotFile Archivo de persistencia, o null para no persistir.
+     */
+    public OptimizationResultCache(int maxEntries, long timeToLiveMillis, Path snapshotFile) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("La caché debe admitir al menos una entrada: " + maxEntries);
+        }
+        if (timeToLiveMillis < 0) {
+            throw new IllegalArgumentException("El tiempo de vida no puede ser negativo: " + timeToLiveMillis);
+        }
+        this.maxEntries = maxEntries;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.snapshotFile = snapshotFile;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        if (snapshotFile != null && Files.isRegularFile(snapshotFile)) {
+            try {
+                readSnapshot(snapshotFile);
+            } catch (IOException e) {
+                entries.clear();
+            }
+        }
+    }
+
+    /**
+     * Busca el resultado de una consulta.
+     *
+     * @param products Array de productos.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param rule Regla con la que se aplica el presupuesto.
+     * @return El resultado guardado, o null si no está en la caché o expiró.
+     */
+    public InventoryOptimizationResult get(Product[] products, double capacity, double budget, BudgetRule rule) {
+        return get(ProductSetHash.of(products), capacity, budget, rule);
+    }
+
+    /**
+     * Busca el resultado de una consulta sobre un catálogo por columnas, sin crear un {@link Product} por fila.
+     * Las filas equivalen a los productos de {@link ProductColumns#toProduct}, así que comparte las entradas
+     * guardadas con {@link #put(Product[], double, double, BudgetRule, InventoryOptimizationResult, double[])}.
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param rule Regla con la que se aplica el presupuesto.
+     * @return El resultado guardado, o null si no está en la caché o expiró.
+     */
+    public InventoryOptimizationResult get(ProductColumns columns, double capacity, double budget, BudgetRule rule) {
+        return get(ProductSetHash.of(columns), capacity, budget, rule);
+    }
+
+    private synchronized InventoryOptimizationResult get(String productHash, double capacity, double budget,
+                                                         BudgetRule rule) {
+        Entry entry = lookup(keyOf(productHash, capacity, budget, rule));
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.result;
+    }
+
+    /**
+     * Busca solo el valor óptimo de una consulta. Además de las entradas exactas, usa la última fila
+     * guardada de cualquier entrada con los mismos productos, presupuesto y regla, y una capacidad mayor o igual.
+     *
+     * @param products Array de productos.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param rule Regla con la que se aplica el presupuesto.
+     * @return El valor óptimo, o NaN si la caché no puede responder.
+     */
+    public synchronized double getOptimalValue(Product[] products, double capacity, double budget, BudgetRule rule) {
+        String productHash = ProductSetHash.of(products);
+        Entry exact = lookup(keyOf(productHash, capacity, budget, rule));
+        if (exact != null) {
+            hits++;
+            return exact.result.getTotalValue();
+        }
+
+        // La fila de una capacidad mayor contiene el óptimo de todas las capacidades enteras menores
+        int column = (int)capacity;
+        long now = System.currentTimeMillis();
+        for (Entry entry : entries.values()) {
+            if (entry.lastRow != null && column >= 0 && column < entry.lastRow.length
+                    && !isExpired(entry, now)
+                    && Double.compare(entry.budget, budget) == 0
+                    && entry.rule == rule
+                    && entry.productHash.equals(productHash)) {
+                hits++;
+                return entry.lastRow[column];
+            }
+        }
+        misses++;
+        return Double.NaN;
+    }
+
+    /**
+     * Guarda el resultado de una consulta, desalojando la entrada menos usada si la caché está llena.
+     *
+     * @param products Array de productos.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param rule Regla con la que el solucionador aplicó el presupuesto.
+     * @param result El resultado de la optimización.
+     * @param lastRow La última fila de la tabla Bottom-Up (valor óptimo por capacidad), o null si no se tiene.
+     */
+    public void put(Product[] products, double capacity, double budget, BudgetRule rule,
+                    InventoryOptimizationResult result, double[] lastRow) {
+        put(ProductSetHash.of(products), capacity, budget, rule, result, lastRow);
+    }
+
+    /**
+     * Guarda el resultado de una consulta sobre un catálogo por columnas, sin crear un {@link Product} por fila.
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param rule Regla con la que el solucionador aplicó el presupuesto.
+     * @param result El resultado de la optimización.
+     * @param lastRow La última fila de la tabla Bottom-Up (valor óptimo por capacidad), o null si no se tiene.
+     */
+    public void put(ProductColumns columns, double capacity, double budget, BudgetRule rule,
+                    InventoryOptimizationResult result, double[] lastRow) {
+        put(ProductSetHash.of(columns), capacity, budget, rule, result, lastRow);
+    }
+
+    private synchronized void put(String productHash, double capacity, double budget, BudgetRule rule,
+                                  InventoryOptimizationResult result, double[] lastRow) {
+        Entry entry = new Entry(productHash, capacity, budget, rule, result,
+            lastRow == null ? null : lastRow.clone(), System.currentTimeMillis());
+        entries.put(keyOf(productHash, capacity, budget, rule), entry);
+        evictOverflow();
+        dirty = true;
+    }
+
+    /**
+     * Guarda todas las entradas vigentes en el archivo de persistencia. La escritura se hace en un archivo
+     * temporal que luego reemplaza al anterior, así un fallo no deja el archivo a medias.
+     * No hace nada si la caché no es persistente.
+     *
+     * @throws IOException Si el archivo no se puede escribir.
+     */
+    public synchronized void snapshot() throws IOException {
+        if (snapshotFile == null) {
+            return;
+        }
+        removeExpired();
+        Path directory = snapshotFile.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, "cache", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                writeEntries(out);
+            }
+            Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Guarda las entradas en el archivo de persistencia solo si se agregaron entradas desde el último guardado.
+     *
+     * @throws IOException Si el archivo no se puede escribir.
+     */
+    public synchronized void snapshotIfChanged() throws IOException {
+        if (dirty) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Inicia el guardado periódico en un hilo de fondo, que solo reescribe el archivo si hubo cambios.
+     * Un guardado fallido se reintenta en el período siguiente. No hace nada si la caché no es persistente
+     * o si el guardado periódico ya se inició.
+     *
+     * @param periodMillis Período entre guardados en milisegundos.
+     */
+    public synchronized void startPeriodicSnapshots(long periodMillis) {
+        if (snapshotFile == null || snapshotTimer != null) {
+            return;
+        }
+        snapshotTimer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "cache-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotTimer.scheduleWithFixedDelay(() -> {
+            try {
+                snapshotIfChanged();
+            } catch (IOException e) {
+                // Las entradas siguen pendientes y se intentan guardar en el próximo período
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene el guardado periódico y guarda las entradas pendientes.
+     *
+     * @throws IOException Si el archivo no se puede escribir.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (snapshotTimer != null) {
+                snapshotTimer.shutdown();
+                snapshotTimer = null;
+            }
+        }
+        snapshotIfChanged();
+    }
+
+    /**
+     * Verifica si la caché guarda sus entradas en un archivo.
+     *
+     * @return true si la caché es persistente, false en caso contrario.
+     */
+    public boolean isPersistent() {
+        return snapshotFile != null;
+    }
+
+    /**
+     * Elimina todas las entradas de la caché (los contadores se conservan).
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Obtiene el número de entradas guardadas, incluidas las expiradas que aún no se descartaron.
+     *
+     * @return El número de entradas.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Obtiene el número de consultas respondidas por la caché.
+     *
+     * @return El número de aciertos.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Obtiene el número de consultas no encontradas en la caché.
+     *
+     * @return El número de fallos.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Obtiene el número de entradas desalojadas por exceder el tamaño máximo.
+     *
+     * @return El número de desalojos.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Obtiene el número de entradas descartadas por exceder su tiempo de vida.
+     *
+     * @return El número de expiraciones.
+     */
+    public synchronized long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * Busca una entrada vigente, descartándola si ya expiró.
+     *
+     * @param key Clave de la entrada.
+     * @return La entrada, o null si no existe o expiró.
+     */
+    private Entry lookup(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && isExpired(entry, System.currentTimeMillis())) {
+            entries.remove(key);
+            expirations++;
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return timeToLiveMillis > 0 && now - entry.createdAt >= timeToLiveMillis;
+    }
+
+    private void removeExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next(), now)) {
+                iterator.remove();
+                expirations++;
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private static String keyOf(String productHash, double capacity, double budget, BudgetRule rule) {
+        return productHash + '|' + Double.doubleToLongBits(capacity) + '|' + Double.doubleToLongBits(budget)
+            + '|' + rule.name();
+    }
+
+    /**
+     * Escribe las entradas en el formato del archivo de persistencia, de la menos a la más usada.
+     *
+     * @param out Flujo de salida.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    private void writeEntries(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.size());
+        for (Entry entry : entries.values()) {
+            out.writeUTF(entry.productHash);
+            out.writeDouble(entry.capacity);
+            out.writeDouble(entry.budget);
+            out.writeByte(entry.rule.ordinal());
+            out.writeLong(entry.createdAt);
+            out.writeDouble(entry.result.getTotalValue());
+            out.writeDouble(entry.result.getRemainingCapacity());
+            List<ProductSelection> selections = entry.result.getSelectedProducts();
+            out.writeInt(selections.size());
+            for (ProductSelection selection : selections) {
+                Product product = selection.getProduct();
+                out.writeUTF(product.getName());
+                out.writeDouble(product.getValue());
+                out.writeDouble(product.getWeight());
+                out.writeBoolean(product.isCanBeSplit());
+                out.writeInt(product.getQuantity());
+                out.writeDouble(selection.getQuantity());
+            }
+            if (entry.lastRow == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(entry.lastRow.length);
+                for (double value : entry.lastRow) {
+                    out.writeDouble(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Carga las entradas vigentes del archivo de persistencia.
+     * Los contadores del archivo se validan contra su tamaño antes de reservar memoria, de modo que un archivo
+     * truncado o corrupto produce una IOException y no una reserva enorme.
+     *
+     * @param file Archivo de persistencia.
+     * @throws IOException Si el archivo no se puede leer o tiene un formato inválido.
+     */
+    private void readSnapshot(Path file) throws IOException {
+        long fileSize = Files.size(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Formato de caché no reconocido: " + file);
+            }
+            int count = checkCount(in.readInt(), fileSize / MIN_ENTRY_BYTES, "entradas", file);
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < count; i++) {
+                String productHash = in.readUTF();
+                double capacity = in.readDouble();
+                double budget = in.readDouble();
+                int ruleIndex = in.readUnsignedByte();
+                if (ruleIndex >= BudgetRule.values().length) {
+                    throw new IOException("Regla de presupuesto inválida en la caché " + file + ": " + ruleIndex);
+                }
+                BudgetRule rule = BudgetRule.values()[ruleIndex];
+                long createdAt = in.readLong();
+                double totalValue = in.readDouble();
+                double remainingCapacity = in.readDouble();
+                int selectionCount = checkCount(in.readInt(), fileSize / MIN_SELECTION_BYTES, "productos", file);
+                List<ProductSelection> selections = new ArrayList<>(selectionCount);
+                for (int j = 0; j < selectionCount; j++) {
+                    Product product;
+                    try {
+                        product = new Product(in.readUTF(), in.readDouble(), in.readDouble(), in.readBoolean(), in.readInt());
+                    } catch (IllegalArgumentException e) {
+                        throw new IOException("Producto inválido en la caché " + file + ": " + e.getMessage(), e);
+                    }
+                    selections.add(new ProductSelection(product, in.readDouble()));
+                }
+                int rowLength = in.readInt();
+                double[] lastRow = null;
+                if (rowLength != -1) {
+                    checkCount(rowLength, fileSize / Double.BYTES, "columnas", file);
+                    lastRow = new double[rowLength];
+                    for (int w = 0; w < rowLength; w++) {
+                        lastRow[w] = in.readDouble();
+                    }
+                }
+
+                Entry entry = new Entry(productHash, capacity, budget, rule,
+                    new InventoryOptimizationResult(totalValue, selections, remainingCapacity), lastRow, createdAt);
+                if (!isExpired(entry, now)) {
+                    entries.put(keyOf(productHash, capacity, budget, rule), entry);
+                }
+            }
+        }
+        evictOverflow();
+    }
+
+    /**
+     * Verifica que un contador leído del archivo no sea negativo ni exceda lo que el archivo puede contener.
+     *
+     * @param count Contador leído.
+     * @param max Máximo posible según el tamaño del archivo.
+     * @param what Qué se cuenta (para el mensaje).
+     * @param file Archivo de persistencia.
+     * @return El contador validado.
+     * @throws IOException Si el contador es inválido.
+     */
+    private static int checkCount(int count, long max, String what, Path file) throws IOException {
+        if (count < 0 || count > max) {
+            throw new IOException("Número de " + what + " inválido en la caché " + file + ": " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Entrada de la caché: el resultado de una consulta y, opcionalmente, la última fila de su tabla.
+     */
+    private static final class Entry {
+
+        final String productHash; // Huella de contenido de los productos
+        final double capacity; // Capacidad de la consulta
+        final double budget; // Presupuesto de la consulta
+        final BudgetRule rule; // Regla con la que se aplicó el presupuesto
+        final InventoryOptimizationResult result; // Resultado de la optimización
+        final double[] lastRow; // Última fila de la tabla Bottom-Up (null si no se guardó)
+        final long createdAt; // Momento de creación en milisegundos desde la época
+
+        Entry(String productHash, double capacity, double budget, BudgetRule rule,
+              InventoryOptimizationResult result, double[] lastRow, long createdAt) {
+            this.productHash = productHash;
+            this.capacity = capacity;
+            this.budget = budget;
+            this.rule = rule;
+            this.result = result;
+            this.lastRow = lastRow;
+            this.createdAt = createdAt;
+        }
+    }
+}
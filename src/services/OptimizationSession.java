@@ -0,0 +1,262 @@
+package services;
+
+import models.InventoryOptimizationResult;
+import models.Product;
+import models.ProductSelection;
+import java.util.*;
+
+/**
+ * Sesión de optimización incremental sobre un catálogo que cambia pocos productos a la vez.
+ * Mantiene la tabla de Programación Dinámica repartida en dos pilas: la del catálogo inicial y la de los
+ * productos agregados después. Agregar un producto cuesta una fila; quitarlo solo descarta las filas de su pila
+ * desde la última fila guardada anterior a él, que se recalculan en la siguiente consulta; y el óptimo se obtiene
+ * combinando la última fila de cada pila en tiempo lineal sobre la capacidad.
+ * Cada pila guarda un bit de decisión por producto y capacidad, y la fila completa solo cada
+ * {@value #CHECKPOINT_INTERVAL} productos, por lo que con n productos y capacidad W ocupa unos n·W/4 bytes
+ * en lugar de 8·n·W. Como las filas descartadas se recalculan una sola vez, quitar varios productos entre dos
+ * consultas cuesta lo mismo que quitar el de menor posición: a lo sumo m - p + {@value #CHECKPOINT_INTERVAL} filas
+ * en una pila de m productos. Quitar uno de los primeros productos del catálogo inicial sigue costando tanto como
+ * abrir la sesión de nuevo (ver {@link #removeProduct}).
+ * Usa la misma semántica que {@link InventoryOptimizationService#bottomUpOptimization}: el presupuesto
+ * descarta los productos cuyo valor lo excede. Los productos se identifican por referencia.
+ */
+public class OptimizationSession {
+
+    private static final int CHECKPOINT_INTERVAL = 64; // Productos entre dos filas guardadas completas
+
+    private final double capacity; // Capacidad máxima del inventario
+    private final double budget; // Presupuesto disponible
+    private final int maxCapacity; // Ancho de las filas de la tabla
+    private final RowStack base; // Productos del catálogo inicial
+    private final RowStack recent; // Productos agregados durante la sesión
+    private double optimalValue = Double.NaN; // Óptimo calculado (NaN si hubo cambios desde el último cálculo)
+    private int split; // Capacidad asignada a la pila base en el óptimo calculado
+
+    /**
+     * Constructor que inicia la sesión con un catálogo de productos.
+     *
+     * @param products Array de productos iniciales.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     */
+    public OptimizationSession(Product[] products, double capacity, double budget) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("La capacidad no puede ser negativa: " + capacity);
+        }
+        this.capacity = capacity;
+        this.budget = budget;
+        this.maxCapacity = (int)capacity;
+        this.base = new RowStack();
+        this.recent = new RowStack();
+        for (Product product : products) {
+            base.push(product);
+        }
+    }
+
+    /**
+     * Agrega un producto a la sesión calculando una sola fila nueva.
+     *
+     * @param product El producto a agregar.
+     */
+    public void addProduct(Product product) {
+        recent.push(product);
+        optimalValue = Double.NaN;
+    }
+
+    /**
+     * Quita un producto de la sesión. Las filas de su pila desde la última fila guardada anterior a él se descartan
+     * y se recalculan en la siguiente consulta ({@link #getOptimalValue} o {@link #getResult}), una sola vez aunque
+     * se quiten varios productos antes de consultar.
+     * <p>
+     * Costo: si el producto de menor posición quitado desde la última consulta ocupa la posición p de una pila
+     * de m productos, la consulta recalcula a lo sumo m - p + {@value #CHECKPOINT_INTERVAL} filas de W + 1 celdas.
+     * Los productos del catálogo inicial ocupan las primeras posiciones, así que quitar uno de los primeros
+     * cuesta tanto como abrir la sesión de nuevo: la sesión solo evita la reconstrucción completa cuando los
+     * productos que se quitan fueron agregados durante la sesión o están al final del catálogo inicial.
+     *
+     * @param product El producto a quitar.
+     * @return true si el producto estaba en la sesión, false en caso contrario.
+     */
+    public boolean removeProduct(Product product) {
+        boolean removed = recent.remove(product) || base.remove(product);
+        if (removed) {
+            optimalValue = Double.NaN;
+        }
+        return removed;
+    }
+
+    /**
+     * Obtiene el número de productos de la sesión.
+     *
+     * @return El número de productos.
+     */
+    public int size() {
+        return base.size() + recent.size();
+    }
+
+    /**
+     * Obtiene el valor óptimo para el catálogo actual. Tras un cambio cuesta un recorrido de la capacidad,
+     * más el recálculo de las filas descartadas al quitar productos (ver {@link #removeProduct});
+     * sin cambios, devuelve el valor ya calculado.
+     *
+     * @return El valor máximo alcanzable con los productos actuales.
+     */
+    public double getOptimalValue() {
+        if (Double.isNaN(optimalValue)) {
+            double[] left = base.top();
+            double[] right = recent.top();
+            double best = -1;
+            for (int w = 0; w <= maxCapacity; w++) {
+                double value = left[w] + right[maxCapacity - w];
+                if (value > best) {
+                    best = value;
+                    split = w;
+                }
+            }
+            optimalValue = best;
+        }
+        return optimalValue;
+    }
+
+    /**
+     * Obtiene el resultado completo para el catálogo actual, incluyendo los productos seleccionados.
+     *
+     * @return El resultado de la optimización.
+     */
+    public InventoryOptimizationResult getResult() {
+        double value = getOptimalValue();
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        base.collectSelection(split, selectedProducts);
+        recent.collectSelection(maxCapacity - split, selectedProducts);
+
+        double remainingCapacity = capacity;
+        for (ProductSelection selection : selectedProducts) {
+            remainingCapacity -= selection.getProduct().getWeight();
+        }
+        return new InventoryOptimizationResult(value, selectedProducts, remainingCapacity);
+    }
+
+    /**
+     * Pila de productos con los bits de decisión de cada uno y la fila de la tabla de algunos prefijos.
+     * Solo se guardan completas la fila de cada prefijo múltiplo de {@value #CHECKPOINT_INTERVAL} y la del
+     * prefijo completo; la selección se reconstruye con los bits de decisión. Las filas de los productos que
+     * siguen a uno quitado quedan pendientes hasta la siguiente consulta.
+     */
+    private final class RowStack {
+
+        private final List<Product> items = new ArrayList<>(); // Productos en orden de inserción
+        private final List<DecisionMatrix> decisions = new ArrayList<>(); // Bits de decisión de los productos con fila calculada
+        private final List<double[]> checkpoints = new ArrayList<>(); // Filas de los prefijos múltiplos del intervalo
+        private double[] top; // Fila del último prefijo calculado
+        private double[] spare; // Fila libre para calcular la siguiente (null si no hay)
+
+        RowStack() {
+            top = new double[maxCapacity + 1];
+            checkpoints.add(top);
+        }
+
+        int size() {
+            return items.size();
+        }
+
+        /**
+         * Obtiene la fila del prefijo completo, calculando antes las filas pendientes.
+         *
+         * @return La fila del prefijo completo.
+         */
+        double[] top() {
+            for (int k = decisions.size(); k < items.size(); k++) {
+                appendRow(items.get(k));
+            }
+            return top;
+        }
+
+        /**
+         * Apila un producto. Si no hay filas pendientes calcula su fila a partir de la última;
+         * si las hay, su fila se calcula junto con ellas en la siguiente consulta.
+         *
+         * @param product El producto a apilar.
+         */
+        void push(Product product) {
+            items.add(product);
+            if (decisions.size() == items.size() - 1) {
+                appendRow(product);
+            }
+        }
+
+        /**
+         * Calcula la fila del siguiente producto a partir de la del último prefijo calculado.
+         *
+         * @param product El producto cuya fila se calcula.
+         */
+        private void appendRow(Product product) {
+            DecisionMatrix decision = new DecisionMatrix(1, maxCapacity + 1);
+            double[] row = spare != null ? spare : new double[maxCapacity + 1];
+            KnapsackRowKernel.fillRow(
+                top, row,
+                product.getValue(),
+                KnapsackRowKernel.shiftOf(product.getWeight()),
+                product.getValue() <= budget,
+                decision, 0, 1, maxCapacity
+            );
+            decisions.add(decision);
+            int rows = decisions.size();
+            if (rows % CHECKPOINT_INTERVAL == 0) {
+                checkpoints.add(row);
+            }
+
+            // La fila anterior se reutiliza, salvo que sea la de un prefijo guardado
+            spare = (rows - 1) % CHECKPOINT_INTERVAL == 0 ? null : top;
+            top = row;
+        }
+
+        /**
+         * Quita un producto de la pila y descarta las filas calculadas desde la última fila guardada
+         * anterior a su posición; los productos que lo seguían quedan pendientes.
+         *
+         * @param product El producto a quitar.
+         * @return true si el producto estaba en la pila, false en caso contrario.
+         */
+        boolean remove(Product product) {
+            int position = -1;
+            for (int i = items.size() - 1; i >= 0; i--) {
+                if (items.get(i) == product) {
+                    position = i;
+                    break;
+                }
+            }
+            if (position < 0) {
+                return false;
+            }
+
+            items.remove(position);
+            if (position < decisions.size()) {
+                int checkpoint = position / CHECKPOINT_INTERVAL;
+                decisions.subList(checkpoint * CHECKPOINT_INTERVAL, decisions.size()).clear();
+                checkpoints.subList(checkpoint + 1, checkpoints.size()).clear();
+                top = checkpoints.get(checkpoint);
+                spare = null;
+            }
+            return true;
+        }
+
+        /**
+         * Agrega a la lista los productos de la pila elegidos para la capacidad indicada,
+         * recorriendo los bits de decisión desde el último producto hasta el primero.
+         *
+         * @param capacity Capacidad asignada a la pila.
+         * @param selectedProducts Lista donde se agregan los productos seleccionados.
+         */
+        void collectSelection(int capacity, List<ProductSelection> selectedProducts) {
+            top();
+            int w = capacity;
+            for (int k = items.size() - 1; k >= 0; k--) {
+                if (decisions.get(k).get(0, w)) {
+                    Product selectedProduct = items.get(k);
+                    selectedProducts.add(new ProductSelection(selectedProduct, 1.0));
+                    w -= KnapsackRowKernel.shiftOf(selectedProduct.getWeight());
+                }
+            }
+        }
+    }
+}
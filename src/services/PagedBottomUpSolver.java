@@ -0,0 +1,163 @@
+package services;
+
+import models.InventoryOptimizationResult;
+import models.Product;
+import models.ProductSelection;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Solucionador Bottom-Up cuyas filas y decisiones viven fuera del heap, en páginas de tamaño fijo
+ * ({@link PagedMemory}): búferes directos o un archivo temporal mapeado en memoria.
+ * Se guarda una sola fila, que cada producto actualiza en su lugar por bloques de columnas que pasan por
+ * arreglos pequeños del heap, así que el heap usado no depende de la capacidad ni del número de productos
+ * y el recolector de basura no recorre la tabla. Las columnas donde el producto no cabe, y los productos
+ * que exceden el presupuesto, no se copian. Las decisiones de cada producto se escriben una sola vez y de
+ * forma secuencial, de modo que con archivo mapeado el sistema operativo puede descargar las páginas ya escritas.
+ * Usa la misma aritmética que {@link InventoryOptimizationService#memoryLeanOptimization}, por lo que
+ * el resultado es idéntico.
+ */
+public class PagedBottomUpSolver {
+
+    private static final int BLOCK_COLUMNS = 1 << 13; // Columnas por bloque (múltiplo de 64)
+
+    private final Path directory; // Directorio de los archivos temporales (null para búferes directos)
+    private final int pageBytes; // Tamaño de cada página en bytes
+    private long reservedBytes; // Memoria fuera del heap reservada en la última resolución
+
+    /**
+     * Constructor que guarda la tabla en búferes directos fuera del heap.
+     * Requiere que -XX:MaxDirectMemorySize admita la tabla completa.
+     */
+    public PagedBottomUpSolver() {
+        this(null, PagedMemory.DEFAULT_PAGE_BYTES);
+    }
+
+    /**
+     * Constructor que guarda la tabla en archivos temporales mapeados en memoria.
+     *
+     * @param directory Directorio de los archivos temporales.
+     */
+    public PagedBottomUpSolver(Path directory) {
+        this(directory, PagedMemory.DEFAULT_PAGE_BYTES);
+    }
+
+    /**
+     * Constructor que inicializa el almacenamiento y el tamaño de página.
+     *
+     * @param directory Directorio de los archivos temporales, o null para usar búferes directos.
+     * @param pageBytes Tamaño de cada página en bytes (potencia de 2, al menos 8).
+     */
+    public PagedBottomUpSolver(Path directory, int pageBytes) {
+        this.directory = directory;
+        this.pageBytes = pageBytes;
+    }
+
+    /**
+     * Resuelve el problema de optimización con la tabla fuera del heap.
+     * Las páginas se liberan (y los archivos temporales se eliminan) antes de devolver el resultado.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult solve(Product[] products, double capacity, double budget) {
+        int n = products.length;
+        int maxCapacity = (int)capacity;
+        long columns = maxCapacity + 1L;
+        long wordsPerRow = (columns + 63) >>> 6;
+
+        try (PagedMemory row = new PagedMemory(columns * Double.BYTES, pageBytes, directory);
+             PagedMemory decisions = new PagedMemory(n * wordsPerRow * Long.BYTES, pageBytes, directory)) {
+            int block = (int)Math.min(BLOCK_COLUMNS, columns);
+            double[] kept = new double[block]; // Fila anterior en las columnas del bloque
+            double[] shifted = new double[block]; // Fila anterior desplazada por el peso del producto
+            double[] current = new double[block]; // Fila actual en las columnas del bloque
+            long[] words = new long[(block + 63) >>> 6]; // Decisiones del bloque
+            long lastBlock = (columns - 1) / block * block;
+
+            // Una sola fila actualizada en su lugar desde las columnas más altas: cada bloque lee la fila
+            // anterior en columnas menores que aún no se sobrescribieron
+            for (int i = 1; i <= n; i++) {
+                Product currentProduct = products[i-1];
+                double value = currentProduct.getValue();
+                int shift = KnapsackRowKernel.shiftOf(currentProduct.getWeight());
+                if (value > budget) {
+                    continue; // La fila no cambia y sus decisiones quedan en cero
+                }
+
+                // Columnas donde el producto cabe: desde max(1, shift), como en el núcleo de filas
+                long first = Math.max(1, shift);
+                for (long from = lastBlock; from + block > first && from >= 0; from -= block) {
+                    int length = (int)Math.min(block, columns - from);
+                    int start = (int)Math.max(0, first - from);
+                    row.readDoubles(from + start, kept, start, length - start);
+                    row.readDoubles(from + start - shift, shifted, start, length - start);
+                    Arrays.fill(words, 0);
+
+                    for (int c = start; c < length; c++) {
+                        double best = Math.max(kept[c], value + shifted[c]);
+                        current[c] = best;
+                        if (best != kept[c]) {
+                            words[c >>> 6] |= 1L << c;
+                        }
+                    }
+
+                    row.writeDoubles(from + start, current, start, length - start);
+                    decisions.writeLongs((i - 1) * wordsPerRow + (from >>> 6), words, 0, (length + 63) >>> 6);
+                }
+            }
+
+            double optimalValue = row.getDouble(maxCapacity);
+            reservedBytes = row.reservedBytes() + decisions.reservedBytes();
+            return reconstruct(products, decisions, wordsPerRow, optimalValue, capacity);
+        }
+    }
+
+    /**
+     * Obtiene la memoria fuera del heap reservada en la última resolución.
+     *
+     * @return El tamaño reservado en bytes (filas y decisiones).
+     */
+    public long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    /**
+     * Reconstruye los productos seleccionados recorriendo las decisiones desde la última fila,
+     * como {@link InventoryOptimizationService#reconstructSelection}.
+     *
+     * @param products Array de productos disponibles.
+     * @param decisions Decisiones paginadas.
+     * @param wordsPerRow Palabras de 64 bits por fila de decisiones.
+     * @param optimalValue Valor óptimo para la capacidad máxima.
+     * @param capacity Capacidad máxima del inventario.
+     * @return El resultado con los productos seleccionados.
+     */
+    private static InventoryOptimizationResult reconstruct(Product[] products, PagedMemory decisions, long wordsPerRow,
+                                                           double optimalValue, double capacity) {
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        double totalValue = optimalValue;
+
+        for (int i = products.length; i > 0 && totalValue > 0; i--) {
+            int column = (int)remainingCapacity;
+            if ((decisions.getLong((i - 1) * wordsPerRow + (column >>> 6)) & (1L << column)) != 0) {
+                Product selectedProduct = products[i-1];
+                double quantity = 1.0;
+
+                // Manejo de productos divisibles
+                if (selectedProduct.isCanBeSplit() && selectedProduct.getWeight() > remainingCapacity) {
+                    quantity = remainingCapacity / selectedProduct.getWeight();
+                }
+
+                selectedProducts.add(new ProductSelection(selectedProduct, quantity));
+                totalValue -= selectedProduct.getValue() * quantity;
+                remainingCapacity -= selectedProduct.getWeight() * quantity;
+            }
+        }
+
+        return new InventoryOptimizationResult(optimalValue, selectedProducts, remainingCapacity);
+    }
+}
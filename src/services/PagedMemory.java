@@ -0,0 +1,261 @@
+package services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Memoria fuera del heap dividida en páginas de tamaño fijo, direccionada con índices long.
+ * Cada página es un búfer directo o una región de un archivo temporal mapeado en memoria; las páginas se
+ * reservan la primera vez que se usan. Con archivo mapeado, el sistema operativo decide qué páginas quedan
+ * residentes, por lo que la memoria física usada queda acotada aunque los datos superen la RAM; el archivo
+ * se elimina al cerrar.
+ * Al cerrar, cada página se libera en el momento (los búferes directos se devuelven y las regiones mapeadas se
+ * desmapean) mediante sun.misc.Unsafe.invokeCleaner, del módulo jdk.unsupported. Si la JVM no lo ofrece, las
+ * páginas solo se sueltan y el recolector las libera más tarde; mientras tanto siguen contando contra
+ * -XX:MaxDirectMemorySize (que por defecto coincide con -Xmx) o manteniendo el archivo mapeado.
+ */
+final class PagedMemory implements AutoCloseable {
+
+    /** Tamaño por defecto de cada página en bytes (64 MB). */
+    static final int DEFAULT_PAGE_BYTES = 1 << 26;
+
+    // Instancia de sun.misc.Unsafe y su método invokeCleaner, o null si no están disponibles
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Sin jdk.unsupported las páginas se liberan cuando el recolector las reclama
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final int pageShift; // log2 del tamaño de página
+    private final long pageMask; // Máscara del desplazamiento dentro de la página
+    private final ByteBuffer[] pages; // Páginas reservadas (null si aún no se usan)
+    private final FileChannel channel; // Archivo temporal mapeado (null si las páginas son búferes directos)
+    private final Path file; // Ruta del archivo temporal (null si las páginas son búferes directos)
+
+    /**
+     * Constructor que reserva el espacio de direcciones.
+     *
+     * @param bytes Tamaño total en bytes.
+     * @param pageBytes Tamaño de cada página en bytes (potencia de 2, múltiplo de 8).
+     * @param directory Directorio del archivo temporal mapeado, o null para usar búferes directos.
+     */
+    PagedMemory(long bytes, int pageBytes, Path directory) {
+        if (Integer.bitCount(pageBytes) != 1 || pageBytes < Long.BYTES) {
+            throw new IllegalArgumentException("El tamaño de página debe ser una potencia de 2 de al menos 8 bytes: " + pageBytes);
+        }
+        this.pageShift = Integer.numberOfTrailingZeros(pageBytes);
+        this.pageMask = pageBytes - 1;
+        long pageCount = (bytes + pageMask) >>> pageShift;
+        if (pageCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("La memoria paginada es demasiado grande: " + bytes + " bytes");
+        }
+        this.pages = new ByteBuffer[(int)pageCount];
+
+        if (directory == null) {
+            this.file = null;
+            this.channel = null;
+        } else {
+            try {
+                this.file = Files.createTempFile(directory, "dp-", ".pages");
+                this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo crear el archivo de páginas en " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Lee un double.
+     *
+     * @param index Posición en unidades de double.
+     * @return El valor almacenado (0 si nunca se escribió).
+     */
+    double getDouble(long index) {
+        long offset = index * Double.BYTES;
+        return page(offset).getDouble((int)(offset & pageMask));
+    }
+
+    /**
+     * Lee un long.
+     *
+     * @param index Posición en unidades de long.
+     * @return El valor almacenado (0 si nunca se escribió).
+     */
+    long getLong(long index) {
+        long offset = index * Long.BYTES;
+        return page(offset).getLong((int)(offset & pageMask));
+    }
+
+    /**
+     * Copia un tramo de doubles consecutivos a un arreglo del heap.
+     *
+     * @param index Posición del primer double.
+     * @param target Arreglo destino.
+     * @param from Primera posición del destino.
+     * @param length Número de doubles a copiar.
+     */
+    void readDoubles(long index, double[] target, int from, int length) {
+        while (length > 0) {
+            long offset = index * Double.BYTES;
+            int inPage = (int)(offset & pageMask);
+            int count = Math.min(length, (int)((pageMask + 1 - inPage) / Double.BYTES));
+            page(offset).asDoubleBuffer().get(inPage / Double.BYTES, target, from, count);
+            index += count;
+            from += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Copia un tramo de doubles consecutivos desde un arreglo del heap.
+     *
+     * @param index Posición del primer double.
+     * @param source Arreglo origen.
+     * @param from Primera posición del origen.
+     * @param length Número de doubles a copiar.
+     */
+    void writeDoubles(long index, double[] source, int from, int length) {
+        while (length > 0) {
+            long offset = index * Double.BYTES;
+            int inPage = (int)(offset & pageMask);
+            int count = Math.min(length, (int)((pageMask + 1 - inPage) / Double.BYTES));
+            page(offset).asDoubleBuffer().put(inPage / Double.BYTES, source, from, count);
+            index += count;
+            from += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Copia un tramo de longs consecutivos desde un arreglo del heap.
+     *
+     * @param index Posición del primer long.
+     * @param source Arreglo origen.
+     * @param from Primera posición del origen.
+     * @param length Número de longs a copiar.
+     */
+    void writeLongs(long index, long[] source, int from, int length) {
+        while (length > 0) {
+            long offset = index * Long.BYTES;
+            int inPage = (int)(offset & pageMask);
+            int count = Math.min(length, (int)((pageMask + 1 - inPage) / Long.BYTES));
+            page(offset).asLongBuffer().put(inPage / Long.BYTES, source, from, count);
+            index += count;
+            from += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Obtiene la memoria reservada hasta ahora (páginas usadas al menos una vez).
+     *
+     * @return El tamaño reservado en bytes.
+     */
+    long reservedBytes() {
+        long reserved = 0;
+        for (ByteBuffer page : pages) {
+            if (page != null) {
+                reserved += page.capacity();
+            }
+        }
+        return reserved;
+    }
+
+    /**
+     * Libera las páginas y elimina el archivo temporal, si lo hay.
+     * Después de cerrar no se debe leer ni escribir la memoria.
+     */
+    @Override
+    public void close() {
+        for (ByteBuffer page : pages) {
+            if (page != null) {
+                release(page);
+            }
+        }
+        Arrays.fill(pages, null);
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo cerrar el archivo de páginas " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Libera de inmediato la memoria de una página (o la desmapea), si la JVM lo permite.
+     *
+     * @param page La página a liberar; no se debe volver a usar.
+     */
+    private static void release(ByteBuffer page) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, page);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            // La página queda a cargo del recolector
+        }
+    }
+
+    /**
+     * Obtiene la página que contiene un desplazamiento, reservándola si aún no existe.
+     *
+     * @param offset Desplazamiento en bytes.
+     * @return La página.
+     */
+    private ByteBuffer page(long offset) {
+        int number = (int)(offset >>> pageShift);
+        ByteBuffer page = pages[number];
+        if (page == null) {
+            page = allocate(number);
+            pages[number] = page;
+        }
+        return page;
+    }
+
+    /**
+     * Reserva una página como búfer directo o como región mapeada del archivo temporal.
+     *
+     * @param number Número de página.
+     * @return La página reservada, en el orden de bytes nativo.
+     */
+    private ByteBuffer allocate(int number) {
+        int size = (int)(pageMask + 1);
+        if (channel == null) {
+            return ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, (long)number << pageShift, size)
+                .order(ByteOrder.nativeOrder());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo mapear la página " + number + " de " + file, e);
+        }
+    }
+}
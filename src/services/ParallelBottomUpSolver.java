@@ -0,0 +1,161 @@
+package services;
+
+import models.InventoryOptimizationResult;
+import models.Product;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solucionador Bottom-Up paralelo sobre la dimensión de capacidad.
+ * Cada fila de la tabla depende solo de la fila anterior, así que el rango de capacidades de una fila
+ * se divide en bloques que se calculan en paralelo en un {@link ForkJoinPool}. Los bloques están
+ * alineados a 64 columnas para que cada tarea escriba palabras distintas de la matriz de decisiones.
+ * Cada celda se calcula con la misma aritmética que la versión secuencial, por lo que el resultado
+ * es idéntico bit a bit al de {@link InventoryOptimizationService#memoryLeanOptimization}.
+ * Si el solucionador crea su propio grupo de hilos, {@link #close()} lo detiene; un grupo recibido
+ * del llamador (o el común de la JVM) no se detiene.
+ */
+public class ParallelBottomUpSolver implements AutoCloseable {
+
+    /** Número de celdas por debajo del cual se usa la versión secuencial. */
+    public static final long DEFAULT_SEQUENTIAL_THRESHOLD = 1L << 20;
+
+    private static final int MIN_CHUNK = 4096; // Columnas mínimas por tarea (múltiplo de 64)
+
+    private final ForkJoinPool pool; // Grupo de hilos que ejecuta las tareas
+    private final long sequentialThreshold; // Celdas mínimas para usar la versión paralela
+    private final boolean ownsPool; // Indica si el grupo de hilos lo creó este solucionador
+
+    /**
+     * Constructor que utiliza el grupo de hilos común de la JVM.
+     */
+    public ParallelBottomUpSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Constructor que crea un grupo de hilos propio con el nivel de paralelismo indicado.
+     * El grupo se detiene con {@link #close()}, por lo que conviene usar el solucionador en un try-with-resources.
+     *
+     * @param parallelism Número de hilos de trabajo.
+     */
+    public ParallelBottomUpSolver(int parallelism) {
+        this(new ForkJoinPool(parallelism), DEFAULT_SEQUENTIAL_THRESHOLD, true);
+    }
+
+    /**
+     * Constructor que inicializa el grupo de hilos y el umbral de la versión secuencial.
+     *
+     * @param pool Grupo de hilos que ejecuta las tareas.
+     * @param sequentialThreshold Número de celdas por debajo del cual se resuelve de forma secuencial.
+     */
+    public ParallelBottomUpSolver(ForkJoinPool pool, long sequentialThreshold) {
+        this(pool, sequentialThreshold, false);
+    }
+
+    /**
+     * Constructor común a los anteriores.
+     *
+     * @param pool Grupo de hilos que ejecuta las tareas.
+     * @param sequentialThreshold Número de celdas por debajo del cual se resuelve de forma secuencial.
+     * @param ownsPool true si el grupo lo creó el solucionador y debe detenerse al cerrarlo.
+     */
+    private ParallelBottomUpSolver(ForkJoinPool pool, long sequentialThreshold, boolean ownsPool) {
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+        this.ownsPool = ownsPool;
+    }
+
+    /**
+     * Detiene el grupo de hilos si lo creó este solucionador; las tareas en curso terminan antes.
+     * No hace nada con un grupo recibido del llamador ni con el común de la JVM.
+     */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Resuelve el problema de optimización llenando cada fila en paralelo.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult solve(Product[] products, double capacity, double budget) {
+        int n = products.length;
+        int maxCapacity = (int)capacity;
+        if ((long) n * (maxCapacity + 1) < sequentialThreshold || maxCapacity < 2 * MIN_CHUNK
+                || pool.getParallelism() < 2) {
+            return new InventoryOptimizationService().memoryLeanOptimization(products, capacity, budget);
+        }
+
+        double[] previous = new double[maxCapacity + 1];
+        double[] current = new double[maxCapacity + 1];
+        DecisionMatrix decisions = new DecisionMatrix(n, maxCapacity + 1);
+
+        for (int i = 1; i <= n; i++) {
+            Product currentProduct = products[i-1];
+            pool.invoke(new RowTask(
+                previous, current,
+                currentProduct.getValue(),
+                KnapsackRowKernel.shiftOf(currentProduct.getWeight()),
+                currentProduct.getValue() <= budget,
+                decisions, i - 1, 1, maxCapacity
+            ));
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return InventoryOptimizationService.reconstructSelection(i -> products[i], decisions, n, previous[maxCapacity], capacity);
+    }
+
+    /**
+     * Tarea que calcula un bloque de columnas de una fila, dividiéndolo mientras sea grande.
+     */
+    private static final class RowTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] previous; // Fila anterior de la tabla
+        private final double[] current; // Fila que se está calculando
+        private final double value; // Valor del producto de la fila
+        private final int shift; // Columnas que ocupa el producto
+        private final boolean usable; // Indica si el producto respeta el presupuesto
+        private final DecisionMatrix decisions; // Matriz de decisiones compartida
+        private final int row; // Fila de la matriz de decisiones
+        private final int from; // Primera columna del bloque
+        private final int to; // Última columna del bloque (inclusive)
+
+        RowTask(double[] previous, double[] current, double value, int shift, boolean usable,
+                DecisionMatrix decisions, int row, int from, int to) {
+            this.previous = previous;
+            this.current = current;
+            this.value = value;
+            this.shift = shift;
+            this.usable = usable;
+            this.decisions = decisions;
+            this.row = row;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from < 2 * MIN_CHUNK) {
+                KnapsackRowKernel.fillRow(previous, current, value, shift, usable, decisions, row, from, to);
+                return;
+            }
+            // Punto de corte alineado a 64 columnas para no compartir palabras de la matriz de decisiones
+            int mid = ((from + (to - from) / 2) >>> 6) << 6;
+            invokeAll(
+                new RowTask(previous, current, value, shift, usable, decisions, row, from, mid - 1),
+                new RowTask(previous, current, value, shift, usable, decisions, row, mid, to)
+            );
+        }
+    }
+}
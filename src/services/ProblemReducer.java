@@ -0,0 +1,333 @@
+package services;
+
+import models.OptimizationScenario;
+import models.Product;
+import models.ProductColumns;
+import java.util.*;
+
+/**
+ * Etapa de preprocesamiento que reduce el problema antes de resolverlo:
+ * <ol>
+ *   <li>Descarta los productos infactibles: sin valor, sin stock, con valor mayor al presupuesto o,
+ *       si no son divisibles, con peso mayor a la capacidad.</li>
+ *   <li>Fusiona los duplicados exactos (mismo nombre, valor, peso y divisibilidad) en un solo producto con varias unidades.</li>
+ *   <li>Descarta los productos indivisibles dominados: j es dominado por i si i pesa lo mismo o menos y vale lo mismo o más.
+ *       Que un producto esté dominado no basta en la mochila 0/1 (pueden convenir ambos), así que j solo se descarta cuando
+ *       todas las unidades de sus dominadores junto con j no caben: entonces cualquier solución con j deja fuera algún
+ *       dominador, que puede ocupar su lugar sin perder valor. Como aquí el valor también consume presupuesto, el cambio
+ *       solo es seguro si el presupuesto no limita; en caso contrario este paso se omite.</li>
+ *   <li>Si todos los pesos son enteros y no hay productos divisibles, divide los pesos y la capacidad por el máximo común
+ *       divisor de los pesos, lo que reduce el ancho de la tabla en ese factor sin cambiar las soluciones.</li>
+ * </ol>
+ */
+public class ProblemReducer {
+
+    /**
+     * Reduce el problema indicado.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El problema reducido, con su resumen y la correspondencia con los productos originales.
+     */
+    public ReducedProblem reduce(Product[] products, double capacity, double budget) {
+        // Paso 1: productos infactibles
+        List<Product> feasible = new ArrayList<>();
+        for (Product product : products) {
+            boolean fits = product.isCanBeSplit() || product.getWeight() <= capacity;
+            if (product.getValue() > 0 && product.getQuantity() > 0 && product.getValue() <= budget && fits) {
+                feasible.add(product);
+            }
+        }
+        int infeasibleCount = products.length - feasible.size();
+
+        // Paso 2: duplicados exactos, conservando el orden de primera aparición
+        Map<List<Object>, List<Product>> groups = new LinkedHashMap<>();
+        for (Product product : feasible) {
+            List<Object> key = Arrays.asList(product.getName(), product.getValue(), product.getWeight(), product.isCanBeSplit());
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(product);
+        }
+        List<Product[]> merged = new ArrayList<>();
+        for (List<Product> group : groups.values()) {
+            merged.add(group.toArray(new Product[0]));
+        }
+        int mergedCount = feasible.size() - merged.size();
+
+        // Paso 3: productos dominados (solo si el presupuesto no limita)
+        double totalValue = 0;
+        for (Product product : feasible) {
+            totalValue += product.getValue() * product.getQuantity();
+        }
+        int dominatedCount = 0;
+        if (totalValue <= budget) {
+            boolean[] dominated = findDominated(merged, capacity);
+            List<Product[]> survivors = new ArrayList<>();
+            for (int i = 0; i < merged.size(); i++) {
+                if (dominated[i]) {
+                    dominatedCount += merged.get(i).length;
+                } else {
+                    survivors.add(merged.get(i));
+                }
+            }
+            merged = survivors;
+        }
+
+        // Paso 4: máximo común divisor de los pesos enteros
+        long divisor = weightDivisor(merged);
+        double reducedCapacity = divisor > 1 ? Math.floor(capacity / divisor) : capacity;
+
+        Product[] reduced = new Product[merged.size()];
+        Product[][] originals = merged.toArray(new Product[0][]);
+        for (int i = 0; i < reduced.length; i++) {
+            Product first = originals[i][0];
+            int units = 0;
+            for (Product original : originals[i]) {
+                units += original.getQuantity();
+            }
+            reduced[i] = new Product(first.getName(), first.getValue(), first.getWeight() / divisor, first.isCanBeSplit(), units);
+        }
+        return new ReducedProblem(reduced, originals, reducedCapacity, budget, capacity,
+            divisor, products.length, infeasibleCount, dominatedCount, mergedCount);
+    }
+
+    /**
+     * Reduce un catálogo por columnas para todos los escenarios indicados, sin crear un {@link Product} por fila.
+     * Un producto se descarta por infactible si no sirve en ningún escenario (con la mayor capacidad y el mayor
+     * presupuesto), y por dominado solo si el valor total de los factibles no supera el menor presupuesto, de modo
+     * que el presupuesto no limite en ningún escenario. Los duplicados exactos no se fusionan (ver {@link ReducedCatalog}).
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param scenarios Escenarios de capacidad y presupuesto que se resolverán con el catálogo reducido.
+     * @return El catálogo reducido, con su resumen.
+     */
+    public ReducedCatalog reduce(ProductColumns columns, List<OptimizationScenario> scenarios) {
+        double capacity = 0;
+        double minBudget = scenarios.isEmpty() ? 0 : Double.POSITIVE_INFINITY;
+        double maxBudget = 0;
+        for (OptimizationScenario scenario : scenarios) {
+            capacity = Math.max(capacity, scenario.getCapacity());
+            minBudget = Math.min(minBudget, scenario.getBudget());
+            maxBudget = Math.max(maxBudget, scenario.getBudget());
+        }
+        int n = columns.size();
+        double[] values = columns.getValues();
+        double[] weights = columns.getWeights();
+
+        // Paso 1: productos infactibles
+        int[] rows = new int[n];
+        int count = 0;
+        double totalValue = 0;
+        for (int i = 0; i < n; i++) {
+            boolean fits = columns.isCanBeSplit(i) || weights[i] <= capacity;
+            if (values[i] > 0 && values[i] <= maxBudget && fits) {
+                rows[count++] = i;
+                totalValue += values[i];
+            }
+        }
+        int infeasibleCount = n - count;
+
+        // Paso 2: productos dominados (solo si el presupuesto no limita en ningún escenario)
+        double[] survivorValues = new double[count];
+        double[] survivorWeights = new double[count];
+        boolean[] survivorSplit = new boolean[count];
+        for (int k = 0; k < count; k++) {
+            survivorValues[k] = values[rows[k]];
+            survivorWeights[k] = weights[rows[k]];
+            survivorSplit[k] = columns.isCanBeSplit(rows[k]);
+        }
+        int dominatedCount = 0;
+        if (totalValue <= minBudget) {
+            int[] units = new int[count];
+            Arrays.fill(units, 1);
+            boolean[] dominated = findDominated(survivorValues, survivorWeights, units, survivorSplit, capacity);
+            int kept = 0;
+            for (int k = 0; k < count; k++) {
+                if (!dominated[k]) {
+                    rows[kept] = rows[k];
+                    survivorWeights[kept] = survivorWeights[k];
+                    survivorSplit[kept] = survivorSplit[k];
+                    kept++;
+                }
+            }
+            dominatedCount = count - kept;
+            count = kept;
+        }
+
+        // Paso 3: máximo común divisor de los pesos enteros
+        long divisor = weightDivisor(Arrays.copyOf(survivorWeights, count), Arrays.copyOf(survivorSplit, count));
+        return new ReducedCatalog(select(columns, Arrays.copyOf(rows, count), divisor), divisor,
+            capacity, minBudget, maxBudget, n, infeasibleCount, dominatedCount);
+    }
+
+    /**
+     * Copia las filas indicadas de un catálogo por columnas, dividiendo sus pesos.
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @param rows Filas que se conservan, en orden.
+     * @param divisor Factor por el que se dividen los pesos.
+     * @return El catálogo con solo esas filas.
+     */
+    private static ProductColumns select(ProductColumns columns, int[] rows, long divisor) {
+        int n = rows.length;
+        double[] values = new double[n];
+        double[] weights = new double[n];
+        long[] splitFlags = new long[(n + 63) >>> 6];
+        int[] nameOffsets = new int[n + 1];
+        int[] sourceOffsets = columns.getNameOffsets();
+        for (int k = 0; k < n; k++) {
+            int i = rows[k];
+            values[k] = columns.getValues()[i];
+            weights[k] = columns.getWeights()[i] / divisor;
+            if (columns.isCanBeSplit(i)) {
+                splitFlags[k >>> 6] |= 1L << k;
+            }
+            nameOffsets[k + 1] = nameOffsets[k] + sourceOffsets[i + 1] - sourceOffsets[i];
+        }
+        byte[] nameBytes = new byte[nameOffsets[n]];
+        for (int k = 0; k < n; k++) {
+            System.arraycopy(columns.getNameBytes(), sourceOffsets[rows[k]], nameBytes, nameOffsets[k],
+                nameOffsets[k + 1] - nameOffsets[k]);
+        }
+        return new ProductColumns(n, values, weights, splitFlags, nameBytes, nameOffsets);
+    }
+
+    /**
+     * Marca los grupos indivisibles que se pueden descartar por dominancia.
+     *
+     * @param groups Grupos de duplicados (cada grupo aporta tantas unidades como productos tiene).
+     * @param capacity Capacidad máxima del inventario.
+     * @return Para cada grupo, true si se puede descartar.
+     */
+    private boolean[] findDominated(List<Product[]> groups, double capacity) {
+        int count = groups.size();
+        double[] values = new double[count];
+        double[] weights = new double[count];
+        int[] units = new int[count];
+        boolean[] split = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            Product first = groups.get(i)[0];
+            values[i] = first.getValue();
+            weights[i] = first.getWeight();
+            units[i] = groups.get(i).length;
+            split[i] = first.isCanBeSplit();
+        }
+        return findDominated(values, weights, units, split, capacity);
+    }
+
+    /**
+     * Marca los productos indivisibles que se pueden descartar por dominancia. Recorre los productos por peso ascendente
+     * acumulando en un árbol de Fenwick, indexado por valor descendente, el peso de todas las unidades vistas;
+     * así la suma de pesos de los dominadores de cada producto se obtiene en tiempo logarítmico.
+     *
+     * @param values Valor de cada producto.
+     * @param weights Peso de cada producto.
+     * @param units Unidades que aporta cada producto.
+     * @param split Indicador de divisibilidad de cada producto (los divisibles no se descartan).
+     * @param capacity Capacidad máxima del inventario.
+     * @return Para cada producto, true si se puede descartar.
+     */
+    private boolean[] findDominated(double[] values, double[] weights, int[] units, boolean[] split, double capacity) {
+        boolean[] dominated = new boolean[values.length];
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            if (!split[i]) {
+                order.add(i);
+            }
+        }
+        order.sort(Comparator.comparingDouble((Integer i) -> weights[i]));
+
+        // Posición de cada valor en orden descendente (valores iguales comparten posición)
+        double[] distinct = order.stream().mapToDouble(i -> values[i]).distinct().sorted().toArray();
+        double[] tree = new double[distinct.length + 1];
+        double[] unitTree = new double[distinct.length + 1];
+        double slack = 1e-9 * Math.max(1, capacity);
+
+        int start = 0;
+        while (start < order.size()) {
+            // Los productos del mismo peso se insertan juntos antes de consultarlos
+            int end = start;
+            double weight = weights[order.get(start)];
+            Map<Double, Integer> unitsByValue = new HashMap<>(); // Unidades de este peso por cada valor
+            while (end < order.size() && weights[order.get(end)] == weight) {
+                int i = order.get(end);
+                int rank = descendingRank(distinct, values[i]);
+                fenwickAdd(tree, rank, weight * units[i]);
+                fenwickAdd(unitTree, rank, units[i]);
+                unitsByValue.merge(values[i], units[i], Integer::sum);
+                end++;
+            }
+            for (int k = start; k < end; k++) {
+                int i = order.get(k);
+                // Unidades con peso menor o igual y valor mayor o igual, sin contar las de igual peso y valor
+                // (se dominarían mutuamente); la holgura evita descartar por errores de redondeo en la suma de pesos
+                int rank = descendingRank(distinct, values[i]);
+                int equalUnits = unitsByValue.get(values[i]);
+                double dominatorUnits = fenwickSum(unitTree, rank) - equalUnits;
+                double dominatorWeight = fenwickSum(tree, rank) - weight * equalUnits;
+                dominated[i] = dominatorUnits > 0 && dominatorWeight + weight > capacity + slack;
+            }
+            start = end;
+        }
+        return dominated;
+    }
+
+    /**
+     * Calcula el máximo común divisor de los pesos si todos son enteros positivos y no hay productos divisibles.
+     *
+     * @param groups Grupos de productos sobrevivientes.
+     * @return El máximo común divisor, o 1 si los pesos no se pueden dividir.
+     */
+    private long weightDivisor(List<Product[]> groups) {
+        double[] weights = new double[groups.size()];
+        boolean[] split = new boolean[groups.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = groups.get(i)[0].getWeight();
+            split[i] = groups.get(i)[0].isCanBeSplit();
+        }
+        return weightDivisor(weights, split);
+    }
+
+    /**
+     * Calcula el máximo común divisor de los pesos si todos son enteros positivos y no hay productos divisibles.
+     *
+     * @param weights Peso de cada producto sobreviviente.
+     * @param split Indicador de divisibilidad de cada producto sobreviviente.
+     * @return El máximo común divisor, o 1 si los pesos no se pueden dividir.
+     */
+    private long weightDivisor(double[] weights, boolean[] split) {
+        long divisor = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double weight = weights[i];
+            if (split[i] || weight <= 0 || weight != Math.rint(weight) || weight > Long.MAX_VALUE) {
+                return 1;
+            }
+            long a = divisor;
+            long b = (long)weight;
+            while (b != 0) {
+                long r = a % b;
+                a = b;
+                b = r;
+            }
+            divisor = a;
+        }
+        return Math.max(1, divisor);
+    }
+
+    private static int descendingRank(double[] ascending, double value) {
+        return ascending.length - Arrays.binarySearch(ascending, value);
+    }
+
+    private static void fenwickAdd(double[] tree, int position, double amount) {
+        for (int i = position; i < tree.length; i += i & -i) {
+            tree[i] += amount;
+        }
+    }
+
+    private static double fenwickSum(double[] tree, int position) {
+        double sum = 0;
+        for (int i = position; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
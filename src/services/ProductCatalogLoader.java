@@ -0,0 +1,610 @@
+package services;
+
+import models.ProductColumns;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Cargador masivo de catálogos de productos desde archivos, mediante mapeo de memoria (NIO).
+ * Los datos se analizan directamente sobre los bytes mapeados, sin crear un String por campo,
+ * y se almacenan por columnas en un {@link ProductColumns}.
+ *
+ * Formatos admitidos:
+ * - CSV: una línea por producto con "nombre,valor,peso,divisible" (divisible: SI/NO, true/false o 1/0).
+ *   La primera línea se omite si es un encabezado. Los nombres no pueden contener comas.
+ * - Binario compacto (extensión .bin): encabezado "INVB", versión y cantidad, seguido de las columnas
+ *   de valores, pesos, divisibilidad, desplazamientos de nombres y bytes de nombres (little endian).
+ */
+public class ProductCatalogLoader {
+
+    private static final int MAGIC = 0x424E5649; // "INVB" en little endian
+    private static final int VERSION = 1; // Versión del formato binario
+    private static final int HEADER_BYTES = 12; // Magia, versión y cantidad de productos
+    private static final long WINDOW = 1L << 30; // Tamaño máximo de cada región mapeada
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Carga un catálogo eligiendo el formato según la extensión del archivo (.bin para binario, CSV en otro caso).
+     *
+     * @param path Ruta del archivo.
+     * @return El catálogo cargado por columnas.
+     * @throws IOException Si el archivo no se puede leer o tiene un formato inválido.
+     */
+    public ProductColumns load(Path path) throws IOException {
+        return path.toString().toLowerCase().endsWith(".bin") ? loadBinary(path) : loadCsv(path);
+    }
+
+    /**
+     * Carga un catálogo en formato CSV recorriendo el archivo en regiones mapeadas en memoria.
+     *
+     * @param path Ruta del archivo CSV.
+     * @return El catálogo cargado por columnas.
+     * @throws IOException Si el archivo no se puede leer o alguna línea es inválida.
+     */
+    public ProductColumns loadCsv(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ColumnsBuilder builder = new ColumnsBuilder((int) Math.min(size / 16 + 16, 1 << 20));
+            long position = 0;
+            long lineNumber = 0;
+
+            while (position < size) {
+                int length = (int) Math.min(WINDOW, size - position);
+                boolean lastWindow = position + length == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                int lineStart = 0;
+                while (lineStart < length) {
+                    int lineEnd = indexOf(buffer, '\n', lineStart, length);
+                    if (lineEnd < 0) {
+                        if (!lastWindow) {
+                            break; // La línea continúa en la siguiente región
+                        }
+                        lineEnd = length;
+                    }
+                    lineNumber++;
+                    parseCsvLine(buffer, lineStart, lineEnd, lineNumber, builder);
+                    lineStart = lineEnd + 1;
+                }
+                if (lineStart == 0) {
+                    throw new IOException("Línea " + (lineNumber + 1) + ": excede el tamaño máximo de región");
+                }
+                position += Math.min(lineStart, length);
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * Analiza un catálogo en formato CSV que ya está en memoria (por ejemplo, el cuerpo de una petición).
+     *
+     * @param data Bytes del contenido CSV.
+     * @return El catálogo cargado por columnas.
+     * @throws IOException Si alguna línea es inválida.
+     */
+    public ProductColumns parseCsv(byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        ColumnsBuilder builder = new ColumnsBuilder(data.length / 16 + 16);
+        int lineStart = 0;
+        long lineNumber = 0;
+        while (lineStart < data.length) {
+            int lineEnd = indexOf(buffer, '\n', lineStart, data.length);
+            if (lineEnd < 0) {
+                lineEnd = data.length;
+            }
+            lineNumber++;
+            parseCsvLine(buffer, lineStart, lineEnd, lineNumber, builder);
+            lineStart = lineEnd + 1;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Carga un catálogo en formato binario compacto, copiando cada columna desde regiones mapeadas.
+     *
+     * @param path Ruta del archivo binario.
+     * @return El catálogo cargado por columnas.
+     * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado.
+     */
+    public ProductColumns loadBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Archivo binario de catálogo incompleto: " + path);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("El archivo no es un catálogo binario válido: " + path);
+            }
+            int n = header.getInt(8);
+            if (n < 0 || n > Integer.MAX_VALUE - 8) {
+                throw new IOException("Cantidad de productos inválida en el catálogo binario: " + n);
+            }
+            int flagWords = (n + 63) >>> 6;
+
+            // Las columnas de tamaño fijo deben caber en el archivo antes de reservarlas
+            long columnBytes = HEADER_BYTES + 16L * n + 8L * flagWords + 4L * (n + 1);
+            if (columnBytes > channel.size()) {
+                throw new IOException("El catálogo binario declara " + n + " productos pero solo tiene "
+                    + channel.size() + " bytes: " + path);
+            }
+
+            long offset = HEADER_BYTES;
+            double[] values = new double[n];
+            offset = readDoubles(channel, offset, values);
+            double[] weights = new double[n];
+            offset = readDoubles(channel, offset, weights);
+            long[] splitFlags = new long[flagWords];
+            offset = readLongs(channel, offset, splitFlags);
+            int[] nameOffsets = new int[n + 1];
+            offset = readInts(channel, offset, nameOffsets);
+            checkNameOffsets(nameOffsets, channel.size() - columnBytes, path);
+            byte[] nameBytes = new byte[nameOffsets[n]];
+            offset = readBytes(channel, offset, nameBytes);
+            if (offset != channel.size()) {
+                throw new IOException("Tamaño inesperado del catálogo binario: " + path);
+            }
+            return new ProductColumns(n, values, weights, splitFlags, nameBytes, nameOffsets);
+        }
+    }
+
+    /**
+     * Verifica que los desplazamientos de los nombres empiecen en cero, no decrezcan y terminen dentro
+     * de los bytes que quedan en el archivo.
+     *
+     * @param nameOffsets Desplazamientos leídos (n + 1 valores).
+     * @param available Bytes del archivo disponibles para los nombres.
+     * @param path Ruta del archivo, para el mensaje de error.
+     * @throws IOException Si algún desplazamiento es inconsistente.
+     */
+    private static void checkNameOffsets(int[] nameOffsets, long available, Path path) throws IOException {
+        if (nameOffsets[0] != 0 || nameOffsets[nameOffsets.length - 1] > available) {
+            throw new IOException("Desplazamientos de nombres inválidos en el catálogo binario: " + path);
+        }
+        for (int i = 1; i < nameOffsets.length; i++) {
+            if (nameOffsets[i] < nameOffsets[i - 1]) {
+                throw new IOException("Desplazamientos de nombres inválidos en el catálogo binario: " + path);
+            }
+        }
+    }
+
+    /**
+     * Escribe un catálogo en el formato binario compacto que lee {@link #loadBinary(Path)}.
+     *
+     * @param columns Catálogo por columnas.
+     * @param path Ruta del archivo a escribir.
+     * @throws IOException Si el archivo no se puede escribir.
+     */
+    public void writeBinary(ProductColumns columns, Path path) throws IOException {
+        int n = columns.size();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(n);
+            for (int i = 0; i < n; i++) {
+                buffer = ensureRemaining(channel, buffer, Double.BYTES);
+                buffer.putDouble(columns.getValues()[i]);
+            }
+            for (int i = 0; i < n; i++) {
+                buffer = ensureRemaining(channel, buffer, Double.BYTES);
+                buffer.putDouble(columns.getWeights()[i]);
+            }
+            for (int i = 0; i < (n + 63) >>> 6; i++) {
+                buffer = ensureRemaining(channel, buffer, Long.BYTES);
+                buffer.putLong(columns.getSplitFlags()[i]);
+            }
+            for (int i = 0; i <= n; i++) {
+                buffer = ensureRemaining(channel, buffer, Integer.BYTES);
+                buffer.putInt(columns.getNameOffsets()[i]);
+            }
+            byte[] names = columns.getNameBytes();
+            for (int written = 0; written < columns.getNameOffsets()[n]; ) {
+                buffer = ensureRemaining(channel, buffer, 1);
+                int chunk = Math.min(buffer.remaining(), columns.getNameOffsets()[n] - written);
+                buffer.put(names, written, chunk);
+                written += chunk;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Analiza una línea CSV y agrega el producto al constructor de columnas.
+     *
+     * @param buffer Región mapeada que contiene la línea.
+     * @param start Inicio de la línea.
+     * @param end Fin de la línea (exclusivo, sin el salto de línea).
+     * @param lineNumber Número de línea, para los mensajes de error.
+     * @param builder Constructor de columnas.
+     * @throws IOException Si la línea no tiene el formato esperado.
+     */
+    private void parseCsvLine(ByteBuffer buffer, int start, int end, long lineNumber, ColumnsBuilder builder)
+            throws IOException {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (isBlank(buffer, start, end)) {
+            return;
+        }
+
+        // Delimitación de los cuatro campos sin crear cadenas intermedias
+        int firstComma = indexOf(buffer, ',', start, end);
+        int secondComma = firstComma < 0 ? -1 : indexOf(buffer, ',', firstComma + 1, end);
+        int thirdComma = secondComma < 0 ? -1 : indexOf(buffer, ',', secondComma + 1, end);
+        if (thirdComma < 0) {
+            throw new IOException("Línea " + lineNumber + ": se esperaban 4 campos (nombre,valor,peso,divisible)");
+        }
+
+        double value;
+        double weight;
+        boolean divisible;
+        try {
+            value = parseDouble(buffer, firstComma + 1, secondComma);
+            weight = parseDouble(buffer, secondComma + 1, thirdComma);
+            divisible = parseFlag(buffer, thirdComma + 1, end);
+        } catch (NumberFormatException e) {
+            if (lineNumber == 1) {
+                return; // Encabezado
+            }
+            throw new IOException("Línea " + lineNumber + ": " + e.getMessage(), e);
+        }
+
+        // Mismas validaciones que la entrada interactiva
+        if (value < 0) {
+            throw new IOException("Línea " + lineNumber + ": el valor debe ser un número no negativo");
+        }
+        if (weight <= 0) {
+            throw new IOException("Línea " + lineNumber + ": el peso debe ser un número positivo");
+        }
+        builder.add(buffer, start, firstComma, value, weight, divisible);
+    }
+
+    /**
+     * Convierte a double los bytes ASCII de un campo numérico. Los números con hasta 18 dígitos
+     * significativos y exponentes moderados se convierten de forma exacta sin crear objetos;
+     * el resto recurre a {@link Double#parseDouble(String)}.
+     *
+     * @param buffer Región que contiene el campo.
+     * @param start Inicio del campo.
+     * @param end Fin del campo (exclusivo).
+     * @return El número representado por el campo.
+     */
+    static double parseDouble(ByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+
+        int position = start;
+        boolean negative = false;
+        if (position < end && (buffer.get(position) == '-' || buffer.get(position) == '+')) {
+            negative = buffer.get(position) == '-';
+            position++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean exact = true;
+        boolean fraction = false;
+        for (; position < end; position++) {
+            byte c = buffer.get(position);
+            if (c == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            anyDigit = true;
+            if (significantDigits < 18) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    significantDigits++;
+                }
+                if (fraction) {
+                    exponent--;
+                }
+            } else {
+                exact &= c == '0';
+                if (!fraction) {
+                    exponent++;
+                }
+            }
+        }
+        if (!anyDigit) {
+            throw new NumberFormatException("número inválido '" + ascii(buffer, start, end) + "'");
+        }
+
+        if (position < end && (buffer.get(position) == 'e' || buffer.get(position) == 'E')) {
+            position++;
+            boolean negativeExponent = false;
+            if (position < end && (buffer.get(position) == '-' || buffer.get(position) == '+')) {
+                negativeExponent = buffer.get(position) == '-';
+                position++;
+            }
+            int explicitExponent = 0;
+            boolean anyExponentDigit = false;
+            for (; position < end && buffer.get(position) >= '0' && buffer.get(position) <= '9'; position++) {
+                explicitExponent = Math.min(explicitExponent * 10 + (buffer.get(position) - '0'), 100_000);
+                anyExponentDigit = true;
+            }
+            if (!anyExponentDigit) {
+                throw new NumberFormatException("número inválido '" + ascii(buffer, start, end) + "'");
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (position != end) {
+            throw new NumberFormatException("número inválido '" + ascii(buffer, start, end) + "'");
+        }
+
+        double result;
+        if (exact && mantissa < (1L << 53) && Math.abs(exponent) < POWERS_OF_TEN.length) {
+            result = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        } else {
+            result = Math.abs(Double.parseDouble(ascii(buffer, start, end)));
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Interpreta el campo de divisibilidad (SI/NO, S/N, TRUE/FALSE o 1/0, sin distinguir mayúsculas).
+     *
+     * @param buffer Región que contiene el campo.
+     * @param start Inicio del campo.
+     * @param end Fin del campo (exclusivo).
+     * @return true si el producto es divisible, false en caso contrario.
+     */
+    private static boolean parseFlag(ByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        if (matches(buffer, start, end, "SI") || matches(buffer, start, end, "S")
+                || matches(buffer, start, end, "TRUE") || matches(buffer, start, end, "1")) {
+            return true;
+        }
+        if (matches(buffer, start, end, "NO") || matches(buffer, start, end, "N")
+                || matches(buffer, start, end, "FALSE") || matches(buffer, start, end, "0")) {
+            return false;
+        }
+        throw new NumberFormatException("valor de divisibilidad inválido '" + ascii(buffer, start, end) + "'");
+    }
+
+    /**
+     * Compara un campo con una palabra en mayúsculas, sin distinguir mayúsculas de minúsculas.
+     *
+     * @param buffer Región que contiene el campo.
+     * @param start Inicio del campo.
+     * @param end Fin del campo (exclusivo).
+     * @param word Palabra ASCII en mayúsculas.
+     * @return true si el campo coincide con la palabra.
+     */
+    private static boolean matches(ByteBuffer buffer, int start, int end, String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            int c = buffer.get(start + i);
+            if (c >= 'a' && c <= 'z') {
+                c -= 'a' - 'A';
+            }
+            if (c != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifica si un rango de bytes contiene solo espacios o tabulaciones.
+     *
+     * @param buffer Región que contiene el rango.
+     * @param start Inicio del rango.
+     * @param end Fin del rango (exclusivo).
+     * @return true si el rango está en blanco.
+     */
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) != ' ' && buffer.get(i) != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Busca la siguiente aparición de un byte.
+     *
+     * @param buffer Región donde se busca.
+     * @param target Byte buscado.
+     * @param from Posición inicial.
+     * @param limit Fin de la búsqueda (exclusivo).
+     * @return La posición encontrada, o -1 si no hay.
+     */
+    private static int indexOf(ByteBuffer buffer, char target, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Crea una cadena con los bytes ASCII de un rango; solo se usa en mensajes de error y casos poco frecuentes.
+     *
+     * @param buffer Región que contiene el rango.
+     * @param start Inicio del rango.
+     * @param end Fin del rango (exclusivo).
+     * @return La cadena del rango.
+     */
+    private static String ascii(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Vacía el búfer de escritura en el canal si no queda espacio para los bytes indicados.
+     *
+     * @param channel Canal de escritura.
+     * @param buffer Búfer de escritura.
+     * @param bytes Bytes que se van a escribir.
+     * @return El búfer listo para escribir.
+     * @throws IOException Si el canal no se puede escribir.
+     */
+    private static ByteBuffer ensureRemaining(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+        return buffer;
+    }
+
+    /**
+     * Copia una columna de números desde regiones mapeadas del archivo. Las variantes para
+     * otros tipos primitivos siguen el mismo esquema.
+     *
+     * @param channel Canal del archivo.
+     * @param offset Posición de la columna en el archivo.
+     * @param target Arreglo destino (define la cantidad de elementos).
+     * @return La posición siguiente a la columna.
+     * @throws IOException Si el archivo está truncado o no se puede leer.
+     */
+    private static long readDoubles(FileChannel channel, long offset, double[] target) throws IOException {
+        int done = 0;
+        while (done < target.length) {
+            int count = (int) Math.min(target.length - done, WINDOW / Double.BYTES);
+            map(channel, offset, (long) count * Double.BYTES).asDoubleBuffer().get(target, done, count);
+            offset += (long) count * Double.BYTES;
+            done += count;
+        }
+        return offset;
+    }
+
+    private static long readLongs(FileChannel channel, long offset, long[] target) throws IOException {
+        int done = 0;
+        while (done < target.length) {
+            int count = (int) Math.min(target.length - done, WINDOW / Long.BYTES);
+            map(channel, offset, (long) count * Long.BYTES).asLongBuffer().get(target, done, count);
+            offset += (long) count * Long.BYTES;
+            done += count;
+        }
+        return offset;
+    }
+
+    private static long readInts(FileChannel channel, long offset, int[] target) throws IOException {
+        int done = 0;
+        while (done < target.length) {
+            int count = (int) Math.min(target.length - done, WINDOW / Integer.BYTES);
+            map(channel, offset, (long) count * Integer.BYTES).asIntBuffer().get(target, done, count);
+            offset += (long) count * Integer.BYTES;
+            done += count;
+        }
+        return offset;
+    }
+
+    private static long readBytes(FileChannel channel, long offset, byte[] target) throws IOException {
+        int done = 0;
+        while (done < target.length) {
+            int count = (int) Math.min(target.length - done, WINDOW);
+            map(channel, offset, count).get(target, done, count);
+            offset += count;
+            done += count;
+        }
+        return offset;
+    }
+
+    /**
+     * Mapea una región del archivo en modo lectura con orden little endian.
+     *
+     * @param channel Canal del archivo.
+     * @param offset Inicio de la región.
+     * @param length Tamaño de la región.
+     * @return La región mapeada.
+     * @throws IOException Si la región excede el archivo o no se puede mapear.
+     */
+    private static ByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        if (offset + length > channel.size()) {
+            throw new IOException("El catálogo binario está truncado");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Acumula las columnas del catálogo en arreglos primitivos que crecen según se necesite.
+     */
+    private static final class ColumnsBuilder {
+
+        private int size; // Número de productos agregados
+        private double[] values; // Valores agregados
+        private double[] weights; // Pesos agregados
+        private long[] splitFlags; // Bits de divisibilidad agregados
+        private byte[] nameBytes; // Bytes de nombres agregados
+        private int nameLength; // Bytes de nombres usados
+        private int[] nameOffsets; // Desplazamientos de nombres agregados
+
+        ColumnsBuilder(int initialCapacity) {
+            values = new double[initialCapacity];
+            weights = new double[initialCapacity];
+            splitFlags = new long[(initialCapacity + 63) >>> 6];
+            nameBytes = new byte[initialCapacity * 8];
+            nameOffsets = new int[initialCapacity + 1];
+        }
+
+        void add(ByteBuffer buffer, int nameStart, int nameEnd, double value, double weight, boolean divisible) {
+            if (size == values.length) {
+                int capacity = values.length * 2;
+                values = Arrays.copyOf(values, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                splitFlags = Arrays.copyOf(splitFlags, (capacity + 63) >>> 6);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+            }
+            int nameSize = nameEnd - nameStart;
+            if (nameLength + nameSize > nameBytes.length) {
+                nameBytes = Arrays.copyOf(nameBytes, Math.max(nameBytes.length * 2, nameLength + nameSize));
+            }
+            buffer.get(nameStart, nameBytes, nameLength, nameSize);
+            nameLength += nameSize;
+
+            values[size] = value;
+            weights[size] = weight;
+            if (divisible) {
+                splitFlags[size >>> 6] |= 1L << size;
+            }
+            size++;
+            nameOffsets[size] = nameLength;
+        }
+
+        ProductColumns build() {
+            return new ProductColumns(size,
+                Arrays.copyOf(values, size),
+                Arrays.copyOf(weights, size),
+                Arrays.copyOf(splitFlags, (size + 63) >>> 6),
+                Arrays.copyOf(nameBytes, nameLength),
+                Arrays.copyOf(nameOffsets, size + 1));
+        }
+    }
+}
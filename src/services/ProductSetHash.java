@@ -0,0 +1,89 @@
+package services;
+
+import models.Product;
+import models.ProductColumns;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Huella de contenido de un conjunto de productos (SHA-256 sobre nombre, valor, peso, divisibilidad
+ * y unidades en stock de cada producto, en orden). Dos arrays con los mismos productos en el mismo orden producen la misma huella,
+ * aunque sean objetos distintos.
+ */
+public final class ProductSetHash {
+
+    private ProductSetHash() {
+    }
+
+    /**
+     * Calcula la huella de contenido de un array de productos.
+     *
+     * @param products Array de productos.
+     * @return La huella en hexadecimal.
+     */
+    public static String of(Product[] products) {
+        MessageDigest digest = newDigest();
+        ByteBuffer fields = ByteBuffer.allocate(Integer.BYTES * 3 + Double.BYTES * 2 + 1);
+        fields.putInt(products.length);
+        digest.update(fields.array(), 0, Integer.BYTES);
+        for (Product product : products) {
+            byte[] name = product.getName().getBytes(StandardCharsets.UTF_8);
+            fields.clear();
+            fields.putInt(name.length)
+                .putDouble(product.getValue())
+                .putDouble(product.getWeight())
+                .put((byte) (product.isCanBeSplit() ? 1 : 0))
+                .putInt(product.getQuantity());
+            digest.update(fields.array(), 0, fields.position());
+            digest.update(name);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calcula la huella de contenido de un catálogo por columnas sin crear un {@link Product} por fila.
+     * Coincide con la de {@link #of(Product[])} sobre los productos de {@link ProductColumns#toProduct}
+     * (una unidad en stock cada uno).
+     *
+     * @param columns Catálogo de productos por columnas.
+     * @return La huella en hexadecimal.
+     */
+    public static String of(ProductColumns columns) {
+        MessageDigest digest = newDigest();
+        ByteBuffer fields = ByteBuffer.allocate(Integer.BYTES * 3 + Double.BYTES * 2 + 1);
+        fields.putInt(columns.size());
+        digest.update(fields.array(), 0, Integer.BYTES);
+        byte[] nameBytes = columns.getNameBytes();
+        int[] nameOffsets = columns.getNameOffsets();
+        for (int i = 0; i < columns.size(); i++) {
+            int nameLength = nameOffsets[i + 1] - nameOffsets[i];
+            fields.clear();
+            fields.putInt(nameLength)
+                .putDouble(columns.getValues()[i])
+                .putDouble(columns.getWeights()[i])
+                .put((byte) (columns.isCanBeSplit(i) ? 1 : 0))
+                .putInt(1);
+            digest.update(fields.array(), 0, fields.position());
+            digest.update(nameBytes, nameOffsets[i], nameLength);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
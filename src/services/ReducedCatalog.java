@@ -0,0 +1,159 @@
+package services;
+
+import models.AnytimeOptimizationResult;
+import models.InventoryOptimizationResult;
+import models.Product;
+import models.ProductColumns;
+import models.ProductSelection;
+import java.util.*;
+
+/**
+ * Catálogo por columnas reducido por {@link ProblemReducer}: las filas que sobreviven a la reducción, con los pesos
+ * divididos por su máximo común divisor, y el resumen de la reducción. Se resuelve con los enfoques por columnas
+ * usando {@link #reduceCapacity} y sus resultados se traducen a los productos originales con {@link #expand}.
+ * A diferencia de {@link ReducedProblem}, los duplicados exactos no se fusionan: los enfoques por columnas consideran
+ * una unidad por fila, así que fusionarlos solo volvería a repetirlos.
+ * La reducción es válida para cualquier capacidad y presupuesto que no superen los máximos con los que se hizo
+ * (y, si se descartaron productos dominados, con un presupuesto no menor al mínimo).
+ */
+public class ReducedCatalog {
+
+    private final ProductColumns columns; // Filas sobrevivientes, con los pesos reducidos
+    private final long weightDivisor; // Factor por el que se dividieron los pesos y la capacidad
+    private final double maxCapacity; // Mayor capacidad para la que la reducción es válida
+    private final double minBudget; // Menor presupuesto para el que la reducción es válida
+    private final double maxBudget; // Mayor presupuesto para el que la reducción es válida
+    private final int originalCount; // Número de productos del catálogo original
+    private final int infeasibleCount; // Productos descartados porque nunca pueden formar parte de una solución
+    private final int dominatedCount; // Productos descartados por estar dominados
+
+    ReducedCatalog(ProductColumns columns, long weightDivisor, double maxCapacity, double minBudget, double maxBudget,
+                   int originalCount, int infeasibleCount, int dominatedCount) {
+        this.columns = columns;
+        this.weightDivisor = weightDivisor;
+        this.maxCapacity = maxCapacity;
+        this.minBudget = minBudget;
+        this.maxBudget = maxBudget;
+        this.originalCount = originalCount;
+        this.infeasibleCount = infeasibleCount;
+        this.dominatedCount = dominatedCount;
+    }
+
+    /**
+     * Obtiene las filas sobrevivientes, con los pesos divididos por {@link #getWeightDivisor}.
+     *
+     * @return El catálogo reducido por columnas.
+     */
+    public ProductColumns getColumns() {
+        return columns;
+    }
+
+    /**
+     * Obtiene el factor por el que se dividieron los pesos y la capacidad (1 si no se dividieron).
+     *
+     * @return El máximo común divisor de los pesos.
+     */
+    public long getWeightDivisor() {
+        return weightDivisor;
+    }
+
+    /**
+     * Obtiene el número de productos del catálogo original.
+     *
+     * @return El número de productos originales.
+     */
+    public int getOriginalCount() {
+        return originalCount;
+    }
+
+    /**
+     * Obtiene el número de productos del catálogo reducido.
+     *
+     * @return El número de productos reducidos.
+     */
+    public int getReducedCount() {
+        return columns.size();
+    }
+
+    /**
+     * Obtiene el número de productos descartados porque nunca pueden formar parte de una solución
+     * (no caben, exceden el presupuesto o no tienen valor).
+     *
+     * @return El número de productos infactibles.
+     */
+    public int getInfeasibleCount() {
+        return infeasibleCount;
+    }
+
+    /**
+     * Obtiene el número de productos descartados por estar dominados por otros más livianos y valiosos.
+     *
+     * @return El número de productos dominados.
+     */
+    public int getDominatedCount() {
+        return dominatedCount;
+    }
+
+    /**
+     * Traduce una capacidad del catálogo original a la capacidad equivalente del catálogo reducido.
+     *
+     * @param capacity Capacidad del catálogo original.
+     * @return La capacidad reducida.
+     * @throws IllegalArgumentException Si la reducción no es válida para esa capacidad.
+     */
+    public double reduceCapacity(double capacity) {
+        if (capacity > maxCapacity) {
+            throw new IllegalArgumentException("El catálogo se redujo para una capacidad de hasta " + maxCapacity
+                + ", no para " + capacity);
+        }
+        return weightDivisor > 1 ? Math.floor(capacity / weightDivisor) : capacity;
+    }
+
+    /**
+     * Verifica que la reducción sea válida para el presupuesto indicado.
+     *
+     * @param budget Presupuesto disponible.
+     * @return El mismo presupuesto (la reducción no lo modifica).
+     * @throws IllegalArgumentException Si la reducción no es válida para ese presupuesto.
+     */
+    public double checkBudget(double budget) {
+        if (budget < minBudget || budget > maxBudget) {
+            throw new IllegalArgumentException("El catálogo se redujo para un presupuesto entre " + minBudget
+                + " y " + maxBudget + ", no para " + budget);
+        }
+        return budget;
+    }
+
+    /**
+     * Traduce un resultado del catálogo reducido a los productos originales: multiplica los pesos por el divisor
+     * y recalcula la capacidad restante con los pesos originales. Una capacidad restante desconocida (NaN, en los
+     * escenarios por lotes sin selección) se conserva, y un resultado con límite de tiempo conserva su cota y su estado.
+     *
+     * @param reducedResult Resultado obtenido sobre el catálogo reducido.
+     * @param capacity Capacidad del catálogo original con la que se obtuvo el resultado.
+     * @return El resultado equivalente sobre los productos originales.
+     */
+    public InventoryOptimizationResult expand(InventoryOptimizationResult reducedResult, double capacity) {
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        for (ProductSelection selection : reducedResult.getSelectedProducts()) {
+            Product product = selection.getProduct();
+            if (weightDivisor > 1) {
+                // Con el divisor no hay productos divisibles: cada selección es una unidad entera
+                product = new Product(product.getName(), product.getValue(), product.getWeight() * weightDivisor,
+                    product.isCanBeSplit(), product.getQuantity());
+            }
+            selectedProducts.add(new ProductSelection(product, selection.getQuantity()));
+            remainingCapacity -= product.getWeight() * selection.getQuantity();
+        }
+        if (Double.isNaN(reducedResult.getRemainingCapacity())) {
+            remainingCapacity = Double.NaN;
+        }
+        if (reducedResult instanceof AnytimeOptimizationResult) {
+            AnytimeOptimizationResult anytime = (AnytimeOptimizationResult) reducedResult;
+            return new AnytimeOptimizationResult(reducedResult.getTotalValue(), selectedProducts, remainingCapacity,
+                anytime.getUpperBound(), anytime.isComplete());
+        }
+        return new InventoryOptimizationResult(reducedResult.getTotalValue(), selectedProducts, remainingCapacity);
+    }
+}
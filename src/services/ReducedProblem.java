@@ -0,0 +1,213 @@
+package services;
+
+import models.AnytimeOptimizationResult;
+import models.InventoryOptimizationResult;
+import models.PlannedOptimizationResult;
+import models.Product;
+import models.ProductSelection;
+import java.util.*;
+
+/**
+ * Problema reducido por {@link ProblemReducer}: los productos que sobreviven a la reducción (con los duplicados
+ * fusionados en un solo producto con varias unidades y los pesos divididos por su máximo común divisor),
+ * la capacidad equivalente y el resumen de la reducción.
+ * Un resultado obtenido sobre el problema reducido se traduce a los productos originales con {@link #expand}.
+ */
+public class ReducedProblem {
+
+    private final Product[] products; // Productos reducidos (cada uno representa uno o más originales)
+    private final Product[][] originals; // Productos originales que representa cada producto reducido
+    private final double capacity; // Capacidad equivalente en el problema reducido
+    private final double budget; // Presupuesto disponible
+    private final double originalCapacity; // Capacidad del problema original
+    private final long weightDivisor; // Factor por el que se dividieron los pesos y la capacidad
+    private final int originalCount; // Número de productos del problema original
+    private final int infeasibleCount; // Productos descartados porque nunca pueden formar parte de una solución
+    private final int dominatedCount; // Productos descartados por estar dominados
+    private final int mergedCount; // Productos fusionados con un duplicado exacto
+
+    ReducedProblem(Product[] products, Product[][] originals, double capacity, double budget, double originalCapacity,
+                   long weightDivisor, int originalCount, int infeasibleCount, int dominatedCount, int mergedCount) {
+        this.products = products;
+        this.originals = originals;
+        this.capacity = capacity;
+        this.budget = budget;
+        this.originalCapacity = originalCapacity;
+        this.weightDivisor = weightDivisor;
+        this.originalCount = originalCount;
+        this.infeasibleCount = infeasibleCount;
+        this.dominatedCount = dominatedCount;
+        this.mergedCount = mergedCount;
+    }
+
+    /**
+     * Obtiene los productos reducidos. Cada uno tiene como stock la suma de las unidades de los originales
+     * que representa, por lo que se resuelven con el enfoque de cantidades acotadas.
+     *
+     * @return Los productos reducidos.
+     */
+    public Product[] getProducts() {
+        return products;
+    }
+
+    /**
+     * Obtiene los productos reducidos repetidos una vez por cada original que representan, para los enfoques
+     * que consideran una sola unidad por producto. Las repeticiones son el mismo objeto.
+     *
+     * @return Los productos reducidos, uno por cada producto original sobreviviente.
+     */
+    public Product[] toUnitProducts() {
+        List<Product> units = new ArrayList<>();
+        for (int i = 0; i < products.length; i++) {
+            for (int k = 0; k < originals[i].length; k++) {
+                units.add(products[i]);
+            }
+        }
+        return units.toArray(new Product[0]);
+    }
+
+    /**
+     * Obtiene la capacidad equivalente del problema reducido.
+     *
+     * @return La capacidad reducida.
+     */
+    public double getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Obtiene el presupuesto disponible (la reducción no lo modifica).
+     *
+     * @return El presupuesto disponible.
+     */
+    public double getBudget() {
+        return budget;
+    }
+
+    /**
+     * Obtiene el factor por el que se dividieron los pesos y la capacidad (1 si no se dividieron).
+     *
+     * @return El máximo común divisor de los pesos.
+     */
+    public long getWeightDivisor() {
+        return weightDivisor;
+    }
+
+    /**
+     * Obtiene el número de productos del problema original.
+     *
+     * @return El número de productos originales.
+     */
+    public int getOriginalCount() {
+        return originalCount;
+    }
+
+    /**
+     * Obtiene el número de productos del problema reducido.
+     *
+     * @return El número de productos reducidos.
+     */
+    public int getReducedCount() {
+        return products.length;
+    }
+
+    /**
+     * Obtiene el número de productos descartados porque nunca pueden formar parte de una solución
+     * (no caben, exceden el presupuesto, no tienen valor o no tienen stock).
+     *
+     * @return El número de productos infactibles.
+     */
+    public int getInfeasibleCount() {
+        return infeasibleCount;
+    }
+
+    /**
+     * Obtiene el número de productos descartados por estar dominados por otros más livianos y valiosos.
+     *
+     * @return El número de productos dominados.
+     */
+    public int getDominatedCount() {
+        return dominatedCount;
+    }
+
+    /**
+     * Obtiene el número de productos fusionados con un duplicado exacto.
+     *
+     * @return El número de productos fusionados.
+     */
+    public int getMergedCount() {
+        return mergedCount;
+    }
+
+    /**
+     * Obtiene el ancho de la tabla de Programación Dinámica del problema original.
+     *
+     * @return El número de columnas de la tabla original.
+     */
+    public long getOriginalTableWidth() {
+        return (long)originalCapacity + 1;
+    }
+
+    /**
+     * Obtiene el ancho de la tabla de Programación Dinámica del problema reducido.
+     *
+     * @return El número de columnas de la tabla reducida.
+     */
+    public long getReducedTableWidth() {
+        return (long)capacity + 1;
+    }
+
+    /**
+     * Traduce un resultado del problema reducido a los productos originales. Las unidades de cada producto
+     * reducido se reparten entre sus originales en orden, respetando el stock de cada uno, y la capacidad
+     * restante se recalcula con los pesos originales. Un resultado con límite de tiempo conserva su cota y su estado,
+     * y uno resuelto por el planificador conserva además su plan.
+     *
+     * @param reducedResult Resultado obtenido sobre el problema reducido.
+     * @return El resultado equivalente sobre los productos originales.
+     */
+    public InventoryOptimizationResult expand(InventoryOptimizationResult reducedResult) {
+        Map<Product, Integer> index = new IdentityHashMap<>();
+        for (int i = 0; i < products.length; i++) {
+            index.put(products[i], i);
+        }
+        int[] cursor = new int[products.length]; // Original en curso de cada producto reducido
+        double[] used = new double[products.length]; // Unidades ya asignadas al original en curso
+
+        Map<Product, Double> quantities = new LinkedHashMap<>();
+        for (ProductSelection selection : reducedResult.getSelectedProducts()) {
+            int i = index.get(selection.getProduct());
+            double pending = selection.getQuantity();
+            while (pending > 0 && cursor[i] < originals[i].length) {
+                Product original = originals[i][cursor[i]];
+                double available = Math.max(1, original.getQuantity()) - used[i];
+                double assigned = Math.min(pending, available);
+                quantities.merge(original, assigned, Double::sum);
+                pending -= assigned;
+                used[i] += assigned;
+                if (used[i] >= Math.max(1, original.getQuantity())) {
+                    cursor[i]++;
+                    used[i] = 0;
+                }
+            }
+        }
+
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = originalCapacity;
+        for (Map.Entry<Product, Double> entry : quantities.entrySet()) {
+            selectedProducts.add(new ProductSelection(entry.getKey(), entry.getValue()));
+            remainingCapacity -= entry.getKey().getWeight() * entry.getValue();
+        }
+        if (reducedResult instanceof PlannedOptimizationResult) {
+            PlannedOptimizationResult planned = (PlannedOptimizationResult) reducedResult;
+            return new PlannedOptimizationResult(reducedResult.getTotalValue(), selectedProducts, remainingCapacity,
+                planned.getUpperBound(), planned.isComplete(), planned.getPlan());
+        }
+        if (reducedResult instanceof AnytimeOptimizationResult) {
+            AnytimeOptimizationResult anytime = (AnytimeOptimizationResult) reducedResult;
+            return new AnytimeOptimizationResult(reducedResult.getTotalValue(), selectedProducts, remainingCapacity,
+                anytime.getUpperBound(), anytime.isComplete());
+        }
+        return new InventoryOptimizationResult(reducedResult.getTotalValue(), selectedProducts, remainingCapacity);
+    }
+}
@@ -0,0 +1,216 @@
+package services;
+
+import models.PhaseTiming;
+import models.SolverMetricsSnapshot;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas de bajo costo de los solucionadores: contadores de llamadas recursivas, nodos de Ramificación y Poda,
+ * aciertos y fallos de memoización, celdas calculadas y bytes reservados para tablas, y un histograma de tiempos
+ * por cada fase de cada solucionador (por ejemplo "bottomUp.llenado" y "bottomUp.reconstruccion").
+ * Los contadores usan {@link LongAdder}, así que registrar un evento desde varios hilos no genera contención.
+ * Las métricas se consultan con {@link #snapshot()}, en JSON con {@link #toJson()} o por JMX.
+ */
+public class SolverMetrics implements SolverMetricsMXBean {
+
+    /** Nombre con el que se registran las métricas en el servidor de administración de la plataforma. */
+    public static final String OBJECT_NAME = "aed.u3:type=SolverMetrics";
+
+    private static final SolverMetrics SHARED = new SolverMetrics(); // Métricas compartidas por defecto
+
+    private final LongAdder recursiveCalls = new LongAdder(); // Llamadas del enfoque recursivo
+    private final LongAdder branchAndBoundNodes = new LongAdder(); // Nodos explorados por Ramificación y Poda
+    private final LongAdder memoHits = new LongAdder(); // Aciertos de memoización
+    private final LongAdder memoMisses = new LongAdder(); // Fallos de memoización
+    private final LongAdder cellsFilled = new LongAdder(); // Celdas de tablas calculadas
+    private final LongAdder bytesAllocated = new LongAdder(); // Bytes reservados para tablas
+    private final ConcurrentHashMap<String, LatencyHistogram> timings = new ConcurrentHashMap<>(); // Tiempos por fase
+
+    /**
+     * Obtiene las métricas compartidas que usan los servicios creados sin métricas propias.
+     *
+     * @return Las métricas compartidas.
+     */
+    public static SolverMetrics shared() {
+        return SHARED;
+    }
+
+    /**
+     * Registra una llamada del enfoque recursivo.
+     */
+    void recursiveCall() {
+        recursiveCalls.increment();
+    }
+
+    /**
+     * Registra los nodos explorados por una resolución de Ramificación y Poda.
+     *
+     * @param nodes Número de nodos.
+     */
+    void branchAndBoundNodes(long nodes) {
+        branchAndBoundNodes.add(nodes);
+    }
+
+    /**
+     * Registra una consulta a la memoización.
+     *
+     * @param hit true si el estado ya estaba memorizado.
+     */
+    void memoLookup(boolean hit) {
+        (hit ? memoHits : memoMisses).increment();
+    }
+
+    /**
+     * Registra una tabla de Programación Dinámica calculada.
+     *
+     * @param cells Celdas calculadas.
+     * @param bytes Bytes reservados para la tabla.
+     */
+    void table(long cells, long bytes) {
+        cellsFilled.add(cells);
+        bytesAllocated.add(bytes);
+    }
+
+    /**
+     * Registra la duración de una fase de un solucionador.
+     *
+     * @param phase Solucionador y fase, por ejemplo "bottomUp.llenado".
+     * @param nanos Duración en nanosegundos.
+     */
+    public void recordPhase(String phase, long nanos) {
+        timings.computeIfAbsent(phase, name -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Ejecuta una operación registrando su duración como una fase.
+     *
+     * @param phase Solucionador y fase.
+     * @param operation Operación a medir.
+     * @param <T> Tipo del resultado.
+     * @return El resultado de la operación.
+     */
+    public <T> T time(String phase, Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            recordPhase(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Obtiene una fotografía de las métricas actuales.
+     *
+     * @return Los contadores y la distribución de tiempos de cada fase, ordenada por nombre.
+     */
+    public SolverMetricsSnapshot snapshot() {
+        List<PhaseTiming> phases = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(timings).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            phases.add(new PhaseTiming(entry.getKey(), histogram.count(), histogram.total(),
+                histogram.percentile(50), histogram.percentile(90), histogram.percentile(99), histogram.max()));
+        }
+        return new SolverMetricsSnapshot(recursiveCalls.sum(), branchAndBoundNodes.sum(), memoHits.sum(),
+            memoMisses.sum(), cellsFilled.sum(), bytesAllocated.sum(), phases);
+    }
+
+    /**
+     * Obtiene todas las métricas en formato JSON, para su lectura por otras herramientas.
+     *
+     * @return Las métricas en formato JSON.
+     */
+    public String toJson() {
+        SolverMetricsSnapshot snapshot = snapshot();
+        StringBuilder json = new StringBuilder();
+        json.append("{\"llamadasRecursivas\":").append(snapshot.getRecursiveCalls())
+            .append(",\"nodosRamificacionYPoda\":").append(snapshot.getBranchAndBoundNodes())
+            .append(",\"aciertosMemoizacion\":").append(snapshot.getMemoHits())
+            .append(",\"fallosMemoizacion\":").append(snapshot.getMemoMisses())
+            .append(",\"celdasCalculadas\":").append(snapshot.getCellsFilled())
+            .append(",\"bytesReservados\":").append(snapshot.getBytesAllocated())
+            .append(",\"fases\":{");
+        boolean first = true;
+        for (PhaseTiming timing : snapshot.getTimings()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(timing.getName()).append("\":{")
+                .append("\"mediciones\":").append(timing.getCount())
+                .append(",\"totalNs\":").append(timing.getTotalNanos())
+                .append(",\"p50Ns\":").append(timing.getP50Nanos())
+                .append(",\"p90Ns\":").append(timing.getP90Nanos())
+                .append(",\"p99Ns\":").append(timing.getP99Nanos())
+                .append(",\"maxNs\":").append(timing.getMaxNanos())
+                .append('}');
+        }
+        return json.append("}}").toString();
+    }
+
+    /**
+     * Registra estas métricas en el servidor de administración de la plataforma, para consultarlas con JConsole
+     * o cualquier cliente JMX. Si ya hay métricas registradas con el mismo nombre, no hace nada.
+     *
+     * @throws JMException Si el registro falla.
+     */
+    public void registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (!server.isRegistered(name)) {
+            server.registerMBean(this, name);
+        }
+    }
+
+    @Override
+    public long getRecursiveCalls() {
+        return recursiveCalls.sum();
+    }
+
+    @Override
+    public long getBranchAndBoundNodes() {
+        return branchAndBoundNodes.sum();
+    }
+
+    @Override
+    public long getMemoHits() {
+        return memoHits.sum();
+    }
+
+    @Override
+    public long getMemoMisses() {
+        return memoMisses.sum();
+    }
+
+    @Override
+    public long getCellsFilled() {
+        return cellsFilled.sum();
+    }
+
+    @Override
+    public long getBytesAllocated() {
+        return bytesAllocated.sum();
+    }
+
+    @Override
+    public String getJson() {
+        return toJson();
+    }
+
+    @Override
+    public void reset() {
+        recursiveCalls.reset();
+        branchAndBoundNodes.reset();
+        memoHits.reset();
+        memoMisses.reset();
+        cellsFilled.reset();
+        bytesAllocated.reset();
+        timings.clear();
+    }
+}
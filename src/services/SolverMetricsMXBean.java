@@ -0,0 +1,62 @@
+package services;
+
+/**
+ * Interfaz de administración (JMX) de las métricas de los solucionadores.
+ * Se registra con {@link SolverMetrics#registerMBean()} bajo el nombre {@value SolverMetrics#OBJECT_NAME}.
+ */
+public interface SolverMetricsMXBean {
+
+    /**
+     * Obtiene las llamadas del enfoque recursivo.
+     *
+     * @return El número de llamadas recursivas.
+     */
+    long getRecursiveCalls();
+
+    /**
+     * Obtiene los nodos explorados por Ramificación y Poda.
+     *
+     * @return El número de nodos explorados.
+     */
+    long getBranchAndBoundNodes();
+
+    /**
+     * Obtiene las consultas a la memoización que encontraron el estado.
+     *
+     * @return El número de aciertos.
+     */
+    long getMemoHits();
+
+    /**
+     * Obtiene las consultas a la memoización que no encontraron el estado.
+     *
+     * @return El número de fallos.
+     */
+    long getMemoMisses();
+
+    /**
+     * Obtiene las celdas de tablas de Programación Dinámica calculadas.
+     *
+     * @return El número de celdas.
+     */
+    long getCellsFilled();
+
+    /**
+     * Obtiene los bytes reservados para tablas de Programación Dinámica.
+     *
+     * @return El número de bytes.
+     */
+    long getBytesAllocated();
+
+    /**
+     * Obtiene todas las métricas, incluidos los percentiles de cada fase, en formato JSON.
+     *
+     * @return Las métricas en formato JSON.
+     */
+    String getJson();
+
+    /**
+     * Reinicia todos los contadores y distribuciones de tiempos.
+     */
+    void reset();
+}
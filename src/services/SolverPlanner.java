@@ -0,0 +1,380 @@
+package services;
+
+import models.OptimizationPlan;
+import models.Product;
+import models.SolverApproach;
+import models.SolverEstimate;
+import java.util.*;
+
+/**
+ * Planificador de solucionadores: estima el tiempo y la memoria de cada enfoque exacto a partir del número
+ * de productos, la capacidad, el presupuesto y la distribución de valores y pesos, y elige el adecuado
+ * de menor tiempo estimado, en lugar de ejecutar todos los enfoques.
+ * Los enfoques resuelven el problema en el que el presupuesto gastado se descuenta, como
+ * {@link InventoryOptimizationService#recursiveOptimization}; las variantes de Programación Dinámica que solo
+ * filtran por presupuesto se consideran únicamente cuando el presupuesto no limita la selección, porque
+ * entonces ambos problemas coinciden.
+ * Los enfoques de Programación Dinámica son exactos solo con pesos enteros; si los pesos son múltiplos de una
+ * fracción sencilla (por ejemplo 0,25), se resuelven sobre pesos y capacidad escalados (ver
+ * {@link OptimizationPlan#getWeightResolution()}), y su costo se estima con la capacidad escalada.
+ * Las fronteras de Pareto dispersas trabajan con pesos decimales sin escalarlos; su costo depende del número
+ * de estados no dominados, acotado por la poda (como en Ramificación y Poda) y por los valores o pesos
+ * distintos cuando son enteros con alguna resolución.
+ * Las constantes de costo son aproximadas (medidas con el código ya optimizado por el JIT): sirven para
+ * comparar enfoques entre sí, no para predecir tiempos exactos.
+ */
+public class SolverPlanner {
+
+    private static final double DP_CELL_NANOS = 1.0; // Tiempo por celda de la tabla Bottom-Up
+    private static final double TWO_CONSTRAINT_CELL_NANOS = 1.5; // Tiempo por celda y producto con dos restricciones
+    private static final double PARALLEL_ROW_NANOS = 20_000; // Costo de repartir y esperar las tareas de una fila
+    private static final double NODE_NANOS = 20; // Tiempo por nodo de Ramificación y Poda
+    private static final double STATE_NANOS = 100; // Tiempo por estado conservado en una frontera de Pareto
+    private static final double STATE_BYTES = 128; // Memoria por estado de la frontera (dos copias, valores vistos y rastro)
+    private static final double SORT_NANOS = 30; // Tiempo por comparación al ordenar productos
+    private static final double SUBSET_NANOS = 5; // Tiempo por subconjunto y nivel del encuentro a mitad de camino
+    private static final double HARDNESS_SCALE = 0.015; // Ruido de la regresión valor-peso que vuelve fácil a la poda
+    private static final double MAX_EXPONENT = 62; // Límite del exponente para no desbordar las estimaciones
+    private static final double TOLERANCE = 1e-9; // Tolerancia relativa para considerar entera una magnitud escalada
+    private static final String UNSTOPPABLE_REASON = "no puede detenerse y su tiempo estimado excede el plazo";
+    private static final long[] RESOLUTIONS = { // Resoluciones admitidas, de menor a mayor
+        1, 2, 4, 5, 8, 10, 16, 20, 25, 32, 40, 50, 64, 100, 125, 128, 200, 250, 256, 500, 512, 1000, 1024
+    };
+
+    private final long memoryLimitBytes; // Memoria máxima que puede usar el enfoque elegido
+    private final int parallelism; // Núcleos disponibles para el enfoque paralelo
+
+    /**
+     * Constructor que permite usar hasta la mitad de la memoria máxima de la JVM y todos los núcleos.
+     */
+    public SolverPlanner() {
+        this(Runtime.getRuntime().maxMemory() / 2, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor que inicializa los límites del planificador.
+     *
+     * @param memoryLimitBytes Memoria máxima que puede usar el enfoque elegido.
+     * @param parallelism Núcleos disponibles para el enfoque paralelo.
+     */
+    public SolverPlanner(long memoryLimitBytes, int parallelism) {
+        this.memoryLimitBytes = memoryLimitBytes;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Estima cada enfoque y elige el adecuado de menor tiempo estimado.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El plan, con el enfoque elegido y las estimaciones de todos los enfoques.
+     */
+    public OptimizationPlan plan(Product[] products, double capacity, double budget) {
+        return plan(products, capacity, budget, Long.MAX_VALUE);
+    }
+
+    /**
+     * Estima cada enfoque y elige el adecuado de menor tiempo estimado.
+     * Ramificación y Poda siempre es adecuada (trabaja con pesos decimales y sin tablas), así que siempre hay un plan.
+     * Con un plazo, los enfoques que no pueden detenerse solo se admiten si su tiempo estimado cabe en él;
+     * Ramificación y Poda y las fronteras de Pareto dispersas pueden detenerse.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param timeLimitNanos Tiempo disponible en nanosegundos (Long.MAX_VALUE si no hay plazo).
+     * @return El plan, con el enfoque elegido y las estimaciones de todos los enfoques.
+     */
+    public OptimizationPlan plan(Product[] products, double capacity, double budget, long timeLimitNanos) {
+        // Estadísticas de los productos que pueden incluirse por sí solos
+        int n = products.length;
+        int m = 0;
+        double[] weights = new double[n];
+        double[] values = new double[n];
+        double totalValue = 0;
+        double sumW = 0, sumV = 0, sumWW = 0, sumVV = 0, sumWV = 0;
+        for (Product product : products) {
+            double v = product.getValue();
+            double w = product.getWeight();
+            if (v > 0 && w <= capacity && v <= budget) {
+                weights[m] = Math.max(0, w);
+                values[m] = v;
+                m++;
+                totalValue += v;
+                sumW += w;
+                sumV += v;
+                sumWW += w * w;
+                sumVV += v * v;
+                sumWV += w * v;
+            }
+        }
+        boolean budgetBinding = totalValue > budget;
+        double noise = regressionNoise(m, sumW, sumV, sumWW, sumVV, sumWV);
+
+        // Resoluciones que vuelven enteros los pesos y los valores de los candidatos
+        long weightResolution = resolutionOf(weights, m);
+        long valueResolution = resolutionOf(values, m);
+        long tableResolution = Math.max(1, weightResolution);
+        long width = (long)Math.floor(capacity * tableResolution + TOLERANCE) + 1;
+        double weightUnits = 0;
+        for (int i = 0; i < m; i++) {
+            weightUnits += Math.rint(weights[i] * tableResolution);
+        }
+
+        List<SolverEstimate> estimates = new ArrayList<>();
+        double hardness = hardnessExponent(m, noise, budgetBinding);
+        estimates.add(estimateBranchAndBound(m, hardness));
+        estimates.add(estimateMeetInTheMiddle(m, timeLimitNanos));
+        estimates.add(estimateBottomUp(n, width, budgetBinding, weightResolution > 0));
+        estimates.add(estimateParallelBottomUp(n, width, budgetBinding, weightResolution > 0, timeLimitNanos));
+        estimates.add(estimateTwoConstraint(n, Math.min(width - 1, weightUnits),
+            Math.min(Math.floor(budget * Math.max(1, valueResolution) + TOLERANCE), totalValue * Math.max(1, valueResolution)),
+            weightResolution > 0 && valueResolution > 0, timeLimitNanos));
+        // Estados distintos posibles: a lo sumo uno por valor entero alcanzable y, sin presupuesto que limite,
+        // uno por peso entero alcanzable
+        double stateLimit = Math.pow(2, Math.min(m, MAX_EXPONENT));
+        if (valueResolution > 0) {
+            stateLimit = Math.min(stateLimit, Math.floor(Math.min(budget, totalValue) * valueResolution + TOLERANCE) + 1);
+        }
+        if (!budgetBinding && weightResolution > 0) {
+            stateLimit = Math.min(stateLimit, width);
+        }
+        estimates.add(estimateSparseFrontier(m, hardness, stateLimit));
+
+        SolverEstimate chosen = null;
+        for (SolverEstimate estimate : estimates) {
+            if (estimate.isSuitable() && (chosen == null || estimate.getEstimatedNanos() < chosen.getEstimatedNanos())) {
+                chosen = estimate;
+            }
+        }
+        return new OptimizationPlan(chosen, estimates, weightResolution, valueResolution);
+    }
+
+    /**
+     * Estima cuántas ramas deja vivas la cota fraccionaria, como exponente de base dos. Depende de lo parecidos
+     * que sean los productos: si el valor es casi una función lineal del peso, la cota casi no poda y las ramas
+     * crecen de forma exponencial (del orden de 2^(n/4)); si valor y peso no están relacionados, casi no crecen.
+     * Si el presupuesto limita la selección, la cota queda recortada al presupuesto restante y apenas poda:
+     * la búsqueda se parece a la de una suma de subconjuntos y crece del orden de 2^(n/2).
+     *
+     * @param m Número de productos candidatos.
+     * @param noise Fracción de la varianza del valor que no explica el peso (1 - r²).
+     * @param budgetBinding true si el presupuesto limita la selección.
+     * @return El exponente, entre 0 y el número de productos.
+     */
+    private static double hardnessExponent(int m, double noise, boolean budgetBinding) {
+        double exponent = 2 + m / 4.0 * Math.exp(-noise / HARDNESS_SCALE);
+        if (budgetBinding) {
+            exponent = Math.max(exponent, m / 2.0);
+        }
+        return Math.min(Math.min(m, MAX_EXPONENT), exponent);
+    }
+
+    /**
+     * Estima Ramificación y Poda: del orden de n * 2^exponente nodos (ver {@link #hardnessExponent}).
+     *
+     * @param m Número de productos candidatos.
+     * @param hardness Exponente de las ramas que sobreviven a la poda.
+     * @return La estimación.
+     */
+    private SolverEstimate estimateBranchAndBound(int m, double hardness) {
+        double nodes = Math.max(1, m) * Math.pow(2, hardness);
+        double sort = m * (1 + log2(m)) * SORT_NANOS;
+        return new SolverEstimate(SolverApproach.BRANCH_AND_BOUND, nodes * NODE_NANOS + sort, m * 64.0, true, null);
+    }
+
+    /**
+     * Estima las fronteras de Pareto dispersas: n mezclas de una frontera con tantos estados como ramas deja
+     * vivas la poda, pero nunca más que los estados distintos posibles. Con valores enteros y presupuesto que
+     * limita la selección, donde Ramificación y Poda explota, la frontera queda acotada por el presupuesto.
+     * Puede detenerse, así que el plazo no la descarta.
+     *
+     * @param m Número de productos candidatos.
+     * @param hardness Exponente de las ramas que sobreviven a la poda.
+     * @param stateLimit Número máximo de estados distintos por frontera.
+     * @return La estimación.
+     */
+    private SolverEstimate estimateSparseFrontier(int m, double hardness, double stateLimit) {
+        double states = Math.min(Math.pow(2, hardness), Math.max(1, stateLimit));
+        double time = m * states * STATE_NANOS + m * (1 + log2(m)) * SORT_NANOS;
+        double bytes = states * STATE_BYTES + m * 64.0;
+        String reason = bytes > memoryLimitBytes ? "excede la memoria disponible" : null;
+        return new SolverEstimate(SolverApproach.SPARSE_FRONTIER, time, bytes, reason == null, reason);
+    }
+
+    /**
+     * Estima el encuentro a mitad de camino: enumera y ordena 2^(n/2) subconjuntos por mitad.
+     *
+     * @param m Número de productos candidatos.
+     * @param timeLimitNanos Tiempo disponible en nanosegundos.
+     * @return La estimación.
+     */
+    private SolverEstimate estimateMeetInTheMiddle(int m, long timeLimitNanos) {
+        int half = m - m / 2;
+        double subsets = Math.pow(2, Math.min(half, MAX_EXPONENT));
+        double time = 2 * subsets * Math.max(1, half) * SUBSET_NANOS;
+        double bytes = 2 * subsets * (2 * Double.BYTES + Long.BYTES);
+        String reason = null;
+        if (m > MeetInTheMiddleSolver.MAX_PRODUCTS) {
+            reason = "admite hasta " + MeetInTheMiddleSolver.MAX_PRODUCTS + " productos";
+        } else if (bytes > memoryLimitBytes) {
+            reason = "excede la memoria disponible";
+        } else if (time > timeLimitNanos) {
+            reason = UNSTOPPABLE_REASON;
+        }
+        return new SolverEstimate(SolverApproach.MEET_IN_THE_MIDDLE, time, bytes, reason == null, reason);
+    }
+
+    /**
+     * Estima el enfoque Bottom-Up de bajo consumo de memoria: n filas de la capacidad más uno.
+     *
+     * @param n Número de productos.
+     * @param width Ancho de la tabla (capacidad entera más uno).
+     * @param budgetBinding true si el presupuesto limita la selección.
+     * @param integralWeights true si los pesos son enteros con alguna resolución admitida.
+     * @return La estimación.
+     */
+    private SolverEstimate estimateBottomUp(int n, long width, boolean budgetBinding, boolean integralWeights) {
+        double cells = (double)n * width;
+        double decisionBytes = (double)n * ((width + 63) / 64) * Long.BYTES;
+        double bytes = 2.0 * width * Double.BYTES + decisionBytes;
+        String reason = dynamicProgrammingReason(budgetBinding, integralWeights, decisionBytes, bytes);
+        return new SolverEstimate(SolverApproach.BOTTOM_UP, cells * DP_CELL_NANOS, bytes, reason == null, reason);
+    }
+
+    /**
+     * Estima el enfoque Bottom-Up paralelo: las celdas se reparten entre los núcleos, con un costo fijo por fila.
+     *
+     * @param n Número de productos.
+     * @param width Ancho de la tabla (capacidad entera más uno).
+     * @param budgetBinding true si el presupuesto limita la selección.
+     * @param integralWeights true si los pesos son enteros con alguna resolución admitida.
+     * @param timeLimitNanos Tiempo disponible en nanosegundos.
+     * @return La estimación.
+     */
+    private SolverEstimate estimateParallelBottomUp(int n, long width, boolean budgetBinding, boolean integralWeights,
+                                                    long timeLimitNanos) {
+        double cells = (double)n * width;
+        double decisionBytes = (double)n * ((width + 63) / 64) * Long.BYTES;
+        double bytes = 2.0 * width * Double.BYTES + decisionBytes;
+        String reason = dynamicProgrammingReason(budgetBinding, integralWeights, decisionBytes, bytes);
+        if (reason == null && parallelism < 2) {
+            reason = "solo hay un núcleo disponible";
+        } else if (reason == null && cells < ParallelBottomUpSolver.DEFAULT_SEQUENTIAL_THRESHOLD) {
+            reason = "la tabla es demasiado pequeña para repartirla";
+        }
+        double time = cells * DP_CELL_NANOS / Math.max(1, parallelism) + n * PARALLEL_ROW_NANOS;
+        if (reason == null && time > timeLimitNanos) {
+            reason = UNSTOPPABLE_REASON;
+        }
+        return new SolverEstimate(SolverApproach.PARALLEL_BOTTOM_UP, time, bytes, reason == null, reason);
+    }
+
+    /**
+     * Estima la Programación Dinámica con dos restricciones: n pasadas sobre la tabla capacidad por presupuesto.
+     *
+     * @param n Número de productos.
+     * @param capacityUnits Capacidad útil en unidades enteras.
+     * @param budgetUnits Presupuesto útil en unidades enteras.
+     * @param integral true si los pesos y los valores son enteros con alguna resolución admitida.
+     * @param timeLimitNanos Tiempo disponible en nanosegundos.
+     * @return La estimación.
+     */
+    private SolverEstimate estimateTwoConstraint(int n, double capacityUnits, double budgetUnits, boolean integral,
+                                                 long timeLimitNanos) {
+        double cells = (Math.max(0, capacityUnits) + 1) * (Math.max(0, budgetUnits) + 1);
+        double time = n * cells * TWO_CONSTRAINT_CELL_NANOS;
+        double bytes = cells * Double.BYTES + n * Math.ceil(cells / 64) * Long.BYTES;
+        String reason = null;
+        if (!integral) {
+            reason = "los pesos o valores decimales no tienen una resolución exacta";
+        } else if (bytes / Double.BYTES > TwoConstraintSolver.DEFAULT_MAX_CELLS) {
+            reason = "la tabla de capacidad por presupuesto es demasiado grande";
+        } else if (bytes > memoryLimitBytes) {
+            reason = "excede la memoria disponible";
+        } else if (time > timeLimitNanos) {
+            reason = UNSTOPPABLE_REASON;
+        }
+        return new SolverEstimate(SolverApproach.TWO_CONSTRAINT, time, bytes,
+            reason == null, reason);
+    }
+
+    /**
+     * Determina si la Programación Dinámica por capacidad resuelve el problema de forma exacta y cabe en memoria.
+     *
+     * @param budgetBinding true si el presupuesto limita la selección.
+     * @param integralWeights true si los pesos son enteros con alguna resolución admitida.
+     * @param decisionBytes Memoria de la matriz de decisiones.
+     * @param bytes Memoria total estimada.
+     * @return El motivo por el que no es adecuada, o null si lo es.
+     */
+    private String dynamicProgrammingReason(boolean budgetBinding, boolean integralWeights, double decisionBytes, double bytes) {
+        if (budgetBinding) {
+            return "solo filtra por presupuesto y el presupuesto limita la selección";
+        }
+        if (!integralWeights) {
+            return "los pesos decimales no tienen una resolución exacta";
+        }
+        if (decisionBytes > (Integer.MAX_VALUE - 8L) * Long.BYTES || bytes > memoryLimitBytes) {
+            return "excede la memoria disponible";
+        }
+        return null;
+    }
+
+    /**
+     * Busca la menor resolución admitida que vuelve enteras todas las magnitudes.
+     *
+     * @param amounts Magnitudes a escalar.
+     * @param count Número de magnitudes (las primeras posiciones del arreglo).
+     * @return La resolución, o 0 si ninguna resolución admitida las vuelve enteras.
+     */
+    static long resolutionOf(double[] amounts, int count) {
+        for (long resolution : RESOLUTIONS) {
+            boolean integral = true;
+            for (int i = 0; i < count && integral; i++) {
+                double scaled = amounts[i] * resolution;
+                integral = Math.abs(scaled - Math.rint(scaled)) <= TOLERANCE * Math.max(1, Math.abs(scaled));
+            }
+            if (integral) {
+                return resolution;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Calcula qué fracción de la varianza del valor no explica una regresión lineal sobre el peso (1 - r²).
+     * Si los pesos o los valores son todos iguales, ordenar por densidad basta y se considera sin relación.
+     *
+     * @param m Número de productos.
+     * @param sumW Suma de pesos.
+     * @param sumV Suma de valores.
+     * @param sumWW Suma de pesos al cuadrado.
+     * @param sumVV Suma de valores al cuadrado.
+     * @param sumWV Suma de productos peso por valor.
+     * @return La fracción de varianza no explicada, entre 0 y 1.
+     */
+    private static double regressionNoise(int m, double sumW, double sumV, double sumWW, double sumVV, double sumWV) {
+        if (m < 2) {
+            return 1;
+        }
+        double varW = sumWW - sumW * sumW / m;
+        double varV = sumVV - sumV * sumV / m;
+        if (varW <= 1e-12 * Math.max(1, sumWW) || varV <= 1e-12 * Math.max(1, sumVV)) {
+            return 1;
+        }
+        double cov = sumWV - sumW * sumV / m;
+        return Math.min(1, Math.max(0, 1 - cov * cov / (varW * varV)));
+    }
+
+    /**
+     * Calcula el logaritmo en base dos.
+     *
+     * @param x Número positivo.
+     * @return log2(x), o 0 si x es menor que 1.
+     */
+    private static double log2(double x) {
+        return x < 1 ? 0 : Math.log(x) / Math.log(2);
+    }
+}
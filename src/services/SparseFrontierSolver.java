@@ -0,0 +1,553 @@
+package services;
+
+import models.AnytimeOptimizationResult;
+import models.Product;
+import models.ProductSelection;
+import java.util.*;
+
+/**
+ * Solucionador exacto por fronteras de Pareto dispersas, para pesos y capacidades decimales.
+ * En lugar de una tabla indexada por la capacidad entera, guarda después de cada producto solo los estados
+ * (peso, presupuesto gastado, valor) que ninguna otra selección parcial domina, ordenados por peso. Como el
+ * presupuesto gastado es la suma de los valores (igual que en
+ * {@link InventoryOptimizationService#recursiveOptimization}), cada estado se reduce a su peso y su valor.
+ * Cada producto combina la frontera actual con la misma frontera desplazada por su peso y su valor, en una
+ * sola pasada de mezcla que descarta los estados dominados:
+ * un estado domina a otro más pesado y de menor o igual valor si el presupuesto ya no puede limitarlo (su
+ * valor más el de todos los productos restantes cabe en el presupuesto), y de dos estados con el mismo valor
+ * basta el más liviano. Además se descartan los estados cuya cota fraccionaria no supera a la mejor solución.
+ * El costo depende del número de estados útiles y no del rango numérico de la capacidad, y los pesos se
+ * suman sin truncarlos ni escalarlos.
+ * Con un límite de estados por frontera se conservan los de mayor cota y el resultado deja de ser exacto; la
+ * cota superior del óptimo es entonces la mayor cota de los estados descartados. Con una señal de
+ * cancelación se detiene entre productos y devuelve la mejor solución conocida, igual que
+ * {@link BranchAndBoundSolver}. Cada instancia resuelve un problema a la vez.
+ */
+public class SparseFrontierSolver {
+
+    /** Valor del límite de estados que indica que las fronteras no se recortan. */
+    public static final int UNLIMITED = 0;
+
+    private static final double BOUND_SLACK = 1e-12; // Holgura relativa para absorber errores de redondeo en la cota
+    private static final int MIN_COMPACT_NODES = 1 << 16; // Nodos de rastro a partir de los cuales se compacta
+    private static final int CHECK_MASK = (1 << 12) - 1; // La señal se consulta cada 4096 estados de una mezcla
+
+    private final int maxStates; // Máximo de estados por frontera (UNLIMITED para no recortar)
+
+    private Product[] sorted; // Productos candidatos ordenados por densidad descendente
+    private double[] weights; // Pesos en el orden de procesamiento
+    private double[] values; // Valores en el orden de procesamiento
+    private double[] prefixWeight; // Suma acumulada de pesos (prefixWeight[i] = suma de los primeros i)
+    private double[] prefixValue; // Suma acumulada de valores
+
+    // Frontera actual, ordenada por peso ascendente y, a igual peso, por valor descendente
+    private double[] frontierWeight;
+    private double[] frontierValue;
+    private double[] frontierBound; // Cota superior de cada estado con los productos restantes
+    private int[] frontierNode; // Último nodo de rastro de cada estado (-1 para la selección vacía)
+    private int frontierSize;
+
+    // Arreglos de la próxima frontera, reutilizados entre productos
+    private double[] nextWeight;
+    private double[] nextValue;
+    private double[] nextBound;
+    private int[] nextNode;
+
+    // Rastro de decisiones: cada nodo es un producto incluido y apunta al nodo de la selección anterior
+    private int[] nodeItem;
+    private int[] nodeParent;
+    private int nodeCount;
+    private int compactThreshold; // Número de nodos a partir del cual se compacta el rastro
+
+    // Conjunto de valores ya vistos en la mezcla actual (direccionamiento abierto con sello por producto)
+    private long[] seenKeys;
+    private int[] seenStamps;
+    private int seenShift; // Desplazamiento que deja los bits altos del hash como posición en la tabla
+
+    private CancellationToken token; // Señal de cancelación (null si no hay límite)
+
+    private double bestValue; // Valor de la mejor solución conocida
+    private int bestNode; // Nodo de rastro de la mejor solución conocida
+    private double discardedBound; // Mayor cota de los estados descartados por el límite o por la señal
+    private boolean complete; // Indica si ninguna frontera se recortó y la búsqueda terminó
+    private int peakStates; // Mayor tamaño de frontera de la última resolución
+    private long totalStates; // Estados conservados, sumados sobre todas las fronteras
+
+    /**
+     * Constructor que no limita el tamaño de las fronteras (resultado exacto).
+     */
+    public SparseFrontierSolver() {
+        this(UNLIMITED);
+    }
+
+    /**
+     * Constructor que inicializa el límite de estados por frontera.
+     *
+     * @param maxStates Número máximo de estados por frontera, o {@link #UNLIMITED} para no recortar.
+     */
+    public SparseFrontierSolver(int maxStates) {
+        if (maxStates < 0) {
+            throw new IllegalArgumentException("El límite de estados no puede ser negativo: " + maxStates);
+        }
+        this.maxStates = maxStates;
+    }
+
+    /**
+     * Resuelve el problema de optimización con fronteras de Pareto dispersas.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, con una cota superior del óptimo (igual al valor si es exacto).
+     */
+    public AnytimeOptimizationResult solve(Product[] products, double capacity, double budget) {
+        return solve(products, capacity, budget, null);
+    }
+
+    /**
+     * Resuelve el problema con fronteras de Pareto dispersas hasta terminar o hasta que se cancele la señal.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @param token Señal de cancelación o plazo, o null para resolver hasta el final.
+     * @return La mejor solución encontrada, con una cota superior del óptimo (igual al valor si es exacta).
+     */
+    public AnytimeOptimizationResult solve(Product[] products, double capacity, double budget, CancellationToken token) {
+        this.token = token;
+        prepare(products, capacity, budget);
+        seedWithGreedy(capacity, budget);
+
+        for (int i = 0; i < sorted.length; i++) {
+            if (!merge(i, capacity, budget)) {
+                // La frontera anterior sigue vigente y sus estados pendientes solo aportan su cota
+                for (int s = 0; s < frontierSize; s++) {
+                    discardedBound = Math.max(discardedBound, frontierBound[s]);
+                }
+                complete = false;
+                break;
+            }
+            if (maxStates != UNLIMITED && frontierSize > maxStates) {
+                truncate();
+            }
+            peakStates = Math.max(peakStates, frontierSize);
+            totalStates += frontierSize;
+            if (nodeCount >= compactThreshold) {
+                compact();
+            }
+        }
+        return buildResult(capacity);
+    }
+
+    /**
+     * Obtiene el mayor tamaño de frontera de la última resolución.
+     *
+     * @return El número máximo de estados conservados después de un producto.
+     */
+    public int getPeakStates() {
+        return peakStates;
+    }
+
+    /**
+     * Obtiene el número de estados conservados en la última resolución, sumado sobre todas las fronteras.
+     *
+     * @return El número total de estados.
+     */
+    public long getStateCount() {
+        return totalStates;
+    }
+
+    /**
+     * Filtra los productos que nunca pueden incluirse, los ordena por densidad de valor e inicia la
+     * frontera con la selección vacía.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     */
+    private void prepare(Product[] products, double capacity, double budget) {
+        List<Product> candidates = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getValue() > 0 && product.getWeight() <= capacity && product.getValue() <= budget) {
+                candidates.add(product);
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(SparseFrontierSolver::densityOf).reversed());
+
+        int n = candidates.size();
+        sorted = candidates.toArray(new Product[0]);
+        weights = new double[n];
+        values = new double[n];
+        prefixWeight = new double[n + 1];
+        prefixValue = new double[n + 1];
+        for (int i = 0; i < n; i++) {
+            weights[i] = Math.max(0, sorted[i].getWeight());
+            values[i] = sorted[i].getValue();
+            prefixWeight[i + 1] = prefixWeight[i] + weights[i];
+            prefixValue[i + 1] = prefixValue[i] + values[i];
+        }
+
+        frontierWeight = new double[16];
+        frontierValue = new double[16];
+        frontierBound = new double[16];
+        frontierNode = new int[16];
+        frontierSize = 1;
+        frontierBound[0] = upperBound(0, capacity, budget, 0);
+        frontierNode[0] = -1;
+        nextWeight = new double[16];
+        nextValue = new double[16];
+        nextBound = new double[16];
+        nextNode = new int[16];
+
+        nodeItem = new int[64];
+        nodeParent = new int[64];
+        nodeCount = 0;
+        compactThreshold = MIN_COMPACT_NODES;
+        seenKeys = new long[64];
+        seenStamps = new int[64];
+        seenShift = Long.SIZE - 6;
+        Arrays.fill(seenStamps, -1);
+
+        bestValue = 0;
+        bestNode = -1;
+        discardedBound = 0;
+        complete = true;
+        peakStates = 1;
+        totalStates = 1;
+    }
+
+    /**
+     * Calcula una primera solución factible tomando los productos en orden de densidad.
+     * Una buena solución inicial permite descartar por cota más estados desde el comienzo.
+     *
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     */
+    private void seedWithGreedy(double capacity, double budget) {
+        double value = 0;
+        int node = -1;
+        for (int i = 0; i < sorted.length; i++) {
+            if (weights[i] <= capacity && values[i] <= budget) {
+                capacity -= weights[i];
+                budget -= values[i];
+                value += values[i];
+                node = addNode(i, node);
+            }
+        }
+        bestValue = value;
+        bestNode = node;
+    }
+
+    /**
+     * Actualiza la frontera con el producto indicado: mezcla por peso los estados que no lo incluyen con los
+     * que sí lo incluyen y conserva solo los no dominados cuya cota supera a la mejor solución.
+     * Si la señal se cancela a mitad de la mezcla, la frontera anterior queda sin cambios.
+     *
+     * @param item Índice (en orden de densidad) del producto.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return true si la mezcla terminó, false si se detuvo por la señal.
+     */
+    private boolean merge(int item, double capacity, double budget) {
+        double itemWeight = weights[item];
+        double itemValue = values[item];
+        // Un estado con valor hasta este límite puede incluir todos los productos restantes sin exceder el presupuesto
+        double freeValue = budget - (prefixValue[sorted.length] - prefixValue[item + 1]);
+        // Cada estado aporta a lo sumo dos estados a la próxima frontera
+        int maxSize = frontierSize * 2;
+        if (nextWeight.length < maxSize) {
+            nextWeight = new double[maxSize];
+            nextValue = new double[maxSize];
+            nextBound = new double[maxSize];
+            nextNode = new int[maxSize];
+        }
+        prepareSeen(maxSize);
+        int size = 0;
+        int steps = 0;
+        // Último producto restante que cabe completo; como los estados llegan por peso creciente, solo retrocede
+        int cursor = sorted.length;
+
+        double maxFreeValue = Double.NEGATIVE_INFINITY; // Mayor valor de un estado libre con menor o igual peso
+        int skip = 0;
+        int take = 0;
+        while (true) {
+            // Siguiente estado que incluye el producto y respeta ambos límites
+            while (take < frontierSize && frontierWeight[take] + itemWeight <= capacity
+                   && frontierValue[take] + itemValue > budget) {
+                take++;
+            }
+            boolean hasTake = take < frontierSize && frontierWeight[take] + itemWeight <= capacity;
+            if (skip >= frontierSize && !hasTake) {
+                break;
+            }
+            if ((++steps & CHECK_MASK) == 0 && token != null && token.isCancelled()) {
+                return false;
+            }
+
+            // Se toma el de menor peso y, a igual peso, el de mayor valor
+            boolean fromTake;
+            if (skip >= frontierSize) {
+                fromTake = true;
+            } else if (!hasTake) {
+                fromTake = false;
+            } else {
+                double takeWeight = frontierWeight[take] + itemWeight;
+                fromTake = takeWeight < frontierWeight[skip]
+                    || (takeWeight == frontierWeight[skip] && frontierValue[take] + itemValue > frontierValue[skip]);
+            }
+            int source = fromTake ? take++ : skip++;
+            double weight = fromTake ? frontierWeight[source] + itemWeight : frontierWeight[source];
+            double value = fromTake ? frontierValue[source] + itemValue : frontierValue[source];
+
+            // Dominancia: un estado libre más liviano con igual o mayor valor, o un estado con el mismo valor
+            if (value <= maxFreeValue) {
+                continue;
+            }
+            boolean free = value <= freeValue;
+            if (free) {
+                maxFreeValue = value;
+            } else if (!addSeen(value, item)) {
+                continue;
+            }
+
+            // El nodo de rastro se crea solo si el estado mejora la solución o sobrevive a la cota
+            int node = frontierNode[source];
+            boolean traced = !fromTake;
+            if (fromTake && value > bestValue) {
+                node = addNode(item, node);
+                traced = true;
+                bestValue = value;
+                bestNode = node;
+            }
+
+            // Un estado cuya cota no supera a la mejor solución no puede mejorarla
+            double limit = prefixWeight[item + 1] + (capacity - weight);
+            while (cursor > item + 1 && prefixWeight[cursor] > limit) {
+                cursor--;
+            }
+            double bound = boundAt(item + 1, cursor, capacity - weight, budget - value, value);
+            if (bound <= bestValue) {
+                continue;
+            }
+            if (!traced) {
+                node = addNode(item, node);
+            }
+
+            nextWeight[size] = weight;
+            nextValue[size] = value;
+            nextBound[size] = bound;
+            nextNode[size] = node;
+            size++;
+        }
+
+        // Intercambio de arreglos: la frontera anterior se reutiliza en la próxima mezcla
+        double[] swapWeight = frontierWeight;
+        double[] swapValue = frontierValue;
+        double[] swapBound = frontierBound;
+        int[] swapNode = frontierNode;
+        frontierWeight = nextWeight;
+        frontierValue = nextValue;
+        frontierBound = nextBound;
+        frontierNode = nextNode;
+        nextWeight = swapWeight;
+        nextValue = swapValue;
+        nextBound = swapBound;
+        nextNode = swapNode;
+        frontierSize = size;
+        return true;
+    }
+
+    /**
+     * Recorta la frontera a los estados de mayor cota, conservando el orden por peso.
+     * La mayor cota de los estados descartados limita el óptimo que pudo perderse.
+     */
+    private void truncate() {
+        double[] bounds = Arrays.copyOf(frontierBound, frontierSize);
+        Arrays.sort(bounds);
+        double threshold = bounds[frontierSize - maxStates];
+        // Estados con cota igual al umbral que todavía caben
+        int ties = 0;
+        for (int s = frontierSize - maxStates; s < frontierSize && bounds[s] == threshold; s++) {
+            ties++;
+        }
+
+        int size = 0;
+        for (int s = 0; s < frontierSize; s++) {
+            double bound = frontierBound[s];
+            if (bound > threshold || (bound == threshold && ties-- > 0)) {
+                frontierWeight[size] = frontierWeight[s];
+                frontierValue[size] = frontierValue[s];
+                frontierBound[size] = bound;
+                frontierNode[size] = frontierNode[s];
+                size++;
+            } else {
+                discardedBound = Math.max(discardedBound, bound);
+            }
+        }
+        frontierSize = size;
+        complete = false;
+    }
+
+    /**
+     * Cota superior de un estado: relajación fraccionaria de los productos restantes sobre la capacidad
+     * restante, limitada además por el presupuesto restante, como en {@link BranchAndBoundSolver}.
+     *
+     * @param index Índice del primer producto aún no decidido.
+     * @param capacity Capacidad restante.
+     * @param budget Presupuesto restante.
+     * @param value Valor acumulado del estado.
+     * @return Una cota superior del mejor valor alcanzable desde el estado.
+     */
+    private double upperBound(int index, double capacity, double budget, double value) {
+        // Último producto que cabe completo, buscado sobre las sumas acumuladas
+        double limit = prefixWeight[index] + capacity;
+        int low = index;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (prefixWeight[mid] <= limit) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return boundAt(index, low, capacity, budget, value);
+    }
+
+    /**
+     * Completa la cota de {@link #upperBound} conocido el último producto que cabe completo.
+     *
+     * @param index Índice del primer producto aún no decidido.
+     * @param low Posición en las sumas acumuladas del último producto que cabe completo.
+     * @param capacity Capacidad restante.
+     * @param budget Presupuesto restante.
+     * @param value Valor acumulado del estado.
+     * @return Una cota superior del mejor valor alcanzable desde el estado.
+     */
+    private double boundAt(int index, int low, double capacity, double budget, double value) {
+        double bound = prefixValue[low] - prefixValue[index];
+        if (low < sorted.length && weights[low] > 0) {
+            double leftover = capacity - (prefixWeight[low] - prefixWeight[index]);
+            bound += values[low] * (leftover / weights[low]);
+        }
+        bound = Math.min(bound, budget);
+        return value + bound * (1 + BOUND_SLACK);
+    }
+
+    /**
+     * Agrega un nodo al rastro de decisiones.
+     *
+     * @param item Índice del producto incluido.
+     * @param parent Nodo de la selección anterior (-1 si era vacía).
+     * @return El índice del nuevo nodo.
+     */
+    private int addNode(int item, int parent) {
+        if (nodeCount == nodeItem.length) {
+            nodeItem = Arrays.copyOf(nodeItem, nodeCount * 2);
+            nodeParent = Arrays.copyOf(nodeParent, nodeCount * 2);
+        }
+        nodeItem[nodeCount] = item;
+        nodeParent[nodeCount] = parent;
+        return nodeCount++;
+    }
+
+    /**
+     * Elimina del rastro los nodos que ya no alcanza ningún estado de la frontera ni la mejor solución.
+     * Los padres siempre tienen índices menores que sus hijos, así que una pasada ascendente renumera el rastro.
+     */
+    private void compact() {
+        int[] remap = new int[nodeCount];
+        Arrays.fill(remap, -1);
+        for (int s = 0; s <= frontierSize; s++) {
+            int node = s < frontierSize ? frontierNode[s] : bestNode;
+            while (node >= 0 && remap[node] == -1) {
+                remap[node] = -2; // Nodo vivo, aún sin renumerar
+                node = nodeParent[node];
+            }
+        }
+
+        int live = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (remap[node] == -2) {
+                int parent = nodeParent[node];
+                nodeItem[live] = nodeItem[node];
+                nodeParent[live] = parent < 0 ? -1 : remap[parent];
+                remap[node] = live++;
+            }
+        }
+        for (int s = 0; s < frontierSize; s++) {
+            frontierNode[s] = frontierNode[s] < 0 ? -1 : remap[frontierNode[s]];
+        }
+        bestNode = bestNode < 0 ? -1 : remap[bestNode];
+        nodeCount = live;
+        // Se vuelve a compactar cuando el rastro duplique a los nodos vivos
+        compactThreshold = Math.max(MIN_COMPACT_NODES, live * 2);
+    }
+
+    /**
+     * Prepara el conjunto de valores vistos para una mezcla de hasta el número de estados indicado.
+     *
+     * @param expected Número máximo de valores que se agregarán.
+     */
+    private void prepareSeen(int expected) {
+        int slots = Integer.highestOneBit(Math.max(16, expected) * 2 - 1) * 2;
+        if (slots > seenKeys.length) {
+            seenKeys = new long[slots];
+            seenStamps = new int[slots];
+            seenShift = Long.SIZE - Integer.numberOfTrailingZeros(slots);
+            Arrays.fill(seenStamps, -1);
+        }
+    }
+
+    /**
+     * Agrega un valor al conjunto de la mezcla actual.
+     *
+     * @param value Valor del estado.
+     * @param stamp Sello de la mezcla actual (índice del producto).
+     * @return true si el valor no se había visto en esta mezcla.
+     */
+    private boolean addSeen(double value, int stamp) {
+        long key = Double.doubleToLongBits(value);
+        int mask = seenKeys.length - 1;
+        // Hash de Fibonacci: los bits altos del producto dependen de todos los bits del valor, incluso
+        // en valores enteros, cuyos bits bajos son cero
+        int slot = (int)((key * 0x9E3779B97F4A7C15L) >>> seenShift);
+        while (seenStamps[slot] == stamp) {
+            if (seenKeys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        seenStamps[slot] = stamp;
+        seenKeys[slot] = key;
+        return true;
+    }
+
+    /**
+     * Construye el resultado recorriendo el rastro de la mejor solución encontrada.
+     *
+     * @param capacity Capacidad máxima del inventario.
+     * @return El resultado de la optimización, con la cota superior del óptimo.
+     */
+    private AnytimeOptimizationResult buildResult(double capacity) {
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        for (int node = bestNode; node >= 0; node = nodeParent[node]) {
+            Product product = sorted[nodeItem[node]];
+            selectedProducts.add(new ProductSelection(product, 1.0));
+            remainingCapacity -= product.getWeight();
+        }
+        double bound = complete ? bestValue : Math.max(bestValue, discardedBound);
+        return new AnytimeOptimizationResult(bestValue, selectedProducts, remainingCapacity, bound, complete);
+    }
+
+    /**
+     * Calcula la densidad de valor de un producto.
+     *
+     * @param product El producto.
+     * @return El valor por unidad de peso (infinito para productos sin peso).
+     */
+    private static double densityOf(Product product) {
+        return product.getWeight() > 0 ? product.getValue() / product.getWeight() : Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,185 @@
+package services;
+
+import models.InventoryOptimizationResult;
+import models.Product;
+import models.ProductSelection;
+import java.util.*;
+
+/**
+ * Solucionador de Programación Dinámica con dos restricciones simultáneas: capacidad y presupuesto.
+ * A diferencia de {@link InventoryOptimizationService#bottomUpOptimization}, el presupuesto gastado
+ * se descuenta al incluir cada producto, de modo que la solución nunca excede ninguno de los dos límites.
+ * Los pesos y valores se convierten a unidades enteras mediante {@link FixedPointScale}; los consumos se
+ * redondean hacia arriba y los límites hacia abajo, por lo que la solución escalada siempre es factible.
+ */
+public class TwoConstraintSolver {
+
+    /**
+     * Número máximo de celdas permitido por defecto. Cuenta la tabla de valores y la matriz de decisiones:
+     * cada 64 celdas de un producto en la matriz equivalen a una celda de la tabla, de modo que el límite
+     * acota la memoria total a 8 bytes por celda (unos 400 MB).
+     */
+    public static final long DEFAULT_MAX_CELLS = 50_000_000L;
+
+    private final FixedPointScale weightScale; // Escala para pesos y capacidad
+    private final FixedPointScale valueScale; // Escala para valores y presupuesto
+    private final long maxCells; // Límite de celdas (tabla y decisiones) para mantener la memoria acotada
+
+    /**
+     * Constructor que utiliza resolución unitaria para pesos y valores.
+     */
+    public TwoConstraintSolver() {
+        this(new FixedPointScale(1), new FixedPointScale(1), DEFAULT_MAX_CELLS);
+    }
+
+    /**
+     * Constructor que inicializa las escalas y el límite de celdas del solucionador.
+     *
+     * @param weightScale Escala para pesos y capacidad.
+     * @param valueScale Escala para valores y presupuesto.
+     * @param maxCells Número máximo de celdas de la tabla, contando la matriz de decisiones (ver {@link #DEFAULT_MAX_CELLS}).
+     */
+    public TwoConstraintSolver(FixedPointScale weightScale, FixedPointScale valueScale, long maxCells) {
+        this.weightScale = weightScale;
+        this.valueScale = valueScale;
+        this.maxCells = maxCells;
+    }
+
+    /**
+     * Estima el número de celdas de la tabla para el problema indicado, sin resolverlo.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return Número de celdas (capacidad x presupuesto) en unidades escaladas, o Long.MAX_VALUE si no cabe en un long.
+     */
+    public long estimateCells(Product[] products, double capacity, double budget) {
+        long[] limits = scaledLimits(products, capacity, budget);
+        try {
+            return Math.multiplyExact(limits[0] + 1, limits[1] + 1);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Calcula la memoria de la tabla y de la matriz de decisiones en celdas de 8 bytes.
+     *
+     * @param n Número de productos.
+     * @param cells Número de celdas (capacidad x presupuesto) de la tabla.
+     * @return Las celdas de la tabla más las palabras de 64 bits de la matriz de decisiones.
+     * @throws ArithmeticException Si el resultado no cabe en un long.
+     */
+    static long tableCells(int n, long cells) {
+        return Math.addExact(cells, Math.multiplyExact((long) n, (cells + 63) >>> 6));
+    }
+
+    /**
+     * Resuelve el problema de optimización respetando la capacidad y el presupuesto a la vez.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return El resultado de la optimización, incluyendo el valor total y los productos seleccionados.
+     */
+    public InventoryOptimizationResult solve(Product[] products, double capacity, double budget) {
+        int n = products.length;
+        long[] limits = scaledLimits(products, capacity, budget);
+        long cells;
+        long required;
+        try {
+            cells = Math.multiplyExact(limits[0] + 1, limits[1] + 1);
+            required = tableCells(n, cells);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                "La tabla escalada de " + (limits[0] + 1) + " x " + (limits[1] + 1)
+                + " celdas es demasiado grande; reduzca la resolución de las escalas");
+        }
+        if (required > maxCells || cells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                "El problema escalado requiere " + required + " celdas, contando las decisiones, y el límite es "
+                + maxCells + "; reduzca la resolución de las escalas");
+        }
+        int maxWeight = (int) limits[0];
+        int maxCost = (int) limits[1];
+        int stride = maxCost + 1;
+
+        // Consumos escalados de cada producto (-1 si el producto no puede incluirse)
+        int[] weightUnits = new int[n];
+        int[] costUnits = new int[n];
+        for (int i = 0; i < n; i++) {
+            long w = weightScale.toUnitsCeil(products[i].getWeight());
+            long c = valueScale.toUnitsCeil(products[i].getValue());
+            boolean usable = products[i].getValue() > 0 && w <= maxWeight && c <= maxCost;
+            weightUnits[i] = usable ? (int) Math.max(w, 0) : -1;
+            costUnits[i] = usable ? (int) c : -1;
+        }
+
+        // dp[w * stride + c]: mejor valor usando a lo sumo w unidades de peso y c unidades de presupuesto
+        double[] dp = new double[(int) cells];
+        DecisionMatrix decisions = new DecisionMatrix(n, (int) cells);
+
+        for (int i = 0; i < n; i++) {
+            int wi = weightUnits[i];
+            int ci = costUnits[i];
+            if (wi < 0) {
+                continue;
+            }
+            double value = products[i].getValue();
+
+            // Recorrido descendente para reutilizar la misma tabla sin pisar valores de la fila anterior
+            for (int w = maxWeight; w >= wi; w--) {
+                int base = w * stride;
+                int source = (w - wi) * stride - ci;
+                for (int c = maxCost; c >= ci; c--) {
+                    double candidate = value + dp[source + c];
+                    if (candidate > dp[base + c]) {
+                        dp[base + c] = candidate;
+                        decisions.set(i, base + c);
+                    }
+                }
+            }
+        }
+
+        // Reconstrucción de la solución (productos seleccionados)
+        List<ProductSelection> selectedProducts = new ArrayList<>();
+        double remainingCapacity = capacity;
+        int w = maxWeight;
+        int c = maxCost;
+        for (int i = n - 1; i >= 0; i--) {
+            if (weightUnits[i] >= 0 && decisions.get(i, w * stride + c)) {
+                selectedProducts.add(new ProductSelection(products[i], 1.0));
+                remainingCapacity -= products[i].getWeight();
+                w -= weightUnits[i];
+                c -= costUnits[i];
+            }
+        }
+
+        return new InventoryOptimizationResult(dp[(int) cells - 1], selectedProducts, remainingCapacity);
+    }
+
+    /**
+     * Calcula los límites escalados de capacidad y presupuesto, recortados a la suma de los consumos
+     * de los productos para no reservar celdas que nunca se pueden alcanzar.
+     *
+     * @param products Array de productos disponibles.
+     * @param capacity Capacidad máxima del inventario.
+     * @param budget Presupuesto disponible.
+     * @return Arreglo con el límite de peso y el límite de presupuesto en unidades.
+     */
+    private long[] scaledLimits(Product[] products, double capacity, double budget) {
+        long capacityUnits = Math.max(0, weightScale.toUnitsFloor(capacity));
+        long budgetUnits = Math.max(0, valueScale.toUnitsFloor(budget));
+        long totalWeight = 0;
+        long totalCost = 0;
+        for (Product product : products) {
+            long w = weightScale.toUnitsCeil(product.getWeight());
+            long c = valueScale.toUnitsCeil(product.getValue());
+            if (product.getValue() > 0 && w <= capacityUnits && c <= budgetUnits) {
+                totalWeight += Math.max(w, 0);
+                totalCost += c;
+            }
+        }
+        return new long[] { Math.min(capacityUnits, totalWeight), Math.min(budgetUnits, totalCost) };
+    }
+}
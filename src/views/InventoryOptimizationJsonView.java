@@ -0,0 +1,100 @@
+package views;
+
+import models.AnytimeOptimizationResult;
+import models.InventoryOptimizationResult;
+import models.ProductSelection;
+
+/**
+ * Vista que presenta los resultados de la optimización en formato JSON, para las respuestas del servidor local.
+ */
+public class InventoryOptimizationJsonView {
+
+    /**
+     * Genera el JSON de un resultado de optimización. Los resultados con plazo incluyen además si alcanzaron
+     * el óptimo, la cota superior del óptimo y la brecha en porcentaje.
+     *
+     * @param result El resultado de la optimización.
+     * @return El resultado en formato JSON.
+     */
+    public String renderResult(InventoryOptimizationResult result) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"valorTotal\":").append(number(result.getTotalValue()))
+            .append(",\"capacidadRestante\":").append(number(result.getRemainingCapacity()));
+        if (result instanceof AnytimeOptimizationResult) {
+            AnytimeOptimizationResult anytime = (AnytimeOptimizationResult) result;
+            json.append(",\"completo\":").append(anytime.isComplete())
+                .append(",\"cotaSuperior\":").append(number(anytime.getUpperBound()))
+                .append(",\"brecha\":").append(number(anytime.getGapPercentage()));
+        }
+        json.append(",\"productosSeleccionados\":[");
+        boolean first = true;
+        for (ProductSelection selection : result.getSelectedProducts()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append("{\"nombre\":").append(string(selection.getProduct().getName()))
+                .append(",\"cantidad\":").append(number(selection.getQuantity()))
+                .append(",\"valor\":").append(number(selection.getProduct().getValue() * selection.getQuantity()))
+                .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Genera el JSON con el estado del servidor.
+     *
+     * @param requests Peticiones recibidas.
+     * @param passes Pasadas de optimización ejecutadas.
+     * @param rejected Peticiones rechazadas por exceso de carga.
+     * @param inFlight Peticiones en curso.
+     * @return El estado en formato JSON.
+     */
+    public String renderStatus(long requests, long passes, long rejected, int inFlight) {
+        return "{\"peticiones\":" + requests
+            + ",\"pasadas\":" + passes
+            + ",\"rechazadas\":" + rejected
+            + ",\"enCurso\":" + inFlight + "}";
+    }
+
+    /**
+     * Genera el JSON de un mensaje de error.
+     *
+     * @param message Descripción del error.
+     * @return El error en formato JSON.
+     */
+    public String renderError(String message) {
+        return "{\"error\":" + string(message) + "}";
+    }
+
+    /**
+     * Convierte un número a JSON (los valores no finitos se representan como null).
+     *
+     * @param value El número.
+     * @return El número en formato JSON.
+     */
+    private static String number(double value) {
+        return Double.isFinite(value) ? Double.toString(value) : "null";
+    }
+
+    /**
+     * Convierte una cadena a JSON, escapando comillas, barras y caracteres de control.
+     *
+     * @param text La cadena.
+     * @return La cadena entre comillas en formato JSON.
+     */
+    private static String string(String text) {
+        StringBuilder json = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int)c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+}
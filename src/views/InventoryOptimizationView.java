@@ -1,58 +1,184 @@
-package views;
-
-import models.InventoryOptimizationResult;
-
-/**
- * Vista que muestra los resultados de la optimización del inventario y el análisis de rendimiento.
- * Esta clase es responsable de presentar los resultados generados por los enfoques de optimización.
- */
-public class InventoryOptimizationView {
-
-    /**
-     * Muestra el análisis de rendimiento de las distintas técnicas de optimización (Recursivo, Bottom-Up, Top-Down).
-     * Imprime los resultados obtenidos junto con el tiempo que tardaron en ejecutarse cada uno de los enfoques.
-     * 
-     * @param recursiveResult Resultado obtenido por el enfoque recursivo.
-     * @param recursiveTime Tiempo que tardó el enfoque recursivo en ejecutarse (en nanosegundos).
-     * @param bottomUpResult Resultado obtenido por el enfoque Bottom-Up (Programación Dinámica).
-     * @param bottomUpTime Tiempo que tardó el enfoque Bottom-Up en ejecutarse (en nanosegundos).
-     * @param topDownResult Resultado obtenido por el enfoque Top-Down (Memoización).
-     * @param topDownTime Tiempo que tardó el enfoque Top-Down en ejecutarse (en nanosegundos).
-     */
-    public void displayPerformanceAnalysis(
-        double recursiveResult, long recursiveTime,
-        InventoryOptimizationResult bottomUpResult, long bottomUpTime,
-        double topDownResult, long topDownTime
-    ) {
-        System.out.println("Análisis de Rendimiento de Optimización de Inventario");
-        System.out.println("---------------------------------------------------");
-        
-        // Muestra los resultados del análisis de rendimiento
-        System.out.printf("Recursivo: Valor = %.2f, Tiempo = %d ns%n", recursiveResult, recursiveTime);
-        System.out.printf("Bottom-Up: Valor = %.2f, Tiempo = %d ns%n", bottomUpResult.getTotalValue(), bottomUpTime);
-        System.out.printf("Top-Down: Valor = %.2f, Tiempo = %d ns%n%n", topDownResult, topDownTime);
-    }
-
-    /**
-     * Muestra los resultados de la optimización de inventario, incluyendo el valor total, la capacidad restante y los productos seleccionados.
-     * 
-     * @param result El resultado de la optimización, que incluye el valor total, los productos seleccionados y la capacidad restante.
-     */
-    public void displayOptimizationResults(InventoryOptimizationResult result) {
-        System.out.println("Resultados de Optimización de Inventario");
-        System.out.println("--------------------------------------");
-        
-        // Muestra el valor total y la capacidad restante
-        System.out.printf("Valor Total: %.2f%n", result.getTotalValue());
-        System.out.printf("Capacidad Restante: %.2f%n", result.getRemainingCapacity());
-        System.out.println("Productos Seleccionados:");
-        
-        // Muestra los productos seleccionados y su cantidad
-        result.getSelectedProducts().forEach(selection -> 
-            System.out.printf("- %s (Cantidad: %.2f, Valor: %.2f)%n", 
-                selection.getProduct().getName(), 
-                selection.getQuantity(), 
-                selection.getProduct().getValue() * selection.getQuantity())
-        );
-    }
-}
+package views;
+
+import models.AnytimeOptimizationResult;
+import models.InventoryOptimizationResult;
+import models.OptimizationPlan;
+import models.PhaseTiming;
+import models.SolverEstimate;
+import models.SolverMetricsSnapshot;
+
+/**
+ * Vista que muestra los resultados de la optimización del inventario y el análisis de rendimiento.
+ * Esta clase es responsable de presentar los resultados generados por los enfoques de optimización.
+ */
+public class InventoryOptimizationView {
+
+    /**
+     * Muestra el análisis de rendimiento de las distintas técnicas de optimización (Ramificación y Poda, Bottom-Up, Top-Down).
+     * Imprime los resultados obtenidos junto con el tiempo que tardaron en ejecutarse cada uno de los enfoques.
+     * 
+     * @param branchAndBoundResult Resultado obtenido por el enfoque de Ramificación y Poda.
+     * @param branchAndBoundTime Tiempo que tardó el enfoque de Ramificación y Poda en ejecutarse (en nanosegundos).
+     * @param bottomUpResult Resultado obtenido por el enfoque Bottom-Up (Programación Dinámica).
+     * @param bottomUpTime Tiempo que tardó el enfoque Bottom-Up en ejecutarse (en nanosegundos).
+     * @param topDownResult Resultado obtenido por el enfoque Top-Down (Memoización), o NaN si no terminó dentro del límite de tiempo.
+     * @param topDownTime Tiempo que tardó el enfoque Top-Down en ejecutarse (en nanosegundos).
+     */
+    public void displayPerformanceAnalysis(
+        InventoryOptimizationResult branchAndBoundResult, long branchAndBoundTime,
+        InventoryOptimizationResult bottomUpResult, long bottomUpTime,
+        double topDownResult, long topDownTime
+    ) {
+        System.out.println("Análisis de Rendimiento de Optimización de Inventario");
+        System.out.println("---------------------------------------------------");
+        
+        // Muestra los resultados del análisis de rendimiento
+        System.out.printf("Ramificación y Poda: Valor = %.2f, Tiempo = %d ns%n", branchAndBoundResult.getTotalValue(), branchAndBoundTime);
+        System.out.printf("Bottom-Up: Valor = %.2f, Tiempo = %d ns%n", bottomUpResult.getTotalValue(), bottomUpTime);
+        if (Double.isNaN(topDownResult)) {
+            System.out.printf("Top-Down: sin terminar dentro del límite de tiempo, Tiempo = %d ns%n%n", topDownTime);
+        } else {
+            System.out.printf("Top-Down: Valor = %.2f, Tiempo = %d ns%n%n", topDownResult, topDownTime);
+        }
+    }
+
+    /**
+     * Muestra el plan de resolución: el enfoque elegido, las estimaciones de tiempo y memoria de cada enfoque
+     * (o el motivo por el que no era adecuado) y el tiempo que tardó realmente la resolución.
+     * 
+     * @param plan Plan con el que se resolvió el problema.
+     * @param solveTime Tiempo que tardó la resolución (en nanosegundos).
+     */
+    public void displayPlan(OptimizationPlan plan, long solveTime) {
+        SolverEstimate chosen = plan.getChosen();
+        System.out.println("Plan de Resolución");
+        System.out.println("------------------");
+        for (SolverEstimate estimate : plan.getEstimates()) {
+            if (estimate.isSuitable()) {
+                System.out.printf("%s %s: Tiempo estimado = %.3e ns, Memoria estimada = %.3e bytes%n",
+                    estimate == chosen ? "*" : "-", estimate.getApproach().getDisplayName(),
+                    estimate.getEstimatedNanos(), estimate.getEstimatedBytes());
+            } else {
+                System.out.printf("- %s: no adecuado (%s)%n", estimate.getApproach().getDisplayName(), estimate.getReason());
+            }
+        }
+        System.out.printf("Enfoque elegido: %s, Tiempo = %d ns%n%n", chosen.getApproach().getDisplayName(), solveTime);
+    }
+
+    /**
+     * Muestra si un enfoque con límite de tiempo alcanzó el óptimo o, si se detuvo antes,
+     * la mejor solución encontrada, la cota superior del óptimo y la brecha entre ambas.
+     * 
+     * @param approach Nombre del enfoque.
+     * @param result Resultado del enfoque.
+     */
+    public void displayAnytimeStatus(String approach, AnytimeOptimizationResult result) {
+        if (result.isComplete()) {
+            System.out.printf("%s: óptimo alcanzado dentro del límite de tiempo%n", approach);
+        } else {
+            System.out.printf("%s: detenido por límite de tiempo. Mejor valor = %.2f, Cota superior = %.2f, Brecha = %.2f %%%n",
+                approach, result.getTotalValue(), result.getUpperBound(), result.getGapPercentage());
+        }
+    }
+
+    /**
+     * Muestra las métricas de los solucionadores: contadores acumulados y, por cada fase, el número de mediciones
+     * y los percentiles de su duración, en lugar de una única medición en nanosegundos.
+     * 
+     * @param snapshot Fotografía de las métricas de los solucionadores.
+     */
+    public void displaySolverMetrics(SolverMetricsSnapshot snapshot) {
+        System.out.println("Métricas de los Solucionadores");
+        System.out.println("------------------------------");
+        System.out.printf("Llamadas recursivas: %d, Nodos de Ramificación y Poda: %d%n",
+            snapshot.getRecursiveCalls(), snapshot.getBranchAndBoundNodes());
+        System.out.printf("Memoización: %d aciertos, %d fallos%n", snapshot.getMemoHits(), snapshot.getMemoMisses());
+        System.out.printf("Tablas: %d celdas calculadas, %d bytes reservados%n", snapshot.getCellsFilled(), snapshot.getBytesAllocated());
+        for (PhaseTiming timing : snapshot.getTimings()) {
+            System.out.printf("%s: n = %d, p50 = %d ns, p90 = %d ns, p99 = %d ns, máx = %d ns%n",
+                timing.getName(), timing.getCount(), timing.getP50Nanos(), timing.getP90Nanos(),
+                timing.getP99Nanos(), timing.getMaxNanos());
+        }
+        System.out.println();
+    }
+
+    /**
+     * Muestra cuánto se redujo el problema antes de resolverlo.
+     * 
+     * @param originalCount Número de productos del problema original.
+     * @param reducedCount Número de productos del problema reducido.
+     * @param infeasibleCount Productos descartados por no poder formar parte de ninguna solución.
+     * @param dominatedCount Productos descartados por estar dominados.
+     * @param mergedCount Productos fusionados con un duplicado exacto.
+     * @param weightDivisor Factor por el que se dividieron los pesos y la capacidad.
+     * @param reductionTime Tiempo que tardó la reducción (en nanosegundos).
+     */
+    public void displayReductionReport(int originalCount, int reducedCount, int infeasibleCount,
+                                       int dominatedCount, int mergedCount, long weightDivisor, long reductionTime) {
+        System.out.println("Reducción del Problema");
+        System.out.println("----------------------");
+        System.out.printf("Productos: %d -> %d (infactibles: %d, dominados: %d, duplicados fusionados: %d)%n",
+            originalCount, reducedCount, infeasibleCount, dominatedCount, mergedCount);
+        System.out.printf("Divisor de pesos: %d, Tiempo = %d ns%n%n", weightDivisor, reductionTime);
+    }
+
+    /**
+     * Muestra que el resultado se obtuvo de la caché, junto con sus estadísticas de uso.
+     * 
+     * @param hits Número de consultas respondidas por la caché.
+     * @param misses Número de consultas no encontradas en la caché.
+     * @param size Número de entradas guardadas en la caché.
+     */
+    public void displayCacheStatistics(long hits, long misses, int size) {
+        System.out.println("Resultado obtenido de la caché");
+        System.out.println("------------------------------");
+        System.out.printf("Aciertos: %d, Fallos: %d, Entradas: %d%n%n", hits, misses, size);
+    }
+
+    /**
+     * Muestra un aviso cuando la caché no se pudo guardar en su archivo.
+     * 
+     * @param message Descripción del error.
+     */
+    public void displayCacheError(String message) {
+        System.out.println("No se pudo guardar la caché: " + message);
+    }
+
+    /**
+     * Muestra el resumen de la carga de un catálogo desde archivo y el tiempo de resolución.
+     * 
+     * @param productCount Número de productos cargados.
+     * @param loadTime Tiempo que tardó la carga del catálogo (en nanosegundos).
+     * @param solveTime Tiempo que tardó la optimización (en nanosegundos).
+     */
+    public void displayCatalogAnalysis(int productCount, long loadTime, long solveTime) {
+        System.out.println("Análisis de Catálogo");
+        System.out.println("--------------------");
+        System.out.printf("Productos cargados: %d%n", productCount);
+        System.out.printf("Tiempo de carga: %d ns%n", loadTime);
+        System.out.printf("Tiempo de optimización: %d ns%n%n", solveTime);
+    }
+
+    /**
+     * Muestra los resultados de la optimización de inventario, incluyendo el valor total, la capacidad restante y los productos seleccionados.
+     * 
+     * @param result El resultado de la optimización, que incluye el valor total, los productos seleccionados y la capacidad restante.
+     */
+    public void displayOptimizationResults(InventoryOptimizationResult result) {
+        System.out.println("Resultados de Optimización de Inventario");
+        System.out.println("--------------------------------------");
+        
+        // Muestra el valor total y la capacidad restante
+        System.out.printf("Valor Total: %.2f%n", result.getTotalValue());
+        System.out.printf("Capacidad Restante: %.2f%n", result.getRemainingCapacity());
+        System.out.println("Productos Seleccionados:");
+        
+        // Muestra los productos seleccionados y su cantidad
+        result.getSelectedProducts().forEach(selection -> 
+            System.out.printf("- %s (Cantidad: %.2f, Valor: %.2f)%n", 
+                selection.getProduct().getName(), 
+                selection.getQuantity(), 
+                selection.getProduct().getValue() * selection.getQuantity())
+        );
+    }
+}